@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Runs the suite as N shard processes side by side, each with its own reports, timing and artifact
+# directories under target/shards/<i>, then merges them into target/shards/merged with ShardMerge.
+# Exits with ShardMerge's status: 1 when a test failed or a shard left no report.
+#
+#   scripts/run-shards.sh                     # 4 shards
+#   scripts/run-shards.sh 3 -Dheadless=true   # 3 shards; further arguments go to every mvn process
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+shards="${1:-4}"
+shift || true
+
+mvn -q test-compile "$@"
+mkdir -p target/shards
+pids=()
+for i in $(seq 1 "$shards"); do
+  mvn -o surefire:test -Dshard="$i/$shards" -Dsurefire.reportsDirectory="target/shards/$i" \
+      -Dtiming.dir="target/shards/$i/step-timings" -Dartifacts.dir="target/shards/$i/run-artifacts" "$@" \
+      > "target/shards/shard-$i.log" 2>&1 &
+  pids+=("$!")
+done
+for i in "${!pids[@]}"; do
+  # a failing shard is reported by the merge below
+  wait "${pids[$i]}" || echo "Shard $((i + 1))/$shards failed, see target/shards/shard-$((i + 1)).log" >&2
+done
+
+dirs=()
+for i in $(seq 1 "$shards"); do dirs+=("target/shards/$i"); done
+java -cp "target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+    org.example.shard.ShardMerge target/shards/merged "${dirs[@]}"
@@ -0,0 +1,41 @@
+package org.example.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/** Recorded pages under {@code src/jmh/resources/fixtures}. */
+final class Fixtures {
+    /** Mailinator message view: inbox list, state blob and scripts, with the message body in the {@code msg_body} iframe. */
+    static final String MESSAGE = "mailinator-message.html";
+    /** The verification mail as rendered into the iframe. */
+    static final String BODY = "mailinator-body.html";
+    /** The stand-in sign-up view as rendered by its script, saved without the script. */
+    static final String SIGNUP_VIEW = "signup-view.html";
+
+    static String read(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) throw new IllegalStateException("Missing fixture " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Copies {@code names} into a fresh directory so a driver can open them as {@code file:} URLs. */
+    static Path extract(String... names) {
+        try {
+            Path dir = Files.createTempDirectory("sita9-fixtures");
+            for (String name : names) Files.writeString(dir.resolve(name), read(name));
+            return dir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Fixtures() {
+    }
+}
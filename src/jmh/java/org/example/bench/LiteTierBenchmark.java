@@ -0,0 +1,76 @@
+package org.example.bench;
+
+import org.example.driver.LiteSessionFactory;
+import org.example.standin.Sita9StandIn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A non-visual step in the lite tier against the local stand-in: open the verify-email page and read its status.
+ * Setup opens {@code sessions} concurrent lite sessions on that page and prints the heap each one holds; compare
+ * with the RSS of a Chrome session tree ({@code ps -o rss} on the chrome processes) for the browser tier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class LiteTierBenchmark {
+    @Param({"20"})
+    public int sessions;
+
+    private Sita9StandIn standIn;
+    private final List<WebDriver> drivers = new ArrayList<>();
+    private WebDriver driver;
+    private String page;
+
+    @Setup
+    public void setUp() {
+        standIn = Sita9StandIn.start();
+        page = standIn.baseUrl() + "verify-email?token=benchmark";
+        LiteSessionFactory factory = LiteSessionFactory.fromSystemProperties();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedHeapAfterGc(memory);
+        for (int i = 0; i < sessions; i++) {
+            WebDriver session = factory.get();
+            session.get(page);
+            drivers.add(session);
+        }
+        long perSession = (usedHeapAfterGc(memory) - before) / sessions;
+        System.out.printf("%nlite tier (javascript %s): %d sessions, %.1f MB heap per session%n",
+                factory.javascript() ? "on" : "off", sessions, perSession / 1_048_576.0);
+        driver = drivers.get(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        drivers.forEach(WebDriver::quit);
+        standIn.close();
+    }
+
+    @Benchmark
+    public String openAndRead() {
+        driver.get(page);
+        return driver.findElement(By.id("verify-status")).getText();
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
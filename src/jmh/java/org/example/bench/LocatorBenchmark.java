@@ -0,0 +1,84 @@
+package org.example.bench;
+
+import org.example.driver.ChromeSessionFactory;
+import org.example.locator.Locator;
+import org.example.locator.LocatorRegistry;
+import org.example.sita9.Sita9Locators;
+import org.example.standin.Sita9StandIn;
+import org.example.wait.StepLatencyModel;
+import org.example.wait.WaitEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-lookup latency of the declared XPath, the rewritten selector and the cached registry lookup against the
+ * stand-in's login and sign-up views in headless Chrome, round-trip included. Absent elements are included on
+ * purpose: most polls of a wait look for something that is not rendered yet. Not part of the default run
+ * ({@code jmh.exclude}): it needs Chrome.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class LocatorBenchmark {
+    private static final List<Locator> SIGNUP_PAGE = List.of(
+            Sita9Locators.SIGNUP_EMAIL, Sita9Locators.CREATE_ACCOUNT, Sita9Locators.ACCOUNT_CREATED,
+            Sita9Locators.CHECK_EMAIL, Sita9Locators.ABI_VERIFIED);
+
+    @Param({"declared", "rewritten", "cached"})
+    public String lookup;
+
+    @Param({"logo", "signUp", "loginEmail", "signIn", "welcomeHeading", "createFirstProject",
+            "signupEmail", "createAccount", "accountCreated", "checkEmail", "abiVerified"})
+    public String locatorName;
+
+    private Sita9StandIn standIn;
+    private WebDriver driver;
+    private LocatorRegistry registry;
+    private Locator locator;
+    private By by;
+
+    @Setup
+    public void setUp() {
+        standIn = Sita9StandIn.start();
+        driver = new ChromeSessionFactory(true).get();
+        // the views are rendered by the page script after an XHR; time the lookups only once they are there
+        WaitEngine waits = new WaitEngine(driver, new StepLatencyModel(Integer.MAX_VALUE, 1, Duration.ZERO));
+        driver.get(standIn.baseUrl() + "login");
+        waits.until("bench.signUp", Duration.ofSeconds(10), ExpectedConditions.elementToBeClickable(Sita9Locators.SIGN_UP.by()));
+        locator = Sita9Locators.named(locatorName).orElseThrow();
+        if (SIGNUP_PAGE.contains(locator)) {
+            driver.findElement(Sita9Locators.SIGN_UP.by()).click();
+            waits.until("bench.signupEmail", Duration.ofSeconds(10),
+                    ExpectedConditions.visibilityOfElementLocated(Sita9Locators.SIGNUP_EMAIL.by()));
+        }
+        by = lookup.equals("rewritten") ? locator.by() : locator.declared();
+        registry = new LocatorRegistry(driver, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.quit();
+        standIn.close();
+    }
+
+    @Benchmark
+    public Object find() {
+        return lookup.equals("cached") ? registry.visible(locator).apply(registry.driver()) : driver.findElements(by);
+    }
+}
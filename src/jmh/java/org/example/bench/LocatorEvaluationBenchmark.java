@@ -0,0 +1,63 @@
+package org.example.bench;
+
+import org.example.driver.LiteSessionFactory;
+import org.example.locator.ByText;
+import org.example.locator.Locator;
+import org.example.locator.LocatorRegistry;
+import org.example.sita9.Sita9Locators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locator evaluation on the recorded sign-up view, in HtmlUnit: the declared XPath, the rewritten selector and the
+ * cached {@link LocatorRegistry} poll. {@code accountCreated} is not rendered yet, like most polls of a wait.
+ * {@link ByText} rewrites run as a script, which HtmlUnit cannot take, so for those {@code rewritten} measures the
+ * declared XPath; their Chrome numbers, round-trip included, come from {@link LocatorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class LocatorEvaluationBenchmark {
+    @Param({"declared", "rewritten", "cached"})
+    public String lookup;
+
+    @Param({"signupEmail", "createPassword", "createAccount", "accountCreated"})
+    public String locatorName;
+
+    private WebDriver driver;
+    private LocatorRegistry registry;
+    private Locator locator;
+    private By by;
+
+    @Setup
+    public void setUp() {
+        driver = new LiteSessionFactory(false).get();
+        driver.get(Fixtures.extract(Fixtures.SIGNUP_VIEW).resolve(Fixtures.SIGNUP_VIEW).toUri().toString());
+        locator = Sita9Locators.named(locatorName).orElseThrow();
+        by = lookup.equals("rewritten") && !(locator.by() instanceof ByText) ? locator.by() : locator.declared();
+        registry = new LocatorRegistry(driver, lookup.equals("cached")).declaredSelectors();
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.quit();
+    }
+
+    @Benchmark
+    public Object find() {
+        return lookup.equals("cached") ? registry.visible(locator).apply(registry.driver()) : driver.findElements(by);
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.bench;
+
+import org.example.driver.ChromeSessionFactory;
+import org.example.inbox.PageLinkScanner;
+import org.example.inbox.VerifyLinkFinder;
+import org.example.sita9.Sita9Endpoints;
+import org.example.standin.Sita9StandIn;
+import org.example.standin.StandInInbox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * One poll of the page-text fallback of {@link VerifyLinkFinder} in headless Chrome: {@code getPageSource()} plus
+ * the regex against {@link PageLinkScanner}'s in-page walk. {@code hit} polls the stand-in's message page and
+ * {@code miss} its inbox page; any other {@code page} is opened as a URL, e.g. a saved Mailinator message page with
+ * {@code -p page=file:///tmp/message.html}. The allocation per poll ({@code gc.alloc.rate.norm}) follows the
+ * characters transferred. Not part of the default run ({@code jmh.exclude}): it needs Chrome.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class PageLinkScanBenchmark {
+    private static final String RECIPIENT = "sita9_scan@mailinator.com";
+
+    @Param({"hit", "miss"})
+    public String page;
+
+    @Param({"pageSource", "treeWalker"})
+    public String scan;
+
+    private Sita9StandIn standIn;
+    private WebDriver driver;
+    private Pattern link;
+
+    @Setup
+    public void setUp() {
+        standIn = Sita9StandIn.start();
+        driver = new ChromeSessionFactory(true).get();
+        link = standIn.endpoints().verifyEmailLink();
+        if (page.equals("hit")) {
+            StandInInbox.Message mail = standIn.inbox().deliver(Sita9Endpoints.VERIFICATION_SENDER, RECIPIENT, "Verify your email",
+                    "<p><a href=\"" + standIn.baseUrl() + "verify-email?token=scan1\">Verify email</a></p>");
+            driver.get(standIn.baseUrl() + "inbox/message?id=" + mail.id());
+        } else if (page.equals("miss")) {
+            driver.get(standIn.endpoints().inboxUrl(RECIPIENT));
+        } else {
+            link = Sita9Endpoints.live().verifyEmailLink();
+            driver.get(page);
+        }
+        String found = poll();
+        if (page.equals("hit") && found == null || page.equals("miss") && found != null) {
+            throw new IllegalStateException("Stand-in page not as expected: " + found);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.quit();
+        standIn.close();
+    }
+
+    @Benchmark
+    public String poll() {
+        return scan.equals("treeWalker")
+                ? PageLinkScanner.firstMatch(driver, link, Sita9Endpoints.VERIFY_EMAIL_PATH)
+                : VerifyLinkFinder.firstMatch(driver.getPageSource(), link);
+    }
+}
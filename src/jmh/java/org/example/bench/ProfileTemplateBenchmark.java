@@ -0,0 +1,75 @@
+package org.example.bench;
+
+import org.example.driver.ChromeSessionFactory;
+import org.example.driver.ProfileTemplate;
+import org.example.sita9.Sita9Endpoints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The app's first page load in a new session: Chrome's empty profile vs a clone of the warm
+ * {@link ProfileTemplate}. Every invocation gets a fresh browser, launched outside the measurement, so the
+ * {@code empty} numbers include the full bundle download and compile. Returns the first contentful paint.
+ * Targets the live app unless {@code -Dsita9.app.url} is passed to the fork ({@code -jvmArgsAppend}). Not part of
+ * the default run ({@code jmh.exclude}): it needs Chrome.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProfileTemplateBenchmark {
+    private static final String FIRST_PAINT =
+            "var p = performance.getEntriesByName('first-contentful-paint')[0]; return p ? p.startTime : -1;";
+
+    @Param({"empty", "template"})
+    public String profile;
+
+    private String url;
+    private ChromeSessionFactory factory;
+    private WebDriver driver;
+
+    @Setup
+    public void setUp() {
+        Sita9Endpoints endpoints = Sita9Endpoints.fromSystemProperties();
+        url = endpoints.appUrl();
+        factory = new ChromeSessionFactory(true);
+        if (profile.equals("template")) {
+            ProfileTemplate template = ProfileTemplate.fromSystemProperties();
+            template.refreshIfStale(endpoints.warmUrls(), factory::launch);
+            factory = new ChromeSessionFactory(true).withProfileTemplate(template);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void launch() {
+        driver = factory.get();
+    }
+
+    @TearDown(Level.Invocation)
+    public void quit() {
+        driver.quit();
+    }
+
+    @Benchmark
+    public Object firstLoad() {
+        driver.get(url);
+        return ((JavascriptExecutor) driver).executeScript(FIRST_PAINT);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.bench;
+
+import org.example.sita9.SignupEmailLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SignupEmailLog#append} (the old {@code saveSignupEmailToFile}) into a temp file, from one thread and from
+ * the three journey threads of the default suite contending for the lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class SignupEmailLogBenchmark {
+    private Path file;
+    private SignupEmailLog log;
+    private PrintStream out;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("signup-emails", ".txt");
+        log = new SignupEmailLog(file);
+        // append() reports every write; keep that out of the measurement
+        out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(out);
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void append() {
+        log.append("sita9_benchmark@mailinator.com");
+    }
+
+    @Benchmark
+    @Threads(3)
+    public void appendContended() {
+        log.append("sita9_benchmark@mailinator.com");
+    }
+}
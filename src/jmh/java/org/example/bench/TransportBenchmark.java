@@ -0,0 +1,98 @@
+package org.example.bench;
+
+import org.example.driver.ChromeSessionFactory;
+import org.example.standin.Sita9StandIn;
+import org.example.timing.StepRecord;
+import org.example.timing.StepTimer;
+import org.example.transport.CdpPageEvents;
+import org.example.transport.PageEvents;
+import org.example.transport.Transport;
+import org.example.wait.StepLatencyModel;
+import org.example.wait.WaitEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classic polling vs CDP events on the stand-in login page: the page inserts an element {@code delayMillis} after
+ * the call and a wait looks for it, so the score minus the delay is how late the wait noticed it. The WebDriver
+ * commands the waits sent are printed per wait at the end of each trial. Not part of the default run
+ * ({@code jmh.exclude}): it needs Chrome.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class TransportBenchmark {
+    private static final String INSERT_LATER =
+            "var id = arguments[0]; setTimeout(function () {" +
+            "  var d = document.createElement('div'); d.id = id; d.textContent = id; document.body.appendChild(d);" +
+            "}, arguments[1]);";
+
+    @Param({"CLASSIC", "CDP"})
+    public Transport transport;
+
+    @Param({"250"})
+    public long delayMillis;
+
+    private Sita9StandIn standIn;
+    private WebDriver browser;
+    private WebDriver driver;
+    private StepTimer timer;
+    private WaitEngine waits;
+    private PageEvents events;
+    private long inserted;
+
+    @Setup
+    public void setUp() {
+        standIn = Sita9StandIn.start();
+        browser = new ChromeSessionFactory(true).get();
+        timer = new StepTimer("bench", Thread.currentThread().getName(), transport.name());
+        driver = timer.instrument(browser);
+        driver.get(standIn.baseUrl() + "login");
+        waits = new WaitEngine(driver, new StepLatencyModel(Integer.MAX_VALUE, 1, Duration.ZERO));
+        events = transport == Transport.CDP
+                ? CdpPageEvents.attach(driver, Duration.ofMillis(Long.getLong("transport.minGapMillis", 100))).orElseThrow()
+                : null;
+        waits.withEvents(events);
+    }
+
+    @TearDown
+    public void tearDown() {
+        try {
+            if (events != null) events.close();
+            double trips = timer.finish(true).stream().filter(r -> r.step().equals("wait"))
+                    .mapToLong(StepRecord::roundTrips).average().orElse(0);
+            System.out.printf("%n%s: %.1f WebDriver commands per wait%n", transport, trips);
+        } finally {
+            browser.quit();
+            standIn.close();
+        }
+    }
+
+    @Benchmark
+    public WebElement appear() {
+        String id = "bench-" + inserted++;
+        ((JavascriptExecutor) driver).executeScript(INSERT_LATER, id, delayMillis);
+        timer.lap("schedule");
+        WebElement element = waits.until("bench.appear", Duration.ofSeconds(10),
+                ExpectedConditions.presenceOfElementLocated(By.id(id)));
+        timer.lap("wait");
+        return element;
+    }
+}
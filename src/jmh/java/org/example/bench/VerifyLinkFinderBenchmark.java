@@ -0,0 +1,59 @@
+package org.example.bench;
+
+import org.example.driver.LiteSessionFactory;
+import org.example.inbox.VerifyLinkFinder;
+import org.example.sita9.Sita9Endpoints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One poll of {@link VerifyLinkFinder} (frame walk, main document, page-source fallback) on the recorded message
+ * page, in the in-JVM HtmlUnit driver. Measures the framework side of the poll; in Chrome each step is also a
+ * WebDriver round-trip. {@code body} has the mail in the {@code msg_body} frame; {@code loading} has an empty frame,
+ * so the poll falls through every frame and scans the page source.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class VerifyLinkFinderBenchmark {
+    @Param({"body", "loading"})
+    public String frame;
+
+    private WebDriver driver;
+    private VerifyLinkFinder finder;
+
+    @Setup
+    public void setUp() throws Exception {
+        Path dir = Fixtures.extract(Fixtures.MESSAGE, Fixtures.BODY);
+        if (frame.equals("loading")) Files.writeString(dir.resolve(Fixtures.BODY), "<html><body></body></html>");
+        driver = new LiteSessionFactory(false).get();
+        driver.get(dir.resolve(Fixtures.MESSAGE).toUri().toString());
+        finder = new VerifyLinkFinder(Sita9Endpoints.live().verifyEmailLink());
+        String found = finder.apply(driver);
+        if (frame.equals("body") != (found != null)) throw new IllegalStateException("Fixture not as expected: " + found);
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.quit();
+    }
+
+    @Benchmark
+    public String poll() {
+        return finder.apply(driver);
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.bench;
+
+import org.example.inbox.VerifyLinkFinder;
+import org.example.sita9.Sita9Endpoints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The page-source fallback of {@link VerifyLinkFinder}: {@code VERIFY_EMAIL_LINK} over a recorded Mailinator page.
+ * {@code miss} is every poll while the message is still loading (the whole page is scanned); {@code hit} is the
+ * text view, with the mail inlined after the inbox markup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class VerifyLinkRegexBenchmark {
+    @Param({"miss", "hit"})
+    public String fixture;
+
+    private String pageSource;
+    private Pattern link;
+
+    @Setup
+    public void setUp() {
+        String message = Fixtures.read(Fixtures.MESSAGE);
+        pageSource = fixture.equals("hit")
+                ? message.replace("</body>", Fixtures.read(Fixtures.BODY) + "</body>")
+                : message;
+        link = Sita9Endpoints.live().verifyEmailLink();
+    }
+
+    @Benchmark
+    public String firstMatch() {
+        return VerifyLinkFinder.firstMatch(pageSource, link);
+    }
+}
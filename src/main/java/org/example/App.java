@@ -1,13 +1,132 @@
 package org.example;
 
+import org.example.artifact.RunArtifacts;
+import org.example.driver.BrowserSessionPool;
+import org.example.driver.ChromeSessionFactory;
+import org.example.driver.ProfileTemplate;
+import org.example.inbox.InboxClient;
+import org.example.inbox.SmtpSinkInboxClient;
+import org.example.scenario.ExecutionPlan;
+import org.example.scenario.Scenario;
+import org.example.scenario.ScenarioLoader;
+import org.example.scenario.ScenarioResult;
+import org.example.scenario.ScenarioRunner;
+import org.example.scenario.Sita9Prerequisites;
+import org.example.schedule.ResourceScheduler;
+import org.example.session.SessionStateCache;
+import org.example.shard.ShardHistory;
+import org.example.shard.ShardPlan;
+import org.example.sita9.Sita9Endpoints;
+import org.example.standin.Sita9StandIn;
+import org.example.timing.TimingReport;
+import org.example.timing.TimingTrace;
+import org.example.wait.StepLatencyModel;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 /**
- * Hello world!
+ * Scenario engine entry point: runs declared scenarios (JSON/YAML, see {@link ScenarioLoader}) concurrently
+ * against the configured endpoints, with the same system properties as the TestNG suite.
  *
+ * <pre>java -jar target/Sita9Automation-1.0-SNAPSHOT.jar [--plan] [scenario files or directories]</pre>
+ *
+ * Without arguments the bundled scenarios run. {@code --plan} prints the compiled plans and exits. With
+ * {@code -Dshard=i/N} only this shard's scenarios run (see {@link ShardPlan}). Exits with 1 when any scenario failed.
  */
-public class App 
-{
-    public static void main( String[] args )
-    {
-        System.out.println( "Hello World!" );
+public class App {
+    public static void main(String[] args) {
+        boolean planOnly = false;
+        List<Path> paths = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--plan")) {
+                planOnly = true;
+            } else {
+                paths.add(Path.of(arg));
+            }
+        }
+        List<Scenario> library = ScenarioLoader.bundled();
+        List<Scenario> scenarios = paths.isEmpty() ? library : ScenarioLoader.loadAll(paths);
+        if (planOnly) {
+            scenarios.forEach(s -> System.out.println(ExecutionPlan.compile(s)));
+            return;
+        }
+        List<Scenario> known = new ArrayList<>(library);
+        known.addAll(scenarios);
+        Optional<ShardPlan.Shard> shard = ShardPlan.fromSystemProperties();
+        if (shard.isPresent()) {
+            ShardPlan plan = ShardPlan.balance(ShardHistory.fromSystemProperties(), shard.get().total());
+            scenarios = plan.select(shard.get(), scenarios, Scenario::name);
+            System.out.println("Shard " + shard.get() + ": " + scenarios.size() + " scenarios (" + plan + ")");
+        }
+
+        Sita9StandIn standIn = null;
+        InboxClient inbox = null;
+        boolean failed;
+        ResourceScheduler scheduler = ResourceScheduler.enabled() ? ResourceScheduler.fromSystemProperties() : null;
+        // with the scheduler every scenario may queue for a browser; it decides how many run at once, up to pool.size
+        int workers = Integer.getInteger("scenario.workers",
+                scheduler != null ? Math.max(1, scenarios.size()) : Integer.getInteger("pool.size", 3));
+        Sita9Endpoints endpoints;
+        if (Sita9Endpoints.standInRequested()) {
+            standIn = Sita9StandIn.start();
+            endpoints = standIn.endpoints();
+        } else {
+            endpoints = Sita9Endpoints.fromSystemProperties();
+        }
+        StepLatencyModel latencyModel = StepLatencyModel.fromSystemProperties();
+        latencyModel.load(StepLatencyModel.defaultFile(endpoints.appHost()));
+        RunArtifacts artifacts = RunArtifacts.enabled() ? RunArtifacts.fromSystemProperties() : null;
+        TimingTrace timingTrace = TimingTrace.enabled() ? TimingTrace.fromSystemProperties().withSink(artifacts) : null;
+        ChromeSessionFactory chrome = new ChromeSessionFactory(ChromeSessionFactory.headlessRequested());
+        if (ProfileTemplate.enabled()) {
+            ProfileTemplate profile = ProfileTemplate.fromSystemProperties();
+            profile.refreshIfStale(endpoints.warmUrls(), chrome::launch);
+            if (profile.builtFor().isPresent()) chrome.withProfileTemplate(profile);
+        }
+        BrowserSessionPool pool = BrowserSessionPool.fromSystemProperties(chrome);
+        if (scheduler != null) pool.withAdmission(scheduler::admitsLaunch);
+        try (ScenarioRunner runner = new ScenarioRunner(pool, endpoints, workers)) {
+            runner.library(known)
+                    .withLatencyModel(latencyModel)
+                    .withTiming(timingTrace)
+                    .withScheduler(scheduler)
+                    .withArtifacts(artifacts)
+                    .withPrerequisites(Sita9Prerequisites.defaults(SessionStateCache.enabled() ? SessionStateCache.fromSystemProperties() : null));
+            System.out.println("Target endpoints: " + endpoints);
+            if ("smtp".equalsIgnoreCase(System.getProperty("sita9.inbox", standIn != null ? "smtp" : "mailinator"))) {
+                SmtpSinkInboxClient sink = SmtpSinkInboxClient.start(Integer.getInteger("sita9.smtp.port", 0));
+                if (standIn != null) standIn.relayMailTo(sink.address());
+                inbox = sink;
+                runner.withInbox(sink);
+            }
+            pool.prewarm();
+            List<ScenarioResult> results = runner.runAll(scenarios);
+            results.forEach(System.out::println);
+            failed = results.stream().anyMatch(r -> !r.passed());
+        } finally {
+            latencyModel.save(StepLatencyModel.defaultFile(endpoints.appHost()));
+            if (artifacts != null) {
+                // the timing report reads the traces the writer appended
+                artifacts.close();
+                System.out.println("Run artifacts: " + artifacts);
+            }
+            if (timingTrace != null) {
+                TimingReport report = TimingReport.fromTraces(List.of(timingTrace.dir()));
+                report.write(timingTrace.dir());
+                System.out.print("Step timings (" + timingTrace.dir() + "):" + System.lineSeparator() + report.toText());
+            }
+            System.out.println("Browser pool: " + pool.stats());
+            pool.close();
+            if (scheduler != null) {
+                System.out.println("Scheduler: " + scheduler.stats());
+                scheduler.close();
+            }
+            if (inbox != null) inbox.close();
+            if (standIn != null) standIn.close();
+        }
+        if (failed) System.exit(1);
     }
 }
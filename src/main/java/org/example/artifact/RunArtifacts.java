@@ -0,0 +1,337 @@
+package org.example.artifact;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Run artifacts written off the test threads: a JSONL run log ({@code run-<runId>.jsonl}, one event per line),
+ * plain-text appends to other files (the sign-up email list, timing traces) and content-addressed blobs
+ * ({@code blobs/<2 hex>/<sha-256>.<ext>}: screenshots, page dumps) shared by every run in the directory.
+ *
+ * <p>Callers only enqueue on a lock-free queue and never touch the disk. One writer thread drains whatever has
+ * queued up, writes it and then syncs each touched file once, so a burst of appends costs one fsync per file
+ * rather than one per append. {@link #flush()} completes when everything queued before it is on disk; {@link #close()}
+ * (and a shutdown hook, should the suite teardown never run) drains the queue before the writer stops.
+ */
+public class RunArtifacts implements AutoCloseable {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    /** How long the idle writer sleeps when nobody wakes it; producers unpark it on every enqueue. */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Path dir;
+    private final String runId;
+    private final Path log;
+    private final ConcurrentLinkedQueue<Op> queue = new ConcurrentLinkedQueue<>();
+    private final Set<String> blobs = ConcurrentHashMap.newKeySet();
+    private final Map<Path, FileChannel> channels = new HashMap<>();
+    private final ReentrantLock io = new ReentrantLock();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final Thread writer;
+    private final Thread shutdownHook;
+    private volatile boolean closed;
+
+    private interface Op {
+    }
+
+    private record Event(long epochMillis, String thread, String type, Map<String, Object> fields) implements Op {
+    }
+
+    private record Line(Path file, String text) implements Op {
+    }
+
+    private record Blob(Path target, byte[] content) implements Op {
+    }
+
+    private record Flush(CompletableFuture<Void> done) implements Op {
+    }
+
+    public RunArtifacts(Path dir, String runId) {
+        this.dir = dir;
+        this.runId = runId;
+        this.log = dir.resolve("run-" + runId + ".jsonl");
+        this.writer = new Thread(this::drainLoop, "run-artifacts");
+        writer.setDaemon(true);
+        writer.start();
+        this.shutdownHook = new Thread(this::close, "run-artifacts-drain");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * -Dartifacts.dir (default target/run-artifacts) and -Dartifacts.runId (default timestamp + pid, like the
+     * timing traces).
+     */
+    public static RunArtifacts fromSystemProperties() {
+        String runId = System.getProperty("artifacts.runId",
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + "-" + ProcessHandle.current().pid());
+        return new RunArtifacts(Paths.get(System.getProperty("artifacts.dir", "target/run-artifacts")), runId);
+    }
+
+    /** Disabled with -Dartifacts=false: sign-up emails and timing traces are then appended on the calling thread. */
+    public static boolean enabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("artifacts"));
+    }
+
+    public Path dir() {
+        return dir;
+    }
+
+    public String runId() {
+        return runId;
+    }
+
+    /** The run log. */
+    public Path log() {
+        return log;
+    }
+
+    /** Appends {@code {"ts", "thread", "type", ...fields}} to the run log. */
+    public void event(String type, Map<String, ?> fields) {
+        enqueue(new Event(System.currentTimeMillis(), Thread.currentThread().getName(), type, new LinkedHashMap<>(fields)));
+    }
+
+    /** Appends {@code text} as is (no separator is added) to {@code file}, creating it and its directory. */
+    public void append(Path file, String text) {
+        enqueue(new Line(file, text));
+    }
+
+    /**
+     * Stores {@code content} under its SHA-256 and returns the path relative to {@link #dir()}, to reference from
+     * an event. The same content is written once, whichever run stored it first.
+     */
+    public String store(byte[] content, String extension) {
+        String hash = sha256(content);
+        String relative = "blobs/" + hash.substring(0, 2) + "/" + hash + (extension.isEmpty() ? "" : "." + extension);
+        if (blobs.add(relative)) enqueue(new Blob(dir.resolve(relative), content));
+        return relative;
+    }
+
+    /** Completes once everything queued before this call has been written and synced. Never blocks the caller. */
+    public CompletableFuture<Void> flush() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        enqueue(new Flush(done));
+        return done;
+    }
+
+    /** Waits up to {@code timeout} for {@link #flush()}; false (and a warning) if the writer did not catch up. */
+    public boolean drain(Duration timeout) {
+        try {
+            flush().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("Run artifacts not drained within " + timeout + ": " + queue.size() + " still queued");
+            return false;
+        }
+    }
+
+    /** Operations queued, written, writer batches and fsyncs so far. */
+    public long queued() {
+        return queued.get();
+    }
+
+    public long written() {
+        return written.get();
+    }
+
+    public long batches() {
+        return batches.get();
+    }
+
+    public long syncs() {
+        return syncs.get();
+    }
+
+    /** Drains the queue, stops the writer and closes the files. Later calls write on the caller's thread. */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        drain(Duration.ofSeconds(30));
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeAndClose();
+        try {
+            if (Thread.currentThread() != shutdownHook) Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+            // already shutting down
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d queued, %d written in %d batches, %d fsyncs, %d failed", log, queued.get(),
+                written.get(), batches.get(), syncs.get(), failures.get());
+    }
+
+    private void enqueue(Op op) {
+        queued.incrementAndGet();
+        queue.add(op);
+        if (closed) {
+            // the writer is gone: do it here rather than lose it
+            writeAndClose();
+        } else {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void writeAndClose() {
+        io.lock();
+        try {
+            writeBatch();
+            channels.values().forEach(RunArtifacts::closeQuietly);
+            channels.clear();
+        } finally {
+            io.unlock();
+        }
+    }
+
+    private void drainLoop() {
+        while (!closed) {
+            if (queue.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_NANOS);
+                continue;
+            }
+            io.lock();
+            try {
+                writeBatch();
+            } finally {
+                io.unlock();
+            }
+        }
+    }
+
+    /** Writes everything queued so far, then syncs each touched file once and completes the flushes. Holds {@link #io}. */
+    private void writeBatch() {
+        List<FileChannel> touched = new ArrayList<>();
+        List<CompletableFuture<Void>> flushed = new ArrayList<>();
+        Op op;
+        while ((op = queue.poll()) != null) {
+            if (op instanceof Flush) {
+                flushed.add(((Flush) op).done());
+                continue;
+            }
+            try {
+                if (op instanceof Event) {
+                    write(log, line((Event) op), touched);
+                } else if (op instanceof Line) {
+                    write(((Line) op).file(), ((Line) op).text(), touched);
+                } else {
+                    writeBlob((Blob) op);
+                }
+                written.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                failures.incrementAndGet();
+                System.err.println("Could not write run artifact: " + e.getMessage());
+            }
+        }
+        for (FileChannel channel : touched) {
+            try {
+                channel.force(false);
+                syncs.incrementAndGet();
+            } catch (IOException e) {
+                failures.incrementAndGet();
+                System.err.println("Could not sync run artifact: " + e.getMessage());
+            }
+        }
+        if (!touched.isEmpty()) batches.incrementAndGet();
+        flushed.forEach(f -> f.complete(null));
+    }
+
+    private void write(Path file, String text, List<FileChannel> touched) throws IOException {
+        FileChannel channel = channels.get(file);
+        if (channel == null) {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channels.put(file, channel);
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) channel.write(bytes);
+        if (!touched.contains(channel)) touched.add(channel);
+    }
+
+    /** Written to a temp file, synced and renamed into place, so a blob that exists is complete. */
+    private void writeBlob(Blob blob) throws IOException {
+        if (Files.exists(blob.target())) return;
+        Files.createDirectories(blob.target().getParent());
+        Path tmp = Files.createTempFile(blob.target().getParent(), ".blob", ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.wrap(blob.content());
+            while (bytes.hasRemaining()) channel.write(bytes);
+            channel.force(false);
+            syncs.incrementAndGet();
+        }
+        try {
+            Files.move(tmp, blob.target(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            if (!Files.exists(blob.target())) throw e;
+        }
+    }
+
+    private static String line(Event event) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("ts", Instant.ofEpochMilli(event.epochMillis()).toString());
+        json.put("thread", event.thread());
+        json.put("type", event.type());
+        json.putAll(event.fields());
+        return JSON.writeValueAsString(json) + "\n";
+    }
+
+    static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // nothing left to lose: the channel was synced after its last batch
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH result file ({@code -rf json}) with a recorded baseline and fails when a benchmark got more than
+ * {@code maxRegression} percent slower, or allocates that much more per operation ({@code -prof gc}).
+ *
+ * <p>A slowdown only counts when the two confidence intervals do not overlap either, so run-to-run noise on a
+ * shared CI agent does not fail the build. Benchmarks missing from either file are listed, not judged. Without a
+ * baseline, or with {@code -Djmh.updateBaseline=true}, the result becomes the baseline and the gate passes.
+ *
+ * <pre>java -cp target/classes:&lt;classpath&gt; org.example.bench.JmhRegressionGate result.json baseline.json [maxRegression]</pre>
+ */
+public final class JmhRegressionGate {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    /** Allocation changes below this many bytes per operation are ignored (JIT escape analysis jitter). */
+    private static final double ALLOCATION_FLOOR_BYTES = 64;
+
+    /** One compared metric of one benchmark; {@code slowerPercent} is negative for an improvement. */
+    public record Finding(String benchmark, String metric, double baseline, double current, String unit,
+                          double slowerPercent, boolean regression) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: JmhRegressionGate <result.json> <baseline.json> [maxRegressionPercent]");
+            System.exit(2);
+        }
+        Path result = Paths.get(args[0]);
+        Path baseline = Paths.get(args[1]);
+        double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        if (Boolean.getBoolean("jmh.updateBaseline") || !Files.exists(baseline)) {
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Recorded JMH baseline " + baseline.toAbsolutePath());
+            return;
+        }
+        List<Finding> findings = compare(JSON.readTree(baseline.toFile()), JSON.readTree(result.toFile()), maxRegression);
+        System.out.printf("%-70s %-20s %14s %14s %-10s %9s%n", "benchmark", "metric", "baseline", "current", "unit", "slower");
+        long regressions = 0;
+        for (Finding f : findings) {
+            System.out.printf("%-70s %-20s %14.3f %14.3f %-10s %8.1f%%%s%n", f.benchmark(), f.metric(), f.baseline(),
+                    f.current(), f.unit(), f.slowerPercent(), f.regression() ? "  REGRESSION" : "");
+            if (f.regression()) regressions++;
+        }
+        if (regressions > 0) {
+            System.err.printf("%d benchmark metric(s) regressed by more than %.1f%% against %s%n", regressions, maxRegression, baseline);
+            System.exit(1);
+        }
+        System.out.printf("No benchmark regressed by more than %.1f%%%n", maxRegression);
+    }
+
+    /** Findings for every benchmark present in both runs, in the order of {@code current}. */
+    public static List<Finding> compare(JsonNode baseline, JsonNode current, double maxRegression) {
+        Map<String, JsonNode> before = byKey(baseline);
+        Map<String, JsonNode> after = byKey(current);
+        List<Finding> findings = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : after.entrySet()) {
+            JsonNode was = before.get(entry.getKey());
+            if (was == null) {
+                System.out.println("No baseline for " + entry.getKey());
+                continue;
+            }
+            JsonNode now = entry.getValue();
+            findings.add(primary(entry.getKey(), now.path("mode").asText(), was.path("primaryMetric"),
+                    now.path("primaryMetric"), maxRegression));
+            JsonNode wasAlloc = secondary(was, ALLOCATION);
+            JsonNode nowAlloc = secondary(now, ALLOCATION);
+            if (wasAlloc != null && nowAlloc != null) {
+                findings.add(allocation(entry.getKey(), wasAlloc, nowAlloc, maxRegression));
+            }
+        }
+        before.keySet().stream().filter(k -> !after.containsKey(k)).forEach(k -> System.out.println("Not run: " + k));
+        return findings;
+    }
+
+    private static Finding primary(String key, String mode, JsonNode was, JsonNode now, double maxRegression) {
+        double base = was.path("score").asDouble();
+        double score = now.path("score").asDouble();
+        // throughput: higher is better; every other mode reports time per operation
+        boolean throughput = "thrpt".equals(mode);
+        double slower = base == 0 ? 0 : (throughput ? base - score : score - base) / base * 100;
+        double baseError = error(was);
+        double error = error(now);
+        boolean separated = throughput ? score + error < base - baseError : score - error > base + baseError;
+        return new Finding(key, mode, base, score, now.path("scoreUnit").asText(), slower, slower > maxRegression && separated);
+    }
+
+    private static Finding allocation(String key, JsonNode was, JsonNode now, double maxRegression) {
+        double base = was.path("score").asDouble();
+        double score = now.path("score").asDouble();
+        double slower = base == 0 ? (score > 0 ? 100 : 0) : (score - base) / base * 100;
+        boolean regression = slower > maxRegression && score - base > ALLOCATION_FLOOR_BYTES;
+        return new Finding(key, "alloc", base, score, now.path("scoreUnit").asText(), slower, regression);
+    }
+
+    /** Half-width of the 99.9% interval JMH reports; NaN (single iteration) counts as zero. */
+    private static double error(JsonNode metric) {
+        double e = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(e) ? 0 : e;
+    }
+
+    /** Secondary metric whose name ends in {@code suffix}; JMH prefixes profiler metrics differently across versions. */
+    private static JsonNode secondary(JsonNode run, String suffix) {
+        Iterator<Map.Entry<String, JsonNode>> it = run.path("secondaryMetrics").fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> e = it.next();
+            if (e.getKey().endsWith(suffix)) return e.getValue();
+        }
+        return null;
+    }
+
+    /** Benchmark method plus its parameter values, e.g. {@code org.example.bench.X.find{fixture=miss}}. */
+    private static Map<String, JsonNode> byKey(JsonNode runs) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            if (params.size() > 0) {
+                List<String> pairs = new ArrayList<>();
+                params.fields().forEachRemaining(p -> pairs.add(p.getKey() + "=" + p.getValue().asText()));
+                key.append(pairs.toString().replace('[', '{').replace(']', '}'));
+            }
+            byKey.put(key.toString(), run);
+        }
+        return byKey;
+    }
+
+    private JmhRegressionGate() {
+    }
+}
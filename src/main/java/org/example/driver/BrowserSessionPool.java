@@ -0,0 +1,284 @@
+package org.example.driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Keeps warm browser sessions so tests do not pay Chrome cold start on every method.
+ *
+ * <p>Sessions are launched in the background until {@code size} exist, health-checked before they are handed out,
+ * and wiped (cookies, storage, extra windows) when returned. Broken sessions and sessions that reached
+ * {@code maxUses} or {@code maxAge} are quit and replaced. {@code size} is a hard cap: idle, lent-out and launching
+ * sessions together never exceed it, and {@link #acquire()} waits for a launch or a release when it is reached.
+ */
+public class BrowserSessionPool implements AutoCloseable {
+    private final Supplier<WebDriver> factory;
+    private final int maxUses;
+    private volatile Duration maxAge;
+    private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final ExecutorService launcher;
+    private volatile BooleanSupplier admission = () -> true;
+    /** One permit per browser that exists, whether idle, lent out or launching. */
+    private final Semaphore slots;
+    private volatile boolean closed;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong acquireTotalNanos = new AtomicLong();
+    private final AtomicLong acquireMaxNanos = new AtomicLong();
+
+    public BrowserSessionPool(Supplier<WebDriver> factory, int size, int maxUses) {
+        if (size < 1) throw new IllegalArgumentException("Pool size must be at least 1, got " + size);
+        if (maxUses < 1) throw new IllegalArgumentException("maxUses must be at least 1, got " + maxUses);
+        this.factory = factory;
+        this.maxUses = maxUses;
+        this.slots = new Semaphore(size);
+        this.launcher = Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, "browser-pool-launcher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Pool sized by -Dpool.size (default 3), -Dpool.maxUses (default 20) and -Dpool.maxAgeMinutes (default 30). */
+    public static BrowserSessionPool fromSystemProperties(Supplier<WebDriver> factory) {
+        return new BrowserSessionPool(factory, Integer.getInteger("pool.size", 3), Integer.getInteger("pool.maxUses", 20))
+                .withMaxAge(Duration.ofMinutes(Long.getLong("pool.maxAgeMinutes", 30)));
+    }
+
+    /** Sessions older than {@code maxAge} are replaced when returned, however few uses they had; null keeps them. */
+    public BrowserSessionPool withMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+        return this;
+    }
+
+    /**
+     * Asked before every pre-launch, e.g. {@code ResourceScheduler::admitsLaunch}; a refusal stops the prewarm until
+     * the next acquire or release. Sessions {@link #acquire()} starts for a caller are not asked: the caller was
+     * admitted.
+     */
+    public BrowserSessionPool withAdmission(BooleanSupplier admission) {
+        this.admission = admission;
+        return this;
+    }
+
+    /**
+     * Starts launching browsers in the background until {@code size} sessions exist (idle, lent out or launching) or
+     * the admission check refuses one.
+     */
+    public void prewarm() {
+        while (!closed && slots.tryAcquire()) {
+            if (!admission.getAsBoolean()) {
+                slots.release();
+                return;
+            }
+            try {
+                launcher.submit(() -> {
+                    try {
+                        PooledSession session = create();
+                        if (closed) {
+                            retire(session);
+                        } else {
+                            idle.offerLast(session);
+                        }
+                    } catch (RuntimeException e) {
+                        slots.release();
+                        System.err.println("Browser pool could not pre-launch a session: " + e.getMessage());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // closed while we were launching
+                slots.release();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns a healthy session: a warm one when available, otherwise a freshly started one while the pool is below
+     * {@code size}, otherwise the next one a pre-launch or a release makes available.
+     */
+    public PooledSession acquire() {
+        long start = System.nanoTime();
+        PooledSession session = null;
+        boolean warm = true;
+        while (session == null) {
+            if (closed) throw new IllegalStateException("Browser pool is closed");
+            PooledSession candidate = idle.pollFirst();
+            if (candidate == null) {
+                warm = false;
+                if (slots.tryAcquire()) {
+                    try {
+                        session = create();
+                    } catch (RuntimeException e) {
+                        slots.release();
+                        throw e;
+                    }
+                    continue;
+                }
+                candidate = awaitIdle();
+            }
+            // warm or handed over while waiting: either may have died since it was launched or released
+            if (candidate != null && !isHealthy(candidate)) {
+                evict(candidate, "failed health check");
+            } else {
+                session = candidate;
+            }
+        }
+        (warm ? hits : misses).incrementAndGet();
+        session.markUsed();
+        recordAcquire(System.nanoTime() - start);
+        prewarm();
+        return session;
+    }
+
+    /** Wipes the session and makes it available again, or evicts it when it is broken or worn out. */
+    public void release(PooledSession session) {
+        if (session == null) return;
+        if (closed) {
+            retire(session);
+            return;
+        }
+        Duration age = maxAge;
+        if (session.uses() >= maxUses) {
+            evict(session, "reached " + maxUses + " uses");
+        } else if (age != null && System.currentTimeMillis() - session.createdAtMillis() >= age.toMillis()) {
+            evict(session, "older than " + age.toMinutes() + " minutes");
+        } else if (!reset(session)) {
+            evict(session, "could not be reset");
+        } else {
+            idle.offerFirst(session);
+        }
+        prewarm();
+    }
+
+    public PoolStats stats() {
+        return new PoolStats(hits.get(), misses.get(), created.get(), evicted.get(),
+                acquireCount.get(), acquireTotalNanos.get(), acquireMaxNanos.get(), idle.size());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        launcher.shutdown();
+        try {
+            launcher.awaitTermination(60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            retire(session);
+        }
+    }
+
+    /** Waits briefly for a session to turn idle; null lets the caller look again, e.g. for a slot a failed launch freed. */
+    private PooledSession awaitIdle() {
+        try {
+            return idle.pollFirst(100, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a browser", e);
+        }
+    }
+
+    private PooledSession create() {
+        PooledSession session = new PooledSession(factory.get());
+        created.incrementAndGet();
+        return session;
+    }
+
+    /** Alive and responsive: the session still has a window and executes script. */
+    static boolean isHealthy(PooledSession session) {
+        try {
+            WebDriver driver = session.driver();
+            if (driver.getWindowHandles().isEmpty()) return false;
+            Object pong = ((JavascriptExecutor) driver).executeScript("return 1;");
+            return pong instanceof Number && ((Number) pong).intValue() == 1;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /** Closes extra windows and clears cookies, local/session storage so the next test starts clean. */
+    static boolean reset(PooledSession session) {
+        return reset(session.driver());
+    }
+
+    /** The same reset on a borrowed browser, e.g. before a test retries a phase from the start. False if it failed. */
+    public static boolean reset(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            if (handles.isEmpty()) return false;
+            for (String handle : handles.subList(1, handles.size())) {
+                driver.switchTo().window(handle);
+                clearStorage(driver);
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+            clearStorage(driver);
+            driver.manage().deleteAllCookies();
+            if (driver instanceof HasCdp) {
+                // deleteAllCookies() only covers the current domain; CDP clears every domain the test visited
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            }
+            driver.get("about:blank");
+            Set<String> remaining = driver.getWindowHandles();
+            return remaining.size() == 1;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void clearStorage(WebDriver driver) {
+        try {
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); } catch (e) {} try { window.sessionStorage.clear(); } catch (e) {}");
+        } catch (RuntimeException ignored) {
+            // about:blank and some error pages have no storage
+        }
+    }
+
+    private void evict(PooledSession session, String reason) {
+        evicted.incrementAndGet();
+        System.out.println("Browser pool evicted session after " + session.uses() + " uses: " + reason);
+        retire(session);
+    }
+
+    /** Quits the browser and frees its slot for a replacement. */
+    private void retire(PooledSession session) {
+        try {
+            session.driver().quit();
+        } catch (RuntimeException ignored) {
+            // already dead
+        } finally {
+            slots.release();
+        }
+    }
+
+    private void recordAcquire(long nanos) {
+        acquireCount.incrementAndGet();
+        acquireTotalNanos.addAndGet(nanos);
+        acquireMaxNanos.accumulateAndGet(nanos, Math::max);
+    }
+}
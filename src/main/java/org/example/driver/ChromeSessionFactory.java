@@ -0,0 +1,103 @@
+package org.example.driver;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+import java.nio.file.Path;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Starts Chrome sessions with the suite's standard options.
+ * Driver binary resolution through WebDriverManager happens once per JVM instead of once per browser.
+ * With a {@link ProfileTemplate} each session runs on its own clone of the warm template profile.
+ */
+public class ChromeSessionFactory implements Supplier<WebDriver> {
+    private static volatile boolean driverResolved;
+
+    private final boolean headless;
+    private ProfileTemplate profile;
+
+    public ChromeSessionFactory(boolean headless) {
+        this.headless = headless;
+    }
+
+    /** Starts sessions on clones of {@code template} instead of an empty profile; null turns that off. */
+    public ChromeSessionFactory withProfileTemplate(ProfileTemplate template) {
+        this.profile = template;
+        return this;
+    }
+
+    /** Headless when -Dheadless=true or when running on GitHub Actions. */
+    public static boolean headlessRequested() {
+        return "true".equalsIgnoreCase(System.getProperty("headless")) || "true".equals(System.getenv("GITHUB_ACTIONS"));
+    }
+
+    private static void resolveDriverOnce() {
+        if (driverResolved) return;
+        synchronized (ChromeSessionFactory.class) {
+            if (!driverResolved) {
+                WebDriverManager.chromedriver().setup();
+                driverResolved = true;
+            }
+        }
+    }
+
+    public ChromeOptions options() {
+        ChromeOptions options = new ChromeOptions();
+        // keeps console messages of every level for the failure capture, not just the severe ones
+        LoggingPreferences logs = new LoggingPreferences();
+        logs.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability("goog:loggingPrefs", logs);
+        if (headless) {
+            options.addArguments("--headless=new", "--disable-gpu", "--no-sandbox", "--disable-dev-shm-usage",
+                    "--window-size=1920,1080", "--disable-extensions", "--remote-allow-origins=*");
+        }
+        return options;
+    }
+
+    @Override
+    public WebDriver get() {
+        if (profile == null) {
+            return launch(null);
+        }
+        Path clone = profile.cloneForSession();
+        try {
+            return start(clone, () -> ProfileTemplate.delete(clone));
+        } catch (RuntimeException e) {
+            ProfileTemplate.delete(clone);
+            throw e;
+        }
+    }
+
+    /** Chrome on {@code userDataDir}, which it keeps afterwards; null uses Chrome's temporary profile. */
+    public WebDriver launch(Path userDataDir) {
+        return start(userDataDir, null);
+    }
+
+    private WebDriver start(Path userDataDir, Runnable afterQuit) {
+        resolveDriverOnce();
+        ChromeOptions options = options();
+        if (userDataDir != null) {
+            options.addArguments("--user-data-dir=" + userDataDir.toAbsolutePath());
+        }
+        WebDriver driver = afterQuit == null ? new ChromeDriver(options) : new ChromeDriver(options) {
+            @Override
+            public void quit() {
+                try {
+                    super.quit();
+                } finally {
+                    afterQuit.run();
+                }
+            }
+        };
+        if (!headless) {
+            driver.manage().window().maximize();
+        }
+        return driver;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.driver;
+
+import org.htmlunit.BrowserVersion;
+import org.htmlunit.WebClient;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import java.util.function.Supplier;
+
+/**
+ * In-JVM WebDriver for steps that only load pages, submit forms and read text: HtmlUnit's HTTP client and DOM,
+ * no browser process and no layout. A session costs a few MB of heap instead of a Chrome process tree.
+ *
+ * <p>JavaScript is off by default, so client-rendered (SPA) views stay empty; -Dlite.javascript=true runs
+ * HtmlUnit's script engine at the cost of more heap per session. CSS is not evaluated, so every element in the
+ * DOM counts as displayed.
+ */
+public class LiteSessionFactory implements Supplier<WebDriver> {
+    private final boolean javascript;
+
+    public LiteSessionFactory(boolean javascript) {
+        this.javascript = javascript;
+    }
+
+    /** -Dlite.javascript (default false). */
+    public static LiteSessionFactory fromSystemProperties() {
+        return new LiteSessionFactory(Boolean.getBoolean("lite.javascript"));
+    }
+
+    /** False with -Dlite=false: steps marked non-visual run in Chrome as well. */
+    public static boolean enabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("lite"));
+    }
+
+    public boolean javascript() {
+        return javascript;
+    }
+
+    @Override
+    public WebDriver get() {
+        return new HtmlUnitDriver(BrowserVersion.CHROME, javascript) {
+            @Override
+            protected WebClient modifyWebClient(WebClient client) {
+                client.getOptions().setCssEnabled(false);
+                client.getOptions().setDownloadImages(false);
+                client.getOptions().setThrowExceptionOnScriptError(false);
+                // like a browser: an error page is still a page whose text a step can check
+                client.getOptions().setThrowExceptionOnFailingStatusCode(false);
+                client.getOptions().setPrintContentOnFailingStatusCode(false);
+                return client;
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.driver;
+
+/** Point-in-time counters of a {@link BrowserSessionPool}. */
+public class PoolStats {
+    private final long hits;
+    private final long misses;
+    private final long created;
+    private final long evicted;
+    private final long acquireCount;
+    private final long acquireTotalNanos;
+    private final long acquireMaxNanos;
+    private final int idle;
+
+    PoolStats(long hits, long misses, long created, long evicted,
+              long acquireCount, long acquireTotalNanos, long acquireMaxNanos, int idle) {
+        this.hits = hits;
+        this.misses = misses;
+        this.created = created;
+        this.evicted = evicted;
+        this.acquireCount = acquireCount;
+        this.acquireTotalNanos = acquireTotalNanos;
+        this.acquireMaxNanos = acquireMaxNanos;
+        this.idle = idle;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public long created() {
+        return created;
+    }
+
+    public long evicted() {
+        return evicted;
+    }
+
+    public int idle() {
+        return idle;
+    }
+
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public double meanAcquireMillis() {
+        return acquireCount == 0 ? 0.0 : acquireTotalNanos / 1_000_000.0 / acquireCount;
+    }
+
+    public double maxAcquireMillis() {
+        return acquireMaxNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d hitRate=%.0f%% created=%d evicted=%d idle=%d acquire[mean=%.1fms max=%.1fms]",
+                hits, misses, hitRate() * 100, created, evicted, idle, meanAcquireMillis(), maxAcquireMillis());
+    }
+}
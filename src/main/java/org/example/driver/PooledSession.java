@@ -0,0 +1,31 @@
+package org.example.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/** A browser owned by {@link BrowserSessionPool}, lent to one test at a time. */
+public class PooledSession {
+    private final WebDriver driver;
+    private final long createdAtMillis;
+    private int uses;
+
+    PooledSession(WebDriver driver) {
+        this.driver = driver;
+        this.createdAtMillis = System.currentTimeMillis();
+    }
+
+    public WebDriver driver() {
+        return driver;
+    }
+
+    public int uses() {
+        return uses;
+    }
+
+    public long createdAtMillis() {
+        return createdAtMillis;
+    }
+
+    void markUsed() {
+        uses++;
+    }
+}
@@ -0,0 +1,313 @@
+package org.example.driver;
+
+import org.example.sita9.Sita9Endpoints;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A read-only Chrome user-data-dir with a warm HTTP cache and V8 code cache for the app and inbox pages, and cheap
+ * per-session clones of it.
+ *
+ * <p>The template is built by opening {@link Sita9Endpoints#warmUrls()} a few times in a throwaway Chrome (V8 writes
+ * compiled code for a script the second time it runs it), then stripping what a session must not inherit: the
+ * running browser's {@code Singleton*} locks and cookies/storage. It is tagged with the app's build hash (the
+ * hashed asset names in the app's HTML) and rebuilt when that changes. Each session gets
+ * {@code cp --reflink=auto} of it (a copy-on-write clone on btrfs/XFS, a plain copy elsewhere), deleted when the
+ * browser quits; clones of JVMs that died are swept on the next start. A file lock keeps forks and shards from
+ * cloning while another process swaps the template.
+ *
+ * <pre>java -cp target/classes:&lt;classpath&gt; org.example.driver.ProfileTemplate [--force]</pre>
+ */
+public class ProfileTemplate {
+    /** The running browser's locks: a clone carrying them would refuse to start or attach to the wrong process. */
+    static final List<String> SKIPPED_PREFIXES = List.of("Singleton", "lockfile", "RunningChromeVersion");
+    /** Per-user state left by the warm-up visits; sessions start logged out, as with a fresh profile. */
+    static final List<String> STATE = List.of("Cookies", "Cookies-journal", "Local Storage", "Session Storage",
+            "IndexedDB", "Sessions", "Current Session", "Current Tabs", "Last Session", "Last Tabs",
+            "Login Data", "Login Data-journal", "Web Data", "Web Data-journal", "History", "History-journal");
+    private static final Pattern ASSET = Pattern.compile("(?:src|href)\\s*=\\s*[\"']([^\"']+\\.(?:m?js|css)(?:\\?[^\"']*)?)[\"']");
+    private static final AtomicInteger CLONES = new AtomicInteger();
+
+    private final Path root;
+    private final int warmVisits;
+    private final Duration warmPause;
+    private final AtomicBoolean swept = new AtomicBoolean();
+
+    public ProfileTemplate(Path root, int warmVisits, Duration warmPause) {
+        this.root = root;
+        this.warmVisits = warmVisits;
+        this.warmPause = warmPause;
+    }
+
+    /**
+     * -Dprofile.dir (default ~/.cache/sita9/chrome-profile, kept across {@code mvn clean}), -Dprofile.warmVisits
+     * (default 2) and -Dprofile.warmMillis, the pause after each page load for lazy chunks and fonts (default 3000).
+     */
+    public static ProfileTemplate fromSystemProperties() {
+        Path dir = Paths.get(System.getProperty("profile.dir",
+                Paths.get(System.getProperty("user.home"), ".cache", "sita9", "chrome-profile").toString()));
+        return new ProfileTemplate(dir, Integer.getInteger("profile.warmVisits", 2),
+                Duration.ofMillis(Long.getLong("profile.warmMillis", 3000)));
+    }
+
+    /** Enabled with -Dprofile.template=true; otherwise every session starts on Chrome's empty temporary profile. */
+    public static boolean enabled() {
+        return "true".equalsIgnoreCase(System.getProperty("profile.template"));
+    }
+
+    public Path template() {
+        return root.resolve("template");
+    }
+
+    /** Build hash the current template was warmed for; empty when there is no template. */
+    public Optional<String> builtFor() {
+        Path build = root.resolve("BUILD");
+        if (!Files.isDirectory(template()) || !Files.exists(build)) return Optional.empty();
+        try {
+            return Optional.of(Files.readString(build, StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Rebuilds the template with {@code launcher} (a Chrome on the given user-data-dir) when there is none or the
+     * app at {@code warmUrls.get(0)} serves a different build; returns whether it rebuilt. When the app cannot be
+     * reached an existing template is kept.
+     */
+    public synchronized boolean refreshIfStale(List<String> warmUrls, Function<Path, WebDriver> launcher) {
+        Optional<String> current = fetchBuildHash(warmUrls.get(0));
+        Optional<String> built = builtFor();
+        if (built.isPresent() && (current.isEmpty() || current.get().equals(built.get()))) return false;
+        if (current.isEmpty()) {
+            System.err.println("Profile template not built: " + warmUrls.get(0) + " is not reachable");
+            return false;
+        }
+        try (FileChannel channel = lockChannel()) {
+            FileLock lock = channel.lock();
+            try {
+                // another fork may have rebuilt it while this one waited for the lock
+                if (current.equals(builtFor())) return false;
+                build(current.get(), warmUrls, launcher);
+                return true;
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not build profile template in " + root + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** A private copy-on-write copy of the template for one browser session; clones are made one at a time. */
+    public synchronized Path cloneForSession() {
+        if (swept.compareAndSet(false, true)) sweep();
+        Path clone = root.resolve("sessions").resolve(ProcessHandle.current().pid() + "-" + CLONES.incrementAndGet());
+        try (FileChannel channel = lockChannel()) {
+            FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+            try {
+                if (!Files.isDirectory(template())) throw new IllegalStateException("No profile template in " + root);
+                Files.createDirectories(clone.getParent());
+                copy(template(), clone);
+                strip(clone, List.of());
+                return clone;
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            delete(clone);
+            throw new IllegalStateException("Could not clone profile template to " + clone + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Deletes clones left behind by JVMs that are no longer running. */
+    public void sweep() {
+        Path sessions = root.resolve("sessions");
+        if (!Files.isDirectory(sessions)) return;
+        try (Stream<Path> clones = Files.list(sessions)) {
+            clones.filter(c -> {
+                String pid = c.getFileName().toString().split("-")[0];
+                return !pid.chars().allMatch(Character::isDigit) || ProcessHandle.of(Long.parseLong(pid)).isEmpty();
+            }).forEach(ProfileTemplate::delete);
+        } catch (IOException e) {
+            System.err.println("Could not sweep profile clones in " + sessions + ": " + e.getMessage());
+        }
+    }
+
+    /** Stable hash of the asset URLs the app's HTML references (hashed bundle names), or of the whole page. */
+    static String buildHash(String html) {
+        TreeSet<String> assets = new TreeSet<>();
+        Matcher m = ASSET.matcher(html);
+        while (m.find()) assets.add(m.group(1));
+        String basis = assets.isEmpty() ? html : String.join("\n", assets);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(basis.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Optional<String> fetchBuildHash(String appUrl) {
+        try {
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10))
+                    .followRedirects(HttpClient.Redirect.NORMAL).build();
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(appUrl))
+                    .timeout(Duration.ofSeconds(15)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() >= 400 ? Optional.empty() : Optional.of(buildHash(response.body()));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private void build(String hash, List<String> warmUrls, Function<Path, WebDriver> launcher) throws IOException {
+        long start = System.nanoTime();
+        Path staging = root.resolve("template.new");
+        delete(staging);
+        Files.createDirectories(staging);
+        WebDriver driver = launcher.apply(staging);
+        try {
+            for (int visit = 0; visit < warmVisits; visit++) {
+                for (String url : warmUrls) {
+                    try {
+                        driver.get(url);
+                        Thread.sleep(warmPause.toMillis());
+                    } catch (RuntimeException e) {
+                        System.err.println("Profile warm-up could not load " + url + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while warming the profile template", e);
+        } finally {
+            // quitting flushes the caches to disk
+            driver.quit();
+        }
+        strip(staging, STATE);
+        Path old = root.resolve("template.old");
+        delete(old);
+        if (Files.exists(template())) Files.move(template(), old);
+        Files.move(staging, template(), StandardCopyOption.ATOMIC_MOVE);
+        Files.writeString(root.resolve("BUILD"), hash + System.lineSeparator(), StandardCharsets.UTF_8);
+        delete(old);
+        System.out.printf("Built profile template for build %s in %d ms (%d MB): %s%n", hash,
+                (System.nanoTime() - start) / 1_000_000, size(template()) >> 20, template());
+    }
+
+    private FileChannel lockChannel() throws IOException {
+        Files.createDirectories(root);
+        return FileChannel.open(root.resolve(".lock"), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /** {@code cp --reflink=auto} ({@code cp -c} on macOS), or a plain Java copy when neither works. */
+    static void copy(Path from, Path to) throws IOException {
+        List<String> command = System.getProperty("os.name", "").toLowerCase().contains("mac")
+                ? List.of("cp", "-cR", from.toString(), to.toString())
+                : List.of("cp", "-R", "--reflink=auto", from.toString(), to.toString());
+        try {
+            Process cp = new ProcessBuilder(command).redirectErrorStream(true).start();
+            String output = new String(cp.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (cp.waitFor() == 0) return;
+            System.err.println("cp could not clone the profile, copying instead: " + output.trim());
+        } catch (IOException e) {
+            // no cp on this platform
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while cloning " + from, e);
+        }
+        delete(to);
+        Files.walkFileTree(from, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(to.resolve(from.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (!skipped(file, List.of())) Files.copy(file, to.resolve(from.relativize(file).toString()), StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /** Removes lock files and the given {@code state} entries anywhere under {@code dir}. */
+    static void strip(Path dir, List<String> state) throws IOException {
+        List<Path> doomed;
+        try (Stream<Path> all = Files.walk(dir)) {
+            doomed = all.filter(p -> !p.equals(dir) && skipped(p, state)).toList();
+        }
+        for (Path p : doomed) delete(p);
+    }
+
+    private static boolean skipped(Path path, List<String> state) {
+        String name = path.getFileName().toString();
+        return SKIPPED_PREFIXES.stream().anyMatch(name::startsWith) || state.contains(name);
+    }
+
+    static void delete(Path path) {
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) return;
+        try (Stream<Path> all = Files.walk(path)) {
+            all.sorted((a, b) -> b.getNameCount() - a.getNameCount()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException e) {
+                    // Chrome may still be closing a file; the sweep of the next run removes it
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Could not delete " + path + ": " + e.getMessage());
+        }
+    }
+
+    private static long size(Path dir) throws IOException {
+        try (Stream<Path> all = Files.walk(dir)) {
+            return all.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+        }
+    }
+
+    /** Rebuilds the template for the configured endpoints when the app's build changed; {@code --force} always. */
+    public static void main(String[] args) {
+        ProfileTemplate profile = fromSystemProperties();
+        if (args.length > 0 && args[0].equals("--force")) {
+            delete(profile.root.resolve("BUILD"));
+        }
+        ChromeSessionFactory chrome = new ChromeSessionFactory(ChromeSessionFactory.headlessRequested());
+        boolean rebuilt = profile.refreshIfStale(Sita9Endpoints.fromSystemProperties().warmUrls(), chrome::launch);
+        if (!rebuilt) System.out.println("Profile template is current: build " + profile.builtFor().orElse("?") + " in " + profile.template());
+        profile.sweep();
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.form;
+
+import java.util.List;
+import java.util.Optional;
+
+/** Outcome of a {@link FormBatch}: one entry per operation, in order. */
+public class BatchResult {
+
+    /** One operation; {@code millis} includes the time it waited in the page for its element. */
+    public record OpResult(String name, String op, boolean ok, long millis, String error) {
+        @Override
+        public String toString() {
+            return op + " " + name + (ok ? " ok " + millis + "ms" : " FAILED (" + error + ")");
+        }
+    }
+
+    private final List<OpResult> results;
+
+    BatchResult(List<OpResult> results) {
+        this.results = List.copyOf(results);
+    }
+
+    public List<OpResult> results() {
+        return results;
+    }
+
+    public boolean ok() {
+        return results.stream().allMatch(OpResult::ok);
+    }
+
+    public Optional<OpResult> firstFailure() {
+        return results.stream().filter(r -> !r.ok()).findFirst();
+    }
+
+    @Override
+    public String toString() {
+        return results.toString();
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.form;
+
+import org.example.locator.ByText;
+import org.example.locator.Locator;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A list of fill/click operations sent to the page as one {@code executeAsyncScript} call ({@code form/batch.js})
+ * instead of a wait, a lookup and an action round-trip per field. Each operation still waits in the page for its
+ * element, fills through the native value setter with bubbling input/change events, and reports its own outcome.
+ *
+ * <p>This is the fast mode (-Dform.mode=fast). The default high-fidelity mode keeps WebDriver's real key and
+ * mouse input one action at a time, which is what a user-facing regression should exercise.
+ */
+public class FormBatch {
+    static final String SCRIPT = resource("/form/batch.js");
+
+    private final List<Map<String, Object>> ops = new ArrayList<>();
+
+    public static boolean fastModeRequested() {
+        return "fast".equalsIgnoreCase(System.getProperty("form.mode"));
+    }
+
+    public FormBatch fill(Locator locator, String value) {
+        Map<String, Object> op = op("fill", locator);
+        op.put("value", value);
+        ops.add(op);
+        return this;
+    }
+
+    public FormBatch click(Locator locator) {
+        ops.add(op("click", locator));
+        return this;
+    }
+
+    /** Opens a combobox/dropdown and picks an option that is only rendered once it is open. */
+    public FormBatch select(Locator trigger, Locator option) {
+        return click(trigger).click(option);
+    }
+
+    public int size() {
+        return ops.size();
+    }
+
+    /**
+     * Runs all operations in one round-trip; each waits up to {@code perOperation} for its element.
+     * Stops at the first failure: later operations are reported as not run.
+     */
+    public BatchResult run(WebDriver driver, Duration perOperation) {
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        Duration previous = timeouts.getScriptTimeout();
+        timeouts.scriptTimeout(perOperation.multipliedBy(ops.size()).plusSeconds(5));
+        Object raw;
+        try {
+            raw = ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT, ops, perOperation.toMillis());
+        } finally {
+            timeouts.scriptTimeout(previous);
+        }
+        List<BatchResult.OpResult> results = new ArrayList<>();
+        List<?> returned = raw instanceof List ? (List<?>) raw : List.of();
+        for (int i = 0; i < ops.size(); i++) {
+            String name = (String) ops.get(i).get("name");
+            String op = (String) ops.get(i).get("op");
+            if (i < returned.size() && returned.get(i) instanceof Map) {
+                Map<?, ?> r = (Map<?, ?>) returned.get(i);
+                results.add(new BatchResult.OpResult(name, op, Boolean.TRUE.equals(r.get("ok")),
+                        ((Number) r.get("ms")).longValue(), (String) r.get("error")));
+            } else {
+                results.add(new BatchResult.OpResult(name, op, false, 0, "not run"));
+            }
+        }
+        return new BatchResult(results);
+    }
+
+    /** Operation as the script expects it: the locator's selector kind (css, xpath or text) and value. */
+    static Map<String, Object> op(String action, Locator locator) {
+        Map<String, Object> op = new LinkedHashMap<>();
+        op.put("op", action);
+        op.put("name", locator.name());
+        By by = locator.by();
+        if (by instanceof ByText) {
+            ByText text = (ByText) by;
+            op.put("kind", "text");
+            op.put("selector", text.css());
+            op.put("texts", text.texts());
+            op.put("mode", text.mode().name());
+        } else if (by instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+            op.put("kind", "xpath".equals(parameters.using()) ? "xpath" : "css");
+            op.put("selector", String.valueOf(parameters.value()));
+        } else {
+            throw new IllegalArgumentException("Locator cannot be batched: " + locator);
+        }
+        return op;
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = FormBatch.class.getResourceAsStream(name)) {
+            if (in == null) throw new IllegalStateException("Missing resource " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
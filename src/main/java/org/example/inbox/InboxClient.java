@@ -0,0 +1,30 @@
+package org.example.inbox;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Source of verification mail for the registration journey.
+ *
+ * <p>Implementations complete the returned future as soon as a message from {@code sender} to
+ * {@code recipient} containing {@code link} arrives, so callers block only as long as delivery takes. Each message
+ * answers one wait: a second wait for the same recipient needs a new message, never the link already handed out.
+ */
+public interface InboxClient extends AutoCloseable {
+
+    /** Completes with the first match of {@code link} in a message from {@code sender} to {@code recipient}. */
+    CompletableFuture<String> awaitLink(String recipient, String sender, Pattern link);
+
+    /**
+     * The same, failed with a {@link java.util.concurrent.TimeoutException} after {@code timeout}. The wait ends with
+     * the future, so a timed-out caller leaves nothing registered.
+     */
+    default CompletableFuture<String> awaitLink(String recipient, String sender, Pattern link, Duration timeout) {
+        return awaitLink(recipient, sender, link).orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    void close();
+}
@@ -0,0 +1,60 @@
+package org.example.inbox;
+
+import java.util.List;
+import java.util.Locale;
+
+/** A message received by an {@link InboxClient}: envelope plus decoded content. */
+public class InboxMessage {
+    private final String envelopeFrom;
+    private final List<String> recipients;
+    private final String content;
+
+    public InboxMessage(String envelopeFrom, List<String> recipients, String content) {
+        this.envelopeFrom = envelopeFrom;
+        this.recipients = List.copyOf(recipients);
+        this.content = content;
+    }
+
+    public String envelopeFrom() {
+        return envelopeFrom;
+    }
+
+    public List<String> recipients() {
+        return recipients;
+    }
+
+    /** Headers and body, with quoted-printable soft line breaks and escapes decoded. */
+    public String content() {
+        return content;
+    }
+
+    /** True when the envelope sender or the From: header mentions {@code sender}. */
+    public boolean isFrom(String sender) {
+        String wanted = sender.toLowerCase(Locale.ROOT);
+        if (envelopeFrom.toLowerCase(Locale.ROOT).contains(wanted)) return true;
+        for (String line : content.split("\r?\n")) {
+            if (line.isEmpty()) break;
+            if (line.regionMatches(true, 0, "From:", 0, 5) && line.toLowerCase(Locale.ROOT).contains(wanted)) return true;
+        }
+        return false;
+    }
+
+    /** True when an envelope recipient is exactly {@code recipient}, ignoring case. */
+    public boolean isTo(String recipient) {
+        String wanted = address(recipient);
+        return recipients.stream().anyMatch(r -> address(r).equals(wanted));
+    }
+
+    /** The bare, lower-cased address of {@code "Name <a@x.com>"}, {@code "<a@x.com> SIZE=12"} or {@code "a@x.com"}. */
+    static String address(String value) {
+        String v = value.trim();
+        int open = v.indexOf('<');
+        int close = open < 0 ? -1 : v.indexOf('>', open);
+        if (close > open) {
+            v = v.substring(open + 1, close);
+        } else if (v.indexOf(' ') > 0) {
+            v = v.substring(0, v.indexOf(' '));
+        }
+        return v.trim().toLowerCase(Locale.ROOT);
+    }
+}
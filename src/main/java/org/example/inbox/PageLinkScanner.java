@@ -0,0 +1,83 @@
+package org.example.inbox;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * First match of a link pattern in the current document, without transferring the page source.
+ *
+ * <p>An in-page TreeWalker ({@code inbox/link-scan.js}) looks for a literal every link contains (the {@code hint})
+ * in attribute values, text and comments, and returns only a window of text around each occurrence; the pattern
+ * runs over those. A poll on a page without the link transfers an empty list instead of the whole HTML.
+ *
+ * <p>Only remote drivers (Chrome) take the walk: an in-JVM driver has the page source without a transfer, and its
+ * script engine walks the tree far slower than a regex scans the string. Those, and pages with more occurrences
+ * than one call returns, match {@link WebDriver#getPageSource()}.
+ */
+public final class PageLinkScanner {
+    static final String SCRIPT = resource("/inbox/link-scan.js");
+    /** Characters kept before an occurrence of the hint: room for the app URL the link starts with. */
+    static final int BEFORE = 256;
+    /** Characters kept after the hint: room for the query string. */
+    static final int AFTER = 256;
+    /** Occurrences returned by one call. */
+    static final int LIMIT = 16;
+
+    /** First match of {@code link} in the current document, or null. {@code hint} must occur in every match. */
+    public static String firstMatch(WebDriver driver, Pattern link, String hint) {
+        return remote(driver) ? walk(driver, link, hint) : VerifyLinkFinder.firstMatch(driver.getPageSource(), link);
+    }
+
+    /** The in-page walk, whatever the driver; the page source only when the walk cannot answer. */
+    static String walk(WebDriver driver, Pattern link, String hint) {
+        List<?> windows = driver instanceof JavascriptExecutor ? windows((JavascriptExecutor) driver, hint) : null;
+        if (windows != null) {
+            for (Object window : windows) {
+                Matcher m = link.matcher(String.valueOf(window));
+                if (m.find()) return m.group();
+            }
+            if (windows.size() < LIMIT) return null;
+        }
+        return VerifyLinkFinder.firstMatch(driver.getPageSource(), link);
+    }
+
+    /** Text windows around the first {@link #LIMIT} occurrences of {@code hint}, or null when the script cannot run. */
+    private static List<?> windows(JavascriptExecutor js, String hint) {
+        try {
+            Object raw = js.executeScript(SCRIPT, hint, BEFORE, AFTER, LIMIT);
+            return raw instanceof List ? (List<?>) raw : null;
+        } catch (RuntimeException e) {
+            // scripts disabled (lite driver) or the document went away mid-walk
+            return null;
+        }
+    }
+
+    private static boolean remote(WebDriver driver) {
+        while (driver instanceof WrapsDriver && !(driver instanceof RemoteWebDriver)) {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        return driver instanceof RemoteWebDriver;
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = PageLinkScanner.class.getResourceAsStream(name)) {
+            if (in == null) throw new IllegalStateException("Missing resource " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PageLinkScanner() {
+    }
+}
@@ -0,0 +1,261 @@
+package org.example.inbox;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Push-based inbox: a local SMTP sink that completes waiting futures the moment matching mail is delivered.
+ *
+ * <p>The app under test (the stand-in, or a staging deployment whose mail relay points here) sends its
+ * verification mail to this sink; there is no inbox UI to poll.
+ */
+public class SmtpSinkInboxClient implements InboxClient {
+    private static final Pattern CHARSET = Pattern.compile("charset=\"?([A-Za-z0-9._:-]+)", Pattern.CASE_INSENSITIVE);
+    private final ServerSocket server;
+    private final ExecutorService workers;
+    private final List<InboxMessage> received = new CopyOnWriteArrayList<>();
+    private final List<Waiter> waiters = new CopyOnWriteArrayList<>();
+    /** Messages whose link a waiter already took; they do not answer another wait. */
+    private final Set<InboxMessage> consumed = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    private final class Waiter {
+        final String recipient;
+        final String sender;
+        final Pattern link;
+        final CompletableFuture<String> future = new CompletableFuture<>();
+
+        Waiter(String recipient, String sender, Pattern link) {
+            this.recipient = recipient;
+            this.sender = sender;
+            this.link = link;
+        }
+
+        boolean offer(InboxMessage message) {
+            if (future.isDone() || consumed.contains(message) || !message.isTo(recipient) || !message.isFrom(sender)) return false;
+            Matcher m = link.matcher(message.content());
+            if (!m.find() || !consumed.add(message)) return false;
+            if (future.complete(m.group())) return true;
+            // timed out or cancelled meanwhile: the message is still unread
+            consumed.remove(message);
+            return false;
+        }
+    }
+
+    private SmtpSinkInboxClient(int port) throws IOException {
+        server = new ServerSocket();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        workers = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "smtp-sink");
+            t.setDaemon(true);
+            return t;
+        });
+        workers.submit(this::acceptLoop);
+    }
+
+    /** Starts the sink on a loopback port; 0 picks a free one. */
+    public static SmtpSinkInboxClient start(int port) {
+        try {
+            return new SmtpSinkInboxClient(port);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start SMTP sink on port " + port, e);
+        }
+    }
+
+    public InetSocketAddress address() {
+        return (InetSocketAddress) server.getLocalSocketAddress();
+    }
+
+    @Override
+    public CompletableFuture<String> awaitLink(String recipient, String sender, Pattern link) {
+        Waiter waiter = new Waiter(recipient, sender, link);
+        waiters.add(waiter);
+        // Mail may have arrived before anyone asked for it
+        for (InboxMessage message : received) {
+            if (waiter.offer(message)) break;
+        }
+        waiter.future.whenComplete((url, error) -> waiters.remove(waiter));
+        return waiter.future;
+    }
+
+    public List<InboxMessage> received() {
+        return List.copyOf(received);
+    }
+
+    /** Waits still registered; a timed-out or cancelled wait is not one of them. */
+    int waiting() {
+        return waiters.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            server.close();
+        } catch (IOException ignored) {
+            // closing anyway
+        }
+        workers.shutdownNow();
+        for (Waiter waiter : waiters) {
+            waiter.future.completeExceptionally(new IllegalStateException("SMTP sink closed before mail arrived"));
+        }
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                workers.submit(() -> converse(socket));
+            } catch (SocketException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("SMTP sink accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Minimal SMTP server dialogue: enough for HELO/EHLO, MAIL, RCPT, DATA, RSET, NOOP and QUIT. */
+    private void converse(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 sita9-smtp-sink ESMTP");
+            String from = "";
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line.toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "HELO":
+                    case "EHLO":
+                        reply(out, "250 sita9-smtp-sink");
+                        break;
+                    case "MAIL":
+                        from = argument(line);
+                        recipients.clear();
+                        reply(out, "250 OK");
+                        break;
+                    case "RCPT":
+                        recipients.add(argument(line));
+                        reply(out, "250 OK");
+                        break;
+                    case "DATA":
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        deliver(new InboxMessage(from, recipients, decode(readData(in))));
+                        recipients.clear();
+                        reply(out, "250 OK queued");
+                        break;
+                    case "RSET":
+                        from = "";
+                        recipients.clear();
+                        reply(out, "250 OK");
+                        break;
+                    case "NOOP":
+                        reply(out, "250 OK");
+                        break;
+                    case "QUIT":
+                        reply(out, "221 Bye");
+                        return;
+                    default:
+                        reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) System.err.println("SMTP sink connection failed: " + e.getMessage());
+        }
+    }
+
+    private void deliver(InboxMessage message) {
+        received.add(message);
+        for (Waiter waiter : waiters) {
+            if (waiter.offer(message)) return;
+        }
+    }
+
+    private static String readData(BufferedReader in) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+        }
+        return data.toString();
+    }
+
+    private static String argument(String line) {
+        int colon = line.indexOf(':');
+        return colon < 0 ? "" : InboxMessage.address(line.substring(colon + 1));
+    }
+
+    /** Decodes quoted-printable messages (or parts); plain 8-bit content passes through unchanged. */
+    static String decode(String raw) {
+        return raw.toLowerCase(Locale.ROOT).contains("content-transfer-encoding: quoted-printable") ? decodeQuotedPrintable(raw) : raw;
+    }
+
+    /**
+     * Undoes quoted-printable soft breaks and =XX escapes. Escaped bytes are collected and decoded in the message's
+     * charset (UTF-8 when it names none or an unknown one), so multi-byte characters survive.
+     */
+    static String decodeQuotedPrintable(String raw) {
+        Charset charset = charset(raw);
+        String joined = raw.replace("=\r\n", "");
+        StringBuilder out = new StringBuilder(joined.length());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int i = 0; i < joined.length(); i++) {
+            char c = joined.charAt(i);
+            if (c == '=' && i + 2 < joined.length() && isHex(joined.charAt(i + 1)) && isHex(joined.charAt(i + 2))) {
+                bytes.write(Integer.parseInt(joined.substring(i + 1, i + 3), 16));
+                i += 2;
+            } else {
+                if (bytes.size() > 0) {
+                    out.append(new String(bytes.toByteArray(), charset));
+                    bytes.reset();
+                }
+                out.append(c);
+            }
+        }
+        if (bytes.size() > 0) out.append(new String(bytes.toByteArray(), charset));
+        return out.toString();
+    }
+
+    private static Charset charset(String raw) {
+        Matcher m = CHARSET.matcher(raw);
+        if (!m.find()) return StandardCharsets.UTF_8;
+        try {
+            return Charset.forName(m.group(1));
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    /** RFC 2045 asks for uppercase escapes, but decoders should accept lowercase ones too. */
+    private static boolean isHex(char c) {
+        return Character.digit(c, 16) >= 0;
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.inbox;
+
+import org.example.locator.Locator;
+import org.example.sita9.Sita9Endpoints;
+import org.example.sita9.Sita9Locators;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Wait condition for the verify-email link of a message opened in the Mailinator UI: the first link in one of the
+ * message iframes, else in the main document, else the first match of {@code link} anywhere in the main document's
+ * text and attributes ({@link PageLinkScanner}). Returns null (keep polling) while the message body is still
+ * loading; leaves the driver on the main document.
+ */
+public class VerifyLinkFinder implements ExpectedCondition<String> {
+    /** Frames Mailinator has rendered message bodies into, tried in order. */
+    public static final List<String> MESSAGE_FRAMES = List.of("msg_body", "htmlmsgbody", "iframeMail");
+
+    private final Pattern link;
+    private final Locator anchor;
+    private final String hint;
+
+    public VerifyLinkFinder(Pattern link) {
+        this(link, Sita9Locators.VERIFY_EMAIL_LINK, Sita9Endpoints.VERIFY_EMAIL_PATH);
+    }
+
+    /** {@code hint} is a literal every match of {@code link} contains; the page is searched for it first. */
+    public VerifyLinkFinder(Pattern link, Locator anchor, String hint) {
+        this.link = link;
+        this.anchor = anchor;
+        this.hint = hint;
+    }
+
+    @Override
+    public String apply(WebDriver d) {
+        for (String id : MESSAGE_FRAMES) {
+            try {
+                d.switchTo().defaultContent();
+                d.switchTo().frame(id);
+                List<WebElement> links = d.findElements(anchor.by());
+                if (!links.isEmpty()) return links.get(0).getAttribute("href");
+            } catch (RuntimeException ignored) {
+                // frame not there (yet) or replaced while we looked
+            }
+        }
+        d.switchTo().defaultContent();
+        List<WebElement> links = d.findElements(anchor.by());
+        if (!links.isEmpty()) return links.get(0).getAttribute("href");
+        return PageLinkScanner.firstMatch(d, link, hint);
+    }
+
+    /** First match of {@code link} in {@code pageSource}, or null. */
+    public static String firstMatch(String pageSource, Pattern link) {
+        Matcher m = link.matcher(pageSource);
+        return m.find() ? m.group() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "verify-email link in " + MESSAGE_FRAMES + ", the main document or its text";
+    }
+}
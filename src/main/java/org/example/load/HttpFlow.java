@@ -0,0 +1,88 @@
+package org.example.load;
+
+import org.example.scenario.ExecutionPlan;
+import org.example.scenario.HttpCall;
+import org.example.scenario.Scenario;
+import org.example.scenario.Step;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A scenario and the scenarios it requires, reduced to the backend calls of their steps ({@link Step#http()}),
+ * in plan order. Unlike the browser runner, no prerequisite is skipped: every virtual user signs up, verifies and
+ * logs in itself.
+ */
+public final class HttpFlow {
+
+    /** The calls of one declared step, keyed {@code <scenario>.<step id>} like the step timings. */
+    public record HttpStep(String key, List<HttpCall> calls) {
+    }
+
+    private final String name;
+    private final List<HttpStep> steps;
+    private final Map<String, String> vars;
+
+    private HttpFlow(String name, List<HttpStep> steps, Map<String, String> vars) {
+        this.name = name;
+        this.steps = List.copyOf(steps);
+        this.vars = Map.copyOf(vars);
+    }
+
+    /** Flow of {@code target}; {@code library} supplies the scenarios that provide its requirements. */
+    public static HttpFlow compile(Scenario target, Collection<Scenario> library) {
+        Map<String, Scenario> providers = new HashMap<>();
+        for (Scenario scenario : library) {
+            if (scenario.provides() != null) providers.put(scenario.provides(), scenario);
+        }
+        Map<String, Scenario> chain = new LinkedHashMap<>();
+        collect(target, providers, chain, new LinkedHashSet<>());
+        List<HttpStep> steps = new ArrayList<>();
+        Map<String, String> vars = new HashMap<>();
+        for (Scenario scenario : chain.values()) {
+            scenario.vars().forEach(vars::putIfAbsent);
+            for (Step step : ExecutionPlan.compile(scenario).order()) {
+                if (!step.http().isEmpty()) steps.add(new HttpStep(scenario.name() + "." + step.id(), step.http()));
+            }
+        }
+        if (steps.isEmpty()) throw new IllegalArgumentException("Scenario " + target.name() + " declares no http calls");
+        return new HttpFlow(target.name(), steps, vars);
+    }
+
+    private static void collect(Scenario scenario, Map<String, Scenario> providers, Map<String, Scenario> chain, Set<String> path) {
+        if (!path.add(scenario.name())) throw new IllegalStateException("Prerequisite cycle: " + path + " -> " + scenario.name());
+        for (String fact : scenario.requires()) {
+            Scenario provider = providers.get(fact);
+            if (provider == null) throw new IllegalStateException(scenario.name() + " requires " + fact + " but no scenario provides it");
+            collect(provider, providers, chain, path);
+        }
+        chain.putIfAbsent(scenario.name(), scenario);
+        path.remove(scenario.name());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<HttpStep> steps() {
+        return steps;
+    }
+
+    /** Variable defaults of all scenarios in the flow. */
+    public Map<String, String> vars() {
+        return vars;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + steps.size() + " steps, " + steps.stream().mapToInt(s -> s.calls().size()).sum() + " requests): "
+                + steps.stream().map(HttpStep::key).collect(Collectors.joining(" -> "));
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.load;
+
+import org.example.scenario.Scenario;
+import org.example.scenario.ScenarioLoader;
+import org.example.sita9.Sita9Endpoints;
+import org.example.standin.Sita9StandIn;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Replays a scenario's backend calls (the {@code http} blocks of the same step definitions the browser journeys
+ * use) as HTTP virtual users against the local stand-in, or a staging deployment given with -Dsita9.app.url.
+ * Public hosts are refused ({@link TargetGuard}).
+ *
+ * <pre>java -cp target/classes:&lt;classpath&gt; org.example.load.LoadBenchmark [scenario name or file]</pre>
+ *
+ * -Dload.rate arrivals per second (default 5), -Dload.durationSeconds (default 30), -Dload.arrivals
+ * {@code poisson|constant} (default poisson), -Dload.maxUsers concurrent users (default 200),
+ * -Dload.timeoutSeconds per request (default 30), -Dload.dir report directory (default target/load).
+ */
+public class LoadBenchmark {
+
+    public static void main(String[] args) {
+        String name = args.length > 0 ? args[0] : System.getProperty("load.scenario", "analytics-project");
+        List<Scenario> library = new ArrayList<>(ScenarioLoader.bundled());
+        Scenario target;
+        if (name.endsWith(".json") || name.endsWith(".yaml") || name.endsWith(".yml")) {
+            target = ScenarioLoader.load(Paths.get(name));
+            library.add(target);
+        } else {
+            target = library.stream().filter(s -> s.name().equals(name)).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No bundled scenario named " + name));
+        }
+        HttpFlow flow = HttpFlow.compile(target, library);
+
+        double rate = Double.parseDouble(System.getProperty("load.rate", "5"));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", 30));
+        LoadGenerator.Arrivals arrivals = LoadGenerator.Arrivals.valueOf(System.getProperty("load.arrivals", "poisson").toUpperCase(Locale.ROOT));
+        Path dir = Paths.get(System.getProperty("load.dir", "target/load"));
+
+        // only an explicit app URL leaves the JVM; by default the embedded stand-in takes the load
+        Sita9StandIn standIn = System.getProperty("sita9.app.url") == null || Sita9Endpoints.standInRequested() ? Sita9StandIn.start() : null;
+        try {
+            String appUrl = standIn != null ? standIn.baseUrl() : Sita9Endpoints.fromSystemProperties().appUrl();
+            System.out.printf("Load: %s%n  %.1f arrivals/s (%s) for %d s against %s%n", flow, rate,
+                    arrivals.name().toLowerCase(Locale.ROOT), duration.toSeconds(), appUrl);
+            LoadGenerator generator = new LoadGenerator(flow, appUrl, TargetGuard.fromSystemProperties(),
+                    Integer.getInteger("load.maxUsers", 200), Duration.ofSeconds(Long.getLong("load.timeoutSeconds", 30)));
+            LoadStats stats = generator.run(rate, duration, arrivals);
+            System.out.print(stats.toText());
+            stats.write(dir);
+            System.out.println("Histograms (.hgrm, plot with HdrHistogram's plotter): " + dir.toAbsolutePath());
+        } finally {
+            if (standIn != null) standIn.close();
+        }
+    }
+
+    private LoadBenchmark() {
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: virtual users arrive at a fixed average rate whether or not earlier ones have finished, so a slow
+ * backend shows up as growing latency rather than as a lower request rate (no coordinated omission). Each arrival
+ * runs the {@link HttpFlow} once as a new user with a fresh identity. At most {@code maxUsers} run at once; arrivals
+ * beyond that are counted as dropped, not delayed.
+ */
+public class LoadGenerator {
+
+    /** Gaps between arrivals: fixed, or exponentially distributed (a Poisson process). */
+    public enum Arrivals { CONSTANT, POISSON }
+
+    private final HttpFlow flow;
+    private final URI appUrl;
+    private final TargetGuard guard;
+    private final int maxUsers;
+    private final Duration requestTimeout;
+    private final HttpClient client;
+
+    public LoadGenerator(HttpFlow flow, String appUrl, TargetGuard guard, int maxUsers, Duration requestTimeout) {
+        this.flow = flow;
+        this.appUrl = URI.create(appUrl.endsWith("/") ? appUrl : appUrl + "/");
+        this.guard = guard;
+        this.maxUsers = maxUsers;
+        this.requestTimeout = requestTimeout;
+        // redirects are not followed: every hop must pass the guard, and the flows declare the pages they expect
+        this.client = HttpClient.newBuilder().connectTimeout(requestTimeout).followRedirects(HttpClient.Redirect.NEVER).build();
+    }
+
+    /** Runs arrivals at {@code perSecond} for {@code duration}, then waits for the users still in flight. */
+    public LoadStats run(double perSecond, Duration duration, Arrivals arrivals) {
+        guard.check(appUrl);
+        LoadStats stats = new LoadStats(flow.steps().stream().map(HttpFlow.HttpStep::key).toList());
+        AtomicInteger n = new AtomicInteger();
+        ExecutorService users = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "virtual-user-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        Semaphore slots = new Semaphore(maxUsers);
+        String run = Long.toString(ThreadLocalRandom.current().nextLong(1L << 40), 36);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long next = start;
+        int arrival = 0;
+        while (next < end) {
+            long wait;
+            while ((wait = next - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+            if (slots.tryAcquire()) {
+                long intended = next;
+                // unique per run and arrival so repeated runs against one staging backend do not collide
+                VirtualUser user = new VirtualUser(flow, appUrl, client, guard, requestTimeout, stats,
+                        "sita9_load_" + run + "_" + arrival + "@example.test");
+                users.execute(() -> {
+                    try {
+                        user.run(intended);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            } else {
+                stats.arrivalDropped();
+            }
+            arrival++;
+            next += gapNanos(perSecond, arrivals);
+        }
+        users.shutdown();
+        long requests = flow.steps().stream().mapToLong(s -> s.calls().size()).sum();
+        try {
+            if (!users.awaitTermination(requestTimeout.toMillis() * requests, TimeUnit.MILLISECONDS)) {
+                System.err.println("Virtual users still running after the drain timeout; their results are missing");
+                users.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            users.shutdownNow();
+        }
+        stats.finish(System.nanoTime() - start);
+        return stats;
+    }
+
+    private static long gapNanos(double perSecond, Arrivals arrivals) {
+        double mean = 1e9 / perSecond;
+        if (arrivals == Arrivals.CONSTANT) return (long) mean;
+        return (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * mean);
+    }
+}
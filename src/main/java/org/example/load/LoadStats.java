@@ -0,0 +1,124 @@
+package org.example.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency (HdrHistogram, microsecond resolution) and errors per step of an {@link HttpFlow}, plus the whole journey
+ * and how late virtual users started against their scheduled arrival.
+ */
+public class LoadStats {
+    static final String JOURNEY = "journey";
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<String, StepStats> steps = new LinkedHashMap<>();
+    private final Histogram startLag = new ConcurrentHistogram(MAX_MICROS, 3);
+    private final LongAdder started = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long elapsedNanos;
+
+    private static final class StepStats {
+        final Histogram latency = new ConcurrentHistogram(MAX_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final Map<String, LongAdder> errorKinds = new ConcurrentHashMap<>();
+    }
+
+    /** Steps are reported in the given order, followed by the whole journey. */
+    public LoadStats(Collection<String> stepKeys) {
+        for (String key : stepKeys) steps.put(key, new StepStats());
+        steps.put(JOURNEY, new StepStats());
+    }
+
+    /** Records one execution of {@code step}; {@code error} is null on success, else its kind. */
+    void record(String step, long nanos, String error) {
+        StepStats stats = steps.get(step);
+        if (error == null) {
+            stats.latency.recordValue(micros(nanos));
+        } else {
+            stats.errors.increment();
+            stats.errorKinds.computeIfAbsent(error, k -> new LongAdder()).increment();
+        }
+    }
+
+    void userStarted(long lagNanos) {
+        started.increment();
+        startLag.recordValue(micros(Math.max(0, lagNanos)));
+    }
+
+    /** An arrival that found all virtual-user slots busy; an open model does not wait for a slot. */
+    void arrivalDropped() {
+        dropped.increment();
+    }
+
+    void finish(long nanos) {
+        elapsedNanos = nanos;
+    }
+
+    public long started() {
+        return started.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /** Successful executions of {@code step} ({@code journey} for complete journeys). */
+    public long count(String step) {
+        return steps.get(step).latency.getTotalCount();
+    }
+
+    public long errors(String step) {
+        return steps.get(step).errors.sum();
+    }
+
+    public double percentileMillis(String step, double percentile) {
+        return steps.get(step).latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public String toText() {
+        StringBuilder out = new StringBuilder();
+        double seconds = elapsedNanos / 1e9;
+        out.append(String.format("%-42s %7s %6s %9s %9s %9s %9s%n", "step", "ok", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        steps.forEach((key, s) -> out.append(String.format("%-42s %7d %6d %9.1f %9.1f %9.1f %9.1f%n", key,
+                s.latency.getTotalCount(), s.errors.sum(), s.latency.getValueAtPercentile(50) / 1000.0,
+                s.latency.getValueAtPercentile(90) / 1000.0, s.latency.getValueAtPercentile(99) / 1000.0,
+                s.latency.getMaxValue() / 1000.0)));
+        steps.forEach((key, s) -> s.errorKinds.forEach((kind, n) ->
+                out.append(String.format("  error %s: %s x%d%n", key, kind, n.sum()))));
+        out.append(String.format("arrivals: %d started, %d dropped (all users busy) in %.1f s; %.2f journeys/s completed;"
+                        + " start lag p99 %.1f ms%n", started(), dropped(), seconds,
+                seconds == 0 ? 0 : count(JOURNEY) / seconds, startLag.getValueAtPercentile(99) / 1000.0));
+        return out.toString();
+    }
+
+    /** {@code report.txt} and one HdrHistogram percentile distribution ({@code <step>.hgrm}, in ms) per step. */
+    public void write(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("report.txt"), toText(), StandardCharsets.UTF_8);
+            for (Map.Entry<String, StepStats> e : steps.entrySet()) {
+                try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(e.getKey() + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                    e.getValue().latency.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write load report to " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+}
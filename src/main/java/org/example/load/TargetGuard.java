@@ -0,0 +1,70 @@
+package org.example.load;
+
+import org.example.sita9.Sita9Endpoints;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the load benchmark off the public internet. A host is allowed when every address it resolves to is
+ * loopback, site-local (10/8, 172.16/12, 192.168/16), link-local or an IPv6 unique-local address, or when it is
+ * explicitly allow-listed (a staging deployment behind a public name). The live app and Mailinator are refused
+ * even when allow-listed. Every request URL is checked, including links taken from responses.
+ */
+public class TargetGuard {
+    static final Set<String> PRODUCTION_HOSTS = Set.of(URI.create(Sita9Endpoints.LIVE_APP_URL).getHost(),
+            URI.create(Sita9Endpoints.LIVE_INBOX_BASE).getHost(), "mailinator.com");
+
+    private final Set<String> allowedHosts;
+    private final Map<String, String> refusals = new ConcurrentHashMap<>();
+
+    public TargetGuard(Collection<String> allowedHosts) {
+        this.allowedHosts = allowedHosts.stream().map(h -> h.trim().toLowerCase(Locale.ROOT))
+                .filter(h -> !h.isEmpty()).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /** Allow-list from -Dload.allowHosts (comma-separated host names). */
+    public static TargetGuard fromSystemProperties() {
+        return new TargetGuard(Arrays.asList(System.getProperty("load.allowHosts", "").split(",")));
+    }
+
+    /** Throws {@link IllegalArgumentException} unless {@code uri} points at a local or allow-listed host. */
+    public void check(URI uri) {
+        String host = uri.getHost();
+        if (host == null) throw new IllegalArgumentException("Load target " + uri + " has no host");
+        String refusal = refusals.computeIfAbsent(host.toLowerCase(Locale.ROOT), this::refusal);
+        if (!refusal.isEmpty()) throw new IllegalArgumentException(refusal);
+    }
+
+    /** Why {@code host} must not be targeted; empty when it may. */
+    private String refusal(String host) {
+        if (PRODUCTION_HOSTS.contains(host)) return "Refusing to load-test production host " + host;
+        if (allowedHosts.contains(host)) return "";
+        try {
+            for (InetAddress address : InetAddress.getAllByName(host)) {
+                if (!isPrivate(address)) {
+                    return "Refusing to load-test " + host + ": " + address.getHostAddress() + " is a public address"
+                            + " (allow a staging host with -Dload.allowHosts=" + host + ")";
+                }
+            }
+            return "";
+        } catch (UnknownHostException e) {
+            return "Cannot resolve load target " + host;
+        }
+    }
+
+    static boolean isPrivate(InetAddress address) {
+        if (address.isLoopbackAddress() || address.isSiteLocalAddress() || address.isLinkLocalAddress()) return true;
+        // fc00::/7; isSiteLocalAddress() only knows the deprecated fec0::/10
+        return address instanceof Inet6Address && (address.getAddress()[0] & 0xfe) == 0xfc;
+    }
+}
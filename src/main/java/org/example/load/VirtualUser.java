@@ -0,0 +1,152 @@
+package org.example.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.example.scenario.HttpCall;
+import org.example.scenario.Step;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * One journey through an {@link HttpFlow} with its own variables and cookie jar. Steps run in order; the first
+ * failing step ends the journey, since later steps depend on its effects.
+ */
+final class VirtualUser {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpFlow flow;
+    private final URI appUrl;
+    private final HttpClient client;
+    private final TargetGuard guard;
+    private final Duration timeout;
+    private final LoadStats stats;
+    private final Map<String, String> vars;
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+
+    VirtualUser(HttpFlow flow, URI appUrl, HttpClient client, TargetGuard guard, Duration timeout, LoadStats stats, String email) {
+        this.flow = flow;
+        this.appUrl = appUrl;
+        this.client = client;
+        this.guard = guard;
+        this.timeout = timeout;
+        this.stats = stats;
+        this.vars = new HashMap<>(flow.vars());
+        vars.put("appUrl", appUrl.toString());
+        vars.put("email", email);
+    }
+
+    /** Runs the journey; {@code intendedStartNanos} is the scheduled arrival, for the start-lag histogram. */
+    void run(long intendedStartNanos) {
+        long start = System.nanoTime();
+        stats.userStarted(start - intendedStartNanos);
+        for (HttpFlow.HttpStep step : flow.steps()) {
+            long stepStart = System.nanoTime();
+            String error = null;
+            for (HttpCall call : step.calls()) {
+                error = call(call);
+                if (error != null) break;
+            }
+            stats.record(step.key(), System.nanoTime() - stepStart, error);
+            if (error != null) {
+                stats.record(LoadStats.JOURNEY, System.nanoTime() - start, "failed at " + step.key());
+                return;
+            }
+        }
+        stats.record(LoadStats.JOURNEY, System.nanoTime() - start, null);
+    }
+
+    /** Null on success, otherwise the kind of failure (keyed by the declared URL, not the resolved one). */
+    private String call(HttpCall call) {
+        try {
+            String target = resolve(call.url());
+            URI uri = target.startsWith("http://") || target.startsWith("https://") ? URI.create(target) : appUrl.resolve(target);
+            guard.check(uri);
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(timeout);
+            if (call.body() == null) {
+                request.method(call.method(), HttpRequest.BodyPublishers.noBody());
+            } else {
+                request.method(call.method(), HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(resolve(call.body().deepCopy()))))
+                        .header("Content-Type", "application/json");
+            }
+            if (!cookies.isEmpty()) {
+                request.header("Cookie", cookies.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.joining("; ")));
+            }
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            for (String header : response.headers().allValues("set-cookie")) {
+                for (HttpCookie cookie : HttpCookie.parse(header)) {
+                    if (cookie.getMaxAge() == 0) cookies.remove(cookie.getName());
+                    else cookies.put(cookie.getName(), cookie.getValue());
+                }
+            }
+            if (!call.accepts(response.statusCode())) {
+                return call.method() + " " + call.url() + " -> " + response.statusCode();
+            }
+            for (Map.Entry<String, String> e : call.extract().entrySet()) {
+                String value = extract(response.body(), e.getValue());
+                if (value == null) return call.method() + " " + call.url() + " -> no match for " + e.getKey();
+                vars.put(e.getKey(), value);
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return call.method() + " " + call.url() + " -> interrupted";
+        } catch (IOException | RuntimeException e) {
+            return call.method() + " " + call.url() + " -> " + e.getClass().getSimpleName();
+        }
+    }
+
+    /** JSON pointer when {@code expression} starts with '/', else a regex (first group, or the whole match). */
+    private static String extract(String body, String expression) throws IOException {
+        if (expression.startsWith("/")) {
+            JsonNode value = JSON.readTree(body).at(expression);
+            return value.isMissingNode() || value.isNull() ? null : value.asText();
+        }
+        Matcher m = Pattern.compile(expression).matcher(body);
+        if (!m.find()) return null;
+        return m.groupCount() > 0 ? m.group(1) : m.group();
+    }
+
+    private String resolve(String template) {
+        Matcher m = Step.variablePattern().matcher(template);
+        StringBuilder out = new StringBuilder();
+        while (m.find()) {
+            String value = vars.get(m.group(1));
+            if (value == null) throw new IllegalStateException("Variable ${" + m.group(1) + "} is not set");
+            m.appendReplacement(out, Matcher.quoteReplacement(value));
+        }
+        m.appendTail(out);
+        return out.toString();
+    }
+
+    /** Resolves variables in every string of a JSON body, in place. */
+    private JsonNode resolve(JsonNode node) {
+        if (node.isTextual()) return TextNode.valueOf(resolve(node.asText()));
+        if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            for (Iterator<String> names = object.fieldNames(); names.hasNext(); ) {
+                String name = names.next();
+                object.set(name, resolve(object.get(name)));
+            }
+        } else if (node.isArray()) {
+            ArrayNode array = (ArrayNode) node;
+            for (int i = 0; i < array.size(); i++) array.set(i, resolve(array.get(i)));
+        }
+        return node;
+    }
+}
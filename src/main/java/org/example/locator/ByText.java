@@ -0,0 +1,81 @@
+package org.example.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSS candidates filtered by text content, in a single script call. Same matches, in the same document order,
+ * as the XPath text predicates it replaces: XPath's string-value of an element is its {@code textContent}, and
+ * {@code normalize-space()} collapses the same whitespace characters.
+ */
+public class ByText extends By {
+    public enum Mode { EXACT_NORMALIZED, CONTAINS_NORMALIZED, CONTAINS }
+
+    private static final String SCRIPT =
+            "var root = arguments[3] || document, mode = arguments[2], texts = arguments[1], out = [];" +
+            "var nodes = root.querySelectorAll(arguments[0]);" +
+            "for (var i = 0; i < nodes.length; i++) {" +
+            "  var t = nodes[i].textContent;" +
+            "  if (mode !== 'CONTAINS') t = t.replace(/[ \\t\\r\\n]+/g, ' ').replace(/^ | $/g, '');" +
+            "  for (var j = 0; j < texts.length; j++) {" +
+            "    if (mode === 'EXACT_NORMALIZED' ? t === texts[j] : t.indexOf(texts[j]) >= 0) { out.push(nodes[i]); break; }" +
+            "  }" +
+            "}" +
+            "return out;";
+
+    private final String css;
+    private final List<String> texts;
+    private final Mode mode;
+
+    public ByText(String css, List<String> texts, Mode mode) {
+        this.css = css;
+        this.texts = List.copyOf(texts);
+        this.mode = mode;
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        JavascriptExecutor js;
+        WebElement root = null;
+        if (context instanceof JavascriptExecutor) {
+            js = (JavascriptExecutor) context;
+        } else if (context instanceof WebElement && context instanceof WrapsDriver
+                && ((WrapsDriver) context).getWrappedDriver() instanceof JavascriptExecutor) {
+            js = (JavascriptExecutor) ((WrapsDriver) context).getWrappedDriver();
+            root = (WebElement) context;
+        } else {
+            throw new IllegalArgumentException("ByText needs a context that can execute scripts: " + context);
+        }
+        Object result = js.executeScript(SCRIPT, css, texts, mode.name(), root);
+        List<WebElement> elements = new ArrayList<>();
+        if (result instanceof List) {
+            for (Object o : (List<?>) result) {
+                if (o instanceof WebElement) elements.add((WebElement) o);
+            }
+        }
+        return elements;
+    }
+
+    public String css() {
+        return css;
+    }
+
+    public List<String> texts() {
+        return texts;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    @Override
+    public String toString() {
+        return "By.text: " + css + " " + mode + " " + texts;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.locator;
+
+import org.openqa.selenium.By;
+
+/**
+ * A named element declared once ({@link org.example.sita9.Sita9Locators}). XPath declarations are rewritten to
+ * CSS or {@link ByText} when {@link XPathRewriter} understands them; -Dlocators.rewrite=false keeps the XPath.
+ */
+public final class Locator {
+    private static final boolean REWRITE = !"false".equalsIgnoreCase(System.getProperty("locators.rewrite"));
+
+    private final String name;
+    private final By declared;
+    private final By compiled;
+
+    private Locator(String name, By declared, By compiled) {
+        this.name = name;
+        this.declared = declared;
+        this.compiled = compiled;
+    }
+
+    public static Locator xpath(String name, String xpath) {
+        return new Locator(name, By.xpath(xpath), XPathRewriter.rewrite(xpath).orElse(null));
+    }
+
+    public static Locator css(String name, String css) {
+        return new Locator(name, By.cssSelector(css), null);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** What the lookup actually uses: the rewritten selector when there is one. */
+    public By by() {
+        return REWRITE && compiled != null ? compiled : declared;
+    }
+
+    /** The selector as declared (for benchmarks and error messages). */
+    public By declared() {
+        return declared;
+    }
+
+    public boolean rewritten() {
+        return compiled != null;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + by() + ")";
+    }
+}
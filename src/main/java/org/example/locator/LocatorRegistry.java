@@ -0,0 +1,239 @@
+package org.example.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Resolves {@link Locator}s for one browser (one test thread) and caches the resolved elements per page state.
+ *
+ * <p>The page state changes on navigation, window/frame switches and clicks/submits, which this registry observes
+ * by decorating the driver ({@link #driver()}); every such event drops the cache. Between events, repeated waits
+ * on the same element cost one {@code isDisplayed} call instead of a lookup plus {@code isDisplayed}. A cached
+ * element that went stale (re-rendered) is dropped and looked up again in the same poll or action.
+ */
+public class LocatorRegistry implements WebDriverListener {
+    private final WebDriver driver;
+    private final boolean caching;
+    private final Map<String, WebElement> cache = new HashMap<>();
+    private Function<Locator, By> selector = Locator::by;
+    private int hits;
+    private int misses;
+    private int stale;
+
+    public LocatorRegistry(WebDriver driver, boolean caching) {
+        this.caching = caching;
+        this.driver = caching ? new EventFiringDecorator<>(this).decorate(driver) : driver;
+    }
+
+    /** Caching unless -Dlocators.cache=false. */
+    public static LocatorRegistry fromSystemProperties(WebDriver driver) {
+        return new LocatorRegistry(driver, !"false".equalsIgnoreCase(System.getProperty("locators.cache")));
+    }
+
+    /**
+     * Looks elements up with the declared selectors instead of the rewritten ones, for drivers without a script
+     * engine: a {@link ByText} selector runs as a script.
+     */
+    public LocatorRegistry declaredSelectors() {
+        this.selector = Locator::declared;
+        return this;
+    }
+
+    /** The driver to use for the rest of the test, so the registry sees navigation and clicks. */
+    public WebDriver driver() {
+        return driver;
+    }
+
+    /**
+     * First element matching {@code locator}, from the cache when the page state has not changed (no round-trip).
+     * A cached element can still go stale if the page re-renders on its own; {@link #click} and {@link #type}
+     * re-resolve in that case.
+     */
+    public WebElement find(Locator locator) {
+        WebElement cached = cache.get(locator.name());
+        if (cached != null) {
+            hits++;
+            return cached;
+        }
+        return lookup(locator);
+    }
+
+    public void click(Locator locator) {
+        act(locator, WebElement::click);
+    }
+
+    public void type(Locator locator, CharSequence text) {
+        act(locator, el -> el.sendKeys(text));
+    }
+
+    /** All matches, never cached. */
+    public List<WebElement> findAll(Locator locator) {
+        return driver.findElements(selector.apply(locator));
+    }
+
+    /** Cache-aware {@code visibilityOfElementLocated}. */
+    public ExpectedCondition<WebElement> visible(Locator locator) {
+        return new Condition("visibility of " + locator, List.of(locator), d -> resolve(locator, WebElement::isDisplayed));
+    }
+
+    /** Cache-aware {@code elementToBeClickable}. */
+    public ExpectedCondition<WebElement> clickable(Locator locator) {
+        return new Condition("element to be clickable: " + locator, List.of(locator),
+                d -> resolve(locator, el -> el.isDisplayed() && el.isEnabled()));
+    }
+
+    /** The first of {@code locators} whose element is visible. */
+    public ExpectedCondition<WebElement> anyVisible(Locator... locators) {
+        return new Condition("visibility of any of " + List.of(locators), List.of(locators), d -> {
+            for (Locator locator : locators) {
+                WebElement el = resolve(locator, WebElement::isDisplayed);
+                if (el != null) return el;
+            }
+            return null;
+        });
+    }
+
+    /** Drops every cached element (the page changed in a way the registry cannot observe, e.g. a script click). */
+    public void invalidate() {
+        cache.clear();
+    }
+
+    public int hits() {
+        return hits;
+    }
+
+    public int misses() {
+        return misses;
+    }
+
+    public int staleEvictions() {
+        return stale;
+    }
+
+    @Override
+    public String toString() {
+        return "LocatorRegistry{hits=" + hits + ", misses=" + misses + ", stale=" + stale + "}";
+    }
+
+    /**
+     * The first match of {@code locator} if it is {@code ready}, else null. Only a ready element is cached: a hidden
+     * first match (a template, a duplicate) is looked up again on the next poll, like {@code visibilityOfElementLocated}
+     * does, since the page may render a visible one ahead of it.
+     */
+    private WebElement resolve(Locator locator, Predicate<WebElement> ready) {
+        WebElement cached = cache.get(locator.name());
+        if (cached != null) {
+            if (ready.test(cached)) {
+                hits++;
+                return cached;
+            }
+            cache.remove(locator.name());
+        }
+        List<WebElement> found = driver.findElements(selector.apply(locator));
+        misses++;
+        if (found.isEmpty() || !ready.test(found.get(0))) return null;
+        if (caching) cache.put(locator.name(), found.get(0));
+        return found.get(0);
+    }
+
+    private void act(Locator locator, Consumer<WebElement> action) {
+        try {
+            action.accept(find(locator));
+        } catch (StaleElementReferenceException e) {
+            dropStale(locator);
+            action.accept(lookup(locator));
+        }
+    }
+
+    private WebElement lookup(Locator locator) {
+        WebElement el = driver.findElement(selector.apply(locator));
+        misses++;
+        if (caching) cache.put(locator.name(), el);
+        return el;
+    }
+
+    private void dropStale(Locator locator) {
+        cache.remove(locator.name());
+        stale++;
+    }
+
+    // --- page state changes ---
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        invalidate();
+    }
+
+    @Override
+    public void afterClick(WebElement element) {
+        invalidate();
+    }
+
+    @Override
+    public void afterSubmit(WebElement element) {
+        invalidate();
+    }
+
+    @Override
+    public void afterClose(WebDriver driver) {
+        invalidate();
+    }
+
+    @Override
+    public void afterAnyNavigationCall(WebDriver.Navigation navigation, Method method, Object[] args, Object result) {
+        invalidate();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (target instanceof WebDriver.TargetLocator) invalidate();
+    }
+
+    /**
+     * Wait condition over cached elements: a stale cached element drops the cached entries and the check runs
+     * once more on fresh lookups. A fresh element going stale just fails this poll.
+     */
+    private final class Condition implements ExpectedCondition<WebElement> {
+        private final String description;
+        private final List<Locator> locators;
+        private final Function<WebDriver, WebElement> check;
+
+        Condition(String description, List<Locator> locators, Function<WebDriver, WebElement> check) {
+            this.description = description;
+            this.locators = locators;
+            this.check = check;
+        }
+
+        @Override
+        public WebElement apply(WebDriver d) {
+            try {
+                return check.apply(d);
+            } catch (StaleElementReferenceException e) {
+                locators.stream().filter(l -> cache.containsKey(l.name())).forEach(LocatorRegistry.this::dropStale);
+            }
+            try {
+                return check.apply(d);
+            } catch (StaleElementReferenceException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
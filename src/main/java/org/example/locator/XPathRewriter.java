@@ -0,0 +1,89 @@
+package org.example.locator;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites the simple XPath shapes used by the journeys into selectors the browser evaluates without a
+ * full-document XPath scan:
+ *
+ * <ul>
+ *   <li>{@code //tag[@a='v' and contains(@b,'w')]} becomes the CSS selector {@code tag[a="v"][b*="w"]};</li>
+ *   <li>text predicates ({@code normalize-space()='T'}, {@code contains(normalize-space(),'T')}, {@code contains(., 'T')},
+ *       or-chains of {@code normalize-space()='T'}) become a {@link ByText}: CSS candidates filtered by text in one script.</li>
+ * </ul>
+ *
+ * Anything else (unions, nested paths, positions, {@code text()}) is left alone: {@link #rewrite} returns empty.
+ */
+public final class XPathRewriter {
+    private static final Pattern ROOT = Pattern.compile("^//([a-zA-Z][a-zA-Z0-9]*|\\*)\\[(.+)]$");
+    private static final String VALUE = "'([^']*)'";
+    private static final Pattern ATTR_EQ = Pattern.compile("^@([a-zA-Z_-]+)\\s*=\\s*" + VALUE + "$");
+    private static final Pattern ATTR_CONTAINS = Pattern.compile("^contains\\(\\s*@([a-zA-Z_-]+)\\s*,\\s*" + VALUE + "\\s*\\)$");
+    private static final Pattern TEXT_EQ = Pattern.compile("^normalize-space\\(\\.?\\)\\s*=\\s*" + VALUE + "$");
+    private static final Pattern TEXT_CONTAINS_NORMALIZED = Pattern.compile("^contains\\(\\s*normalize-space\\(\\.?\\)\\s*,\\s*" + VALUE + "\\s*\\)$");
+    private static final Pattern TEXT_CONTAINS = Pattern.compile("^contains\\(\\s*\\.\\s*,\\s*" + VALUE + "\\s*\\)$");
+    /** Operator outside quoted literals (an even number of quotes follows it). */
+    private static final String OUTSIDE_QUOTES = "(?=(?:[^']*'[^']*')*[^']*$)";
+    private static final Pattern AND = Pattern.compile("\\s+and\\s+" + OUTSIDE_QUOTES);
+    private static final Pattern OR = Pattern.compile("\\s+or\\s+" + OUTSIDE_QUOTES);
+
+    private XPathRewriter() {
+    }
+
+    public static Optional<By> rewrite(String xpath) {
+        Matcher root = ROOT.matcher(xpath.trim());
+        if (!root.matches()) return Optional.empty();
+        String predicate = root.group(2);
+        String structure = predicate.replaceAll("'[^']*'", "''");
+        if (structure.contains("[") || structure.contains("/") || structure.contains("|")) return Optional.empty();
+
+        StringBuilder css = new StringBuilder(root.group(1));
+        String[] alternatives = OR.split(predicate);
+        if (alternatives.length > 1) {
+            // only "normalize-space()='A' or normalize-space()='B'" on a bare tag
+            if (AND.matcher(predicate).find()) return Optional.empty();
+            List<String> texts = new ArrayList<>();
+            for (String term : alternatives) {
+                Matcher m = TEXT_EQ.matcher(term.trim());
+                if (!m.matches()) return Optional.empty();
+                texts.add(m.group(1));
+            }
+            return Optional.of(new ByText(css.toString(), texts, ByText.Mode.EXACT_NORMALIZED));
+        }
+
+        String text = null;
+        ByText.Mode mode = null;
+        for (String term : AND.split(predicate)) {
+            term = term.trim();
+            Matcher m;
+            if ((m = ATTR_EQ.matcher(term)).matches()) {
+                css.append('[').append(m.group(1)).append("=\"").append(cssString(m.group(2))).append("\"]");
+            } else if ((m = ATTR_CONTAINS.matcher(term)).matches()) {
+                css.append('[').append(m.group(1)).append("*=\"").append(cssString(m.group(2))).append("\"]");
+            } else if (text == null && (m = TEXT_EQ.matcher(term)).matches()) {
+                text = m.group(1);
+                mode = ByText.Mode.EXACT_NORMALIZED;
+            } else if (text == null && (m = TEXT_CONTAINS_NORMALIZED.matcher(term)).matches()) {
+                text = m.group(1);
+                mode = ByText.Mode.CONTAINS_NORMALIZED;
+            } else if (text == null && (m = TEXT_CONTAINS.matcher(term)).matches()) {
+                text = m.group(1);
+                mode = ByText.Mode.CONTAINS;
+            } else {
+                return Optional.empty();
+            }
+        }
+        if (text == null) return Optional.of(By.cssSelector(css.toString()));
+        return Optional.of(new ByText(css.toString(), List.of(text), mode));
+    }
+
+    private static String cssString(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
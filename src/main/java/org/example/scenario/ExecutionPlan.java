@@ -0,0 +1,164 @@
+package org.example.scenario;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A {@link Scenario}'s steps compiled into ordered stages.
+ *
+ * <p>A step depends on the last {@code navigate}/{@code click}/{@code waitFor}/{@code settle} before it, on the
+ * step that extracts a variable it reads, and on its {@code after} list; a {@code navigate}/{@code click} depends on
+ * every step before it and a {@code waitFor}/{@code settle} on every step since the last page change, so waits stay
+ * barriers where they were declared. Steps whose dependencies are met at the same point form one stage and may run
+ * in any order: extractions, then fills, so consecutive fields of a form end up next to each other and can be sent
+ * as one {@link org.example.form.FormBatch} in fast mode. Dependency cycles, unknown step ids and reads of a
+ * variable that only a later step extracts fail compilation.
+ */
+public final class ExecutionPlan {
+
+    /** Steps with no ordering between them, in the order the runner executes them. */
+    public record Stage(List<Step> steps) {
+        public List<Step> fills() {
+            return steps.stream().filter(s -> s.action() == Step.Action.FILL).toList();
+        }
+    }
+
+    private final Scenario scenario;
+    private final List<Stage> stages;
+
+    private ExecutionPlan(Scenario scenario, List<Stage> stages) {
+        this.scenario = scenario;
+        this.stages = List.copyOf(stages);
+    }
+
+    public static ExecutionPlan compile(Scenario scenario) {
+        List<Step> steps = numbered(scenario);
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < steps.size(); i++) {
+            if (index.put(steps.get(i).id(), i) != null) {
+                throw new IllegalArgumentException(scenario.name() + ": duplicate step id " + steps.get(i).id());
+            }
+        }
+
+        List<Set<Integer>> deps = new ArrayList<>();
+        int lastPageChange = -1;
+        int lastBarrier = -1;
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            Set<Integer> d = new LinkedHashSet<>();
+            if (step.action().changesPage()) {
+                for (int j = 0; j < i; j++) d.add(j);
+                lastPageChange = i;
+                lastBarrier = i;
+            } else if (isBarrier(step.action())) {
+                for (int j = Math.max(lastPageChange, 0); j < i; j++) d.add(j);
+                lastBarrier = i;
+            } else if (lastBarrier >= 0) {
+                d.add(lastBarrier);
+            }
+            for (String after : step.after()) {
+                Integer j = index.get(after);
+                if (j == null) throw new IllegalArgumentException(scenario.name() + ": step " + step.id() + " is after unknown step " + after);
+                d.add(j);
+            }
+            for (String variable : step.reads()) {
+                int producer = producerOf(steps, variable, i);
+                if (producer == i) throw new IllegalArgumentException(scenario.name() + ": step " + step.id() + " reads its own variable " + variable);
+                if (producer > i) throw new IllegalArgumentException(scenario.name() + ": step " + step.id() + " reads " + variable + " before step " + steps.get(producer).id() + " extracts it");
+                if (producer >= 0) d.add(producer);
+            }
+            deps.add(d);
+        }
+
+        int[] level = new int[steps.size()];
+        int[] state = new int[steps.size()];
+        for (int i = 0; i < steps.size(); i++) level(i, deps, level, state, steps, scenario);
+
+        Map<Integer, List<Integer>> byLevel = new TreeMap<>();
+        for (int i = 0; i < steps.size(); i++) byLevel.computeIfAbsent(level[i], k -> new ArrayList<>()).add(i);
+        List<Stage> stages = new ArrayList<>();
+        for (List<Integer> members : byLevel.values()) {
+            members.sort(Comparator.<Integer>comparingInt(i -> rank(steps.get(i).action())).thenComparingInt(i -> i));
+            stages.add(new Stage(members.stream().map(steps::get).toList()));
+        }
+        return new ExecutionPlan(scenario, stages);
+    }
+
+    public Scenario scenario() {
+        return scenario;
+    }
+
+    public List<Stage> stages() {
+        return stages;
+    }
+
+    /** All steps in execution order. */
+    public List<Step> order() {
+        return stages.stream().flatMap(s -> s.steps().stream()).toList();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(scenario.name()).append(':');
+        for (int i = 0; i < stages.size(); i++) {
+            out.append(System.lineSeparator()).append("  stage ").append(i + 1).append(": ")
+                    .append(stages.get(i).steps().stream().map(Step::id).toList());
+        }
+        return out.toString();
+    }
+
+    /** Ids default to {@code <position>.<action>}, e.g. {@code 3.fill}. */
+    private static List<Step> numbered(Scenario scenario) {
+        List<Step> steps = new ArrayList<>();
+        for (int i = 0; i < scenario.steps().size(); i++) {
+            Step step = scenario.steps().get(i);
+            steps.add(step.id() == null || step.id().isBlank()
+                    ? step.withId((i + 1) + "." + step.action().name().toLowerCase()) : step);
+        }
+        return steps;
+    }
+
+    /** The last step before {@code reader} that extracts {@code variable}, else the first after it; -1 for none. */
+    private static int producerOf(List<Step> steps, String variable, int reader) {
+        int found = -1;
+        for (int j = 0; j < steps.size(); j++) {
+            if (!variable.equals(steps.get(j).into())) continue;
+            if (j < reader || found < 0) found = j;
+            if (j >= reader) break;
+        }
+        return found;
+    }
+
+    private static int level(int i, List<Set<Integer>> deps, int[] level, int[] state, List<Step> steps, Scenario scenario) {
+        if (state[i] == 2) return level[i];
+        if (state[i] == 1) throw new IllegalArgumentException(scenario.name() + ": dependency cycle through step " + steps.get(i).id());
+        state[i] = 1;
+        int l = 0;
+        for (int d : deps.get(i)) l = Math.max(l, level(d, deps, level, state, steps, scenario) + 1);
+        level[i] = l;
+        state[i] = 2;
+        return l;
+    }
+
+    private static boolean isBarrier(Step.Action action) {
+        return action == Step.Action.WAIT_FOR || action == Step.Action.SETTLE;
+    }
+
+    /** Waits, settles and page changes always end up in a stage of their own; this orders the rest. */
+    private static int rank(Step.Action action) {
+        switch (action) {
+            case EXTRACT:
+                return 0;
+            case FILL:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+}
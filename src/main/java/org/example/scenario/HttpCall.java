@@ -0,0 +1,25 @@
+package org.example.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * The backend request a {@link Step} makes when it is replayed without a browser (load benchmark). {@code url} is
+ * resolved against {@code ${appUrl}} unless absolute; {@code method} defaults to GET, or POST when there is a
+ * {@code body} (JSON, string values may reference variables). {@code expect} is the required status (default any
+ * 2xx). {@code extract} stores response values as variables: a JSON pointer ({@code /messages/0/id}) or else a
+ * regex over the body (first group if it has one).
+ */
+public record HttpCall(String method, String url, JsonNode body, Integer expect, Map<String, String> extract) {
+
+    public HttpCall {
+        if (url == null) throw new IllegalArgumentException("http call has no url");
+        if (method == null) method = body == null ? "GET" : "POST";
+        extract = extract == null ? Map.of() : Map.copyOf(extract);
+    }
+
+    public boolean accepts(int status) {
+        return expect == null ? status >= 200 && status < 300 : status == expect;
+    }
+}
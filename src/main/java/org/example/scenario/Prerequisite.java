@@ -0,0 +1,15 @@
+package org.example.scenario;
+
+/**
+ * Checks whether a fact a scenario {@code requires} already holds for the worker's browser, so the scenario that
+ * provides it can be skipped (e.g. a cached login instead of registering and logging in again).
+ */
+public interface Prerequisite {
+
+    /** True when the fact holds now; may act to make it hold, like restoring a cached session. */
+    boolean satisfied(ScenarioContext context);
+
+    /** Called after the providing scenario ran, e.g. to cache what it established. */
+    default void provided(ScenarioContext context) {
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.scenario;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A journey declared as data (JSON or YAML, see {@link ScenarioLoader}).
+ *
+ * <p>{@code requires} names facts that must hold before the steps run (e.g. {@code loggedIn}); {@code provides} is
+ * the fact this scenario establishes. The runner skips a requirement that a {@link Prerequisite} reports as already
+ * satisfied, and otherwise runs the scenario that provides it first, in the same browser. {@code vars} are defaults
+ * for {@code ${name}} references; {@code locators} declares elements not in {@code Sita9Locators};
+ * {@code timeoutSeconds} is the default for steps that do not set their own.
+ */
+public record Scenario(String name, String provides, List<String> requires, Map<String, String> vars,
+                       Map<String, LocatorSpec> locators, Integer timeoutSeconds, List<Step> steps) {
+
+    /** Scenario-local element: exactly one of {@code css} or {@code xpath}. */
+    public record LocatorSpec(String css, String xpath) {
+    }
+
+    public Scenario {
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("Scenario has no name");
+        requires = requires == null ? List.of() : List.copyOf(requires);
+        vars = vars == null ? Map.of() : Map.copyOf(vars);
+        locators = locators == null ? Map.of() : Map.copyOf(locators);
+        steps = steps == null ? List.of() : List.copyOf(steps);
+    }
+
+    public static Scenario of(String name, List<Step> steps) {
+        return new Scenario(name, null, null, null, null, null, steps);
+    }
+}
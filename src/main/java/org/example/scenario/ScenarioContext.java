@@ -0,0 +1,192 @@
+package org.example.scenario;
+
+import org.example.inbox.InboxClient;
+import org.example.locator.Locator;
+import org.example.locator.LocatorRegistry;
+import org.example.sita9.Sita9Endpoints;
+import org.example.sita9.Sita9Locators;
+import org.example.timing.StepTimer;
+import org.example.wait.WaitEngine;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+
+/**
+ * What the steps of one run see: the current tier's driver, wait engine and locator registry, the variables and
+ * the facts established so far. A run covers a scenario and the prerequisite scenarios executed for it, which share
+ * one context. Not thread-safe; each worker has its own.
+ *
+ * <p>Tier sessions are opened on first use, so a run whose steps are all non-visual never starts Chrome. When the
+ * run moves to the other tier, the cookies of the page it was on are copied over (and, unless the next step
+ * navigates anyway, the page is opened there), so a logged-in session carries across. Local/session storage does
+ * not.
+ */
+public class ScenarioContext {
+    private final Function<Tier, TierSession> opener;
+    private final boolean liteEnabled;
+    private final Sita9Endpoints endpoints;
+    private final InboxClient inbox;
+    private final StepTimer timer;
+    private final Map<Tier, TierSession> sessions = new EnumMap<>(Tier.class);
+    private final Map<Tier, Integer> steps = new EnumMap<>(Tier.class);
+    private final Map<String, String> vars = new HashMap<>();
+    private final Set<String> facts = new HashSet<>();
+    private Tier tier = Tier.BROWSER;
+    private Scenario scenario;
+
+    /** {@code opener} starts a tier's session; with {@code liteEnabled} false every step runs in the browser tier. */
+    ScenarioContext(Function<Tier, TierSession> opener, boolean liteEnabled, Sita9Endpoints endpoints,
+                    InboxClient inbox, StepTimer timer) {
+        this.opener = opener;
+        this.liteEnabled = liteEnabled;
+        this.endpoints = endpoints;
+        this.inbox = inbox;
+        this.timer = timer;
+    }
+
+    public WebDriver driver() {
+        return session().driver();
+    }
+
+    public WaitEngine waits() {
+        return session().waits;
+    }
+
+    public LocatorRegistry locators() {
+        return session().locators;
+    }
+
+    public Tier tier() {
+        return tier;
+    }
+
+    /**
+     * Makes {@code next} the current tier, handing cookies over from the current page; with {@code keepPage} the
+     * new tier also opens that page.
+     */
+    public void use(Tier next, boolean keepPage) {
+        if (next == Tier.LITE && !liteEnabled) next = Tier.BROWSER;
+        if (next == tier) return;
+        TierSession from = sessions.get(tier);
+        tier = next;
+        TierSession to = session();
+        if (from != null) handOff(from.driver(), to.driver(), keepPage);
+    }
+
+    /** Steps executed per tier so far. */
+    public Map<Tier, Integer> steps() {
+        return Map.copyOf(steps);
+    }
+
+    void stepRan() {
+        steps.merge(tier, 1, Integer::sum);
+    }
+
+    /** Gives every opened session back (browser to the pool, lite driver quit). */
+    void close() {
+        sessions.values().forEach(TierSession::release);
+        sessions.clear();
+    }
+
+    public Sita9Endpoints endpoints() {
+        return endpoints;
+    }
+
+    /** Push-based inbox, or null when verification mail is only reachable through the inbox UI. */
+    public InboxClient inbox() {
+        return inbox;
+    }
+
+    public Scenario scenario() {
+        return scenario;
+    }
+
+    /** Switches to {@code next}; its {@code vars} fill in only what is not set yet. */
+    void enter(Scenario next) {
+        this.scenario = next;
+        next.vars().forEach((k, v) -> vars.putIfAbsent(k, v));
+    }
+
+    public String var(String name) {
+        return vars.get(name);
+    }
+
+    public void set(String name, String value) {
+        vars.put(name, value);
+    }
+
+    public boolean holds(String fact) {
+        return facts.contains(fact);
+    }
+
+    void establish(String fact) {
+        facts.add(fact);
+    }
+
+    /** Replaces {@code ${name}} references; an undefined variable is an error. Null stays null. */
+    public String resolve(String template) {
+        if (template == null) return null;
+        Matcher m = Step.variablePattern().matcher(template);
+        StringBuilder out = new StringBuilder();
+        while (m.find()) {
+            String value = vars.get(m.group(1));
+            if (value == null) {
+                throw new IllegalStateException("Variable ${" + m.group(1) + "} is not set in scenario " + scenario.name());
+            }
+            m.appendReplacement(out, Matcher.quoteReplacement(value));
+        }
+        m.appendTail(out);
+        return out.toString();
+    }
+
+    /** A locator declared by the current scenario, else one of {@link Sita9Locators}. */
+    public Locator locator(String name) {
+        Scenario.LocatorSpec spec = scenario.locators().get(name);
+        if (spec != null) {
+            if (spec.css() != null) return Locator.css(name, spec.css());
+            if (spec.xpath() != null) return Locator.xpath(name, spec.xpath());
+            throw new IllegalArgumentException("Locator " + name + " in " + scenario.name() + " has neither css nor xpath");
+        }
+        return Sita9Locators.named(name)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown locator " + name + " in scenario " + scenario.name()));
+    }
+
+    private TierSession session() {
+        return sessions.computeIfAbsent(tier, opener);
+    }
+
+    private static void handOff(WebDriver from, WebDriver to, boolean keepPage) {
+        String url = from.getCurrentUrl();
+        if (url == null || !url.startsWith("http")) return;
+        Set<Cookie> cookies = from.manage().getCookies();
+        if (cookies.isEmpty() && !keepPage) return;
+        URI page = URI.create(url);
+        String origin = page.getScheme() + "://" + page.getAuthority() + "/";
+        String current = to.getCurrentUrl();
+        if (current == null || !current.startsWith(origin)) to.get(origin);
+        for (Cookie cookie : cookies) {
+            try {
+                // host-only on the target: it is on the same origin, whatever domain the source browser recorded
+                to.manage().addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                        .path(cookie.getPath()).expiresOn(cookie.getExpiry())
+                        .isSecure(cookie.isSecure()).isHttpOnly(cookie.isHttpOnly()).build());
+            } catch (RuntimeException e) {
+                System.err.println("Could not hand cookie " + cookie.getName() + " over to the other tier: " + e.getMessage());
+            }
+        }
+        if (keepPage) to.get(url);
+    }
+
+    /** Closes the current timing interval under {@code <scenario>.<step>}. */
+    void lap(String step) {
+        if (timer != null) timer.lap(scenario.name() + "." + step);
+    }
+}
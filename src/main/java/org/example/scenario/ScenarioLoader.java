@@ -0,0 +1,83 @@
+package org.example.scenario;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/** Reads {@link Scenario} files: {@code .json}, or {@code .yaml} / {@code .yml}. Unknown fields are rejected. */
+public final class ScenarioLoader {
+    /** Scenarios shipped in {@code src/main/resources/scenarios}. */
+    public static final List<String> BUNDLED = List.of("registration.json", "login.yaml", "analytics-project.json");
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+
+    public static Scenario load(Path file) {
+        try {
+            return parse(Files.readString(file), isYaml(file.getFileName().toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read scenario " + file, e);
+        }
+    }
+
+    /** Files as given; directories contribute their scenario files in name order. */
+    public static List<Scenario> loadAll(List<Path> paths) {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (Path path : paths) {
+            if (!Files.isDirectory(path)) {
+                scenarios.add(load(path));
+                continue;
+            }
+            try (Stream<Path> files = Files.list(path)) {
+                files.filter(f -> isScenarioFile(f.getFileName().toString())).sorted().forEach(f -> scenarios.add(load(f)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not list " + path, e);
+            }
+        }
+        return scenarios;
+    }
+
+    /** A bundled scenario by file name, e.g. {@code login.yaml}. */
+    public static Scenario resource(String name) {
+        try (InputStream in = ScenarioLoader.class.getResourceAsStream("/scenarios/" + name)) {
+            if (in == null) throw new IllegalArgumentException("No bundled scenario " + name);
+            return parse(new String(in.readAllBytes(), StandardCharsets.UTF_8), isYaml(name));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static List<Scenario> bundled() {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String name : BUNDLED) scenarios.add(resource(name));
+        return scenarios;
+    }
+
+    static Scenario parse(String text, boolean yaml) {
+        try {
+            return (yaml ? YAML : JSON).readValue(text, Scenario.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid scenario: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isScenarioFile(String name) {
+        return name.endsWith(".json") || isYaml(name);
+    }
+
+    private static boolean isYaml(String name) {
+        return name.endsWith(".yaml") || name.endsWith(".yml");
+    }
+
+    private ScenarioLoader() {
+    }
+}
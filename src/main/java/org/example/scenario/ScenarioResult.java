@@ -0,0 +1,18 @@
+package org.example.scenario;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one scenario run. {@code ran} lists the scenarios executed in order (prerequisite providers first),
+ * {@code skipped} the required facts that already held, {@code steps} how many steps each {@link Tier} executed.
+ */
+public record ScenarioResult(String name, boolean passed, long millis, List<String> ran, List<String> skipped,
+                             Map<Tier, Integer> steps, String error) {
+
+    @Override
+    public String toString() {
+        return name + (passed ? " PASSED" : " FAILED") + " in " + millis + " ms; ran " + ran
+                + (skipped.isEmpty() ? "" : ", skipped " + skipped) + ", steps " + steps + (error == null ? "" : " — " + error);
+    }
+}
@@ -0,0 +1,243 @@
+package org.example.scenario;
+
+import org.example.artifact.RunArtifacts;
+import org.example.driver.BrowserSessionPool;
+import org.example.driver.LiteSessionFactory;
+import org.example.driver.PooledSession;
+import org.example.inbox.InboxClient;
+import org.example.locator.LocatorRegistry;
+import org.example.schedule.ResourceScheduler;
+import org.example.sita9.Sita9Endpoints;
+import org.example.timing.StepTimer;
+import org.example.timing.TimingTrace;
+import org.example.transport.CdpPageEvents;
+import org.example.transport.PageEvents;
+import org.example.transport.Transport;
+import org.example.wait.StepLatencyModel;
+import org.example.wait.WaitEngine;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs scenarios on a fixed pool of worker threads. A scenario borrows a browser from the
+ * {@link BrowserSessionPool} when it first runs a visual step; non-visual steps run on an in-JVM driver
+ * ({@link LiteSessionFactory}). Before a scenario's steps run, every fact it {@code requires} is either confirmed
+ * by its {@link Prerequisite} (and skipped) or established by running the library scenario that {@code provides}
+ * it, in the same context. With a {@link ResourceScheduler}, borrowing a browser first waits for admission, so the
+ * number of concurrent browsers follows the host's CPU and memory rather than the worker count.
+ */
+public class ScenarioRunner implements AutoCloseable {
+    private final BrowserSessionPool pool;
+    private final Sita9Endpoints endpoints;
+    private final ExecutorService workers;
+    private final Map<String, Scenario> providers = new ConcurrentHashMap<>();
+    private final Map<String, Prerequisite> prerequisites = new ConcurrentHashMap<>();
+    private final Map<String, ExecutionPlan> plans = new ConcurrentHashMap<>();
+    private InboxClient inbox;
+    private StepLatencyModel latencyModel = StepLatencyModel.fromSystemProperties();
+    private TimingTrace timingTrace;
+    private ResourceScheduler scheduler;
+    private RunArtifacts artifacts;
+    private Supplier<WebDriver> liteFactory = LiteSessionFactory.enabled() ? LiteSessionFactory.fromSystemProperties() : null;
+
+    public ScenarioRunner(BrowserSessionPool pool, Sita9Endpoints endpoints, int workers) {
+        this.pool = pool;
+        this.endpoints = endpoints;
+        AtomicInteger n = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "scenario-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Scenarios that may be run to establish a required fact (their {@code provides}). */
+    public ScenarioRunner library(Collection<Scenario> scenarios) {
+        for (Scenario scenario : scenarios) {
+            if (scenario.provides() != null) providers.put(scenario.provides(), scenario);
+        }
+        return this;
+    }
+
+    public ScenarioRunner withPrerequisites(Map<String, Prerequisite> checks) {
+        prerequisites.putAll(checks);
+        return this;
+    }
+
+    public ScenarioRunner withInbox(InboxClient inbox) {
+        this.inbox = inbox;
+        return this;
+    }
+
+    public ScenarioRunner withLatencyModel(StepLatencyModel model) {
+        this.latencyModel = model;
+        return this;
+    }
+
+    /** Driver factory for steps marked non-visual; null runs them in Chrome too. */
+    public ScenarioRunner withLiteTier(Supplier<WebDriver> factory) {
+        this.liteFactory = factory;
+        return this;
+    }
+
+    public ScenarioRunner withTiming(TimingTrace trace) {
+        this.timingTrace = trace;
+        return this;
+    }
+
+    /** Admission control for browser sessions; null lets every worker hold one. */
+    public ScenarioRunner withScheduler(ResourceScheduler scheduler) {
+        this.scheduler = scheduler;
+        return this;
+    }
+
+    /** Run log for a {@code scenario} event per result; null logs nothing. */
+    public ScenarioRunner withArtifacts(RunArtifacts artifacts) {
+        this.artifacts = artifacts;
+        return this;
+    }
+
+    /** Compiled plan of {@code scenario}; invalid scenarios fail here, before any browser is used. */
+    public ExecutionPlan plan(Scenario scenario) {
+        return plans.computeIfAbsent(scenario.name(), k -> ExecutionPlan.compile(scenario));
+    }
+
+    /** Runs all scenarios concurrently on the worker pool; results are in input order. */
+    public List<ScenarioResult> runAll(List<Scenario> scenarios) {
+        scenarios.forEach(this::plan);
+        List<Future<ScenarioResult>> futures = new ArrayList<>();
+        for (Scenario scenario : scenarios) futures.add(workers.submit(() -> run(scenario)));
+        List<ScenarioResult> results = new ArrayList<>();
+        for (Future<ScenarioResult> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for scenarios", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Scenario worker failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /** Runs one scenario (and the prerequisites it needs) on the calling thread. */
+    public ScenarioResult run(Scenario scenario) {
+        long start = System.nanoTime();
+        List<String> ran = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        StepTimer timer = timingTrace == null ? null : timingTrace.newTimer(scenario.name());
+        ScenarioContext context = new ScenarioContext(tier -> open(tier, timer), liteFactory != null, endpoints, inbox, timer);
+        String error = null;
+        try {
+            context.set("appUrl", endpoints.appUrl());
+            context.set("email", "sita9_test" + ThreadLocalRandom.current().nextInt(100000) + "@mailinator.com");
+            execute(scenario, context, new LinkedHashSet<>(), ran, skipped);
+        } catch (RuntimeException e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        } finally {
+            if (timer != null) timingTrace.append(timer.finish(error == null));
+            context.close();
+        }
+        ScenarioResult result = new ScenarioResult(scenario.name(), error == null, (System.nanoTime() - start) / 1_000_000,
+                ran, skipped, context.steps(), error);
+        if (artifacts != null) log(result);
+        return result;
+    }
+
+    private void log(ScenarioResult result) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", result.name());
+        fields.put("passed", result.passed());
+        fields.put("millis", result.millis());
+        fields.put("ran", result.ran());
+        fields.put("skipped", result.skipped());
+        fields.put("steps", result.steps());
+        if (result.error() != null) fields.put("error", result.error());
+        artifacts.event("scenario", fields);
+    }
+
+    /** A pooled Chrome session for {@link Tier#BROWSER}, a fresh in-JVM driver for {@link Tier#LITE}. */
+    private TierSession open(Tier tier, StepTimer timer) {
+        if (tier == Tier.LITE) {
+            WebDriver lite = liteFactory.get();
+            WebDriver driver = timer == null ? lite : timer.instrument(lite);
+            LocatorRegistry locators = LocatorRegistry.fromSystemProperties(driver).declaredSelectors();
+            return new TierSession(tier, new WaitEngine(locators.driver(), latencyModel).timedBy(timer), locators, lite::quit);
+        }
+        ResourceScheduler.Permit permit = scheduler == null ? null : scheduler.acquire();
+        PooledSession session;
+        try {
+            session = pool.acquire();
+        } catch (RuntimeException e) {
+            if (permit != null) permit.close();
+            throw e;
+        }
+        try {
+            WebDriver driver = timer == null ? session.driver() : timer.instrument(session.driver());
+            LocatorRegistry locators = LocatorRegistry.fromSystemProperties(driver);
+            WaitEngine waits = new WaitEngine(locators.driver(), latencyModel).timedBy(timer);
+            PageEvents events = Transport.fromSystemProperties() != Transport.CDP ? null
+                    : CdpPageEvents.attach(locators.driver(), Duration.ofMillis(Long.getLong("transport.minGapMillis", 100))).orElse(null);
+            waits.withEvents(events);
+            return new TierSession(tier, waits, locators, () -> {
+                if (events != null) events.close();
+                pool.release(session);
+                if (permit != null) permit.close();
+            });
+        } catch (RuntimeException e) {
+            pool.release(session);
+            if (permit != null) permit.close();
+            throw e;
+        }
+    }
+
+    private void execute(Scenario scenario, ScenarioContext context, Set<String> path, List<String> ran, List<String> skipped) {
+        if (!path.add(scenario.name())) throw new IllegalStateException("Prerequisite cycle: " + path + " -> " + scenario.name());
+        ExecutionPlan plan = plan(scenario);
+        context.enter(scenario);
+        for (String fact : scenario.requires()) {
+            if (context.holds(fact)) continue;
+            Prerequisite check = prerequisites.get(fact);
+            if (check != null && check.satisfied(context)) {
+                context.establish(fact);
+                skipped.add(fact);
+                continue;
+            }
+            Scenario provider = providers.get(fact);
+            if (provider == null) throw new IllegalStateException(scenario.name() + " requires " + fact + " but no scenario provides it");
+            execute(provider, context, path, ran, skipped);
+            context.enter(scenario);
+        }
+        System.out.println("Running " + plan);
+        for (ExecutionPlan.Stage stage : plan.stages()) StepActions.run(stage, context);
+        ran.add(scenario.name());
+        if (scenario.provides() != null) {
+            context.establish(scenario.provides());
+            Prerequisite check = prerequisites.get(scenario.provides());
+            if (check != null) check.provided(context);
+        }
+        path.remove(scenario.name());
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.scenario;
+
+import org.example.session.SessionSnapshots;
+import org.example.session.SessionState;
+import org.example.session.SessionStateCache;
+import org.example.sita9.Sita9Locators;
+import org.openqa.selenium.WebElement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The SITA9 facts the bundled scenarios rely on: {@code verifiedAccount} holds when -Dsita9.email provisions one,
+ * {@code loggedIn} when a cached session snapshot restores onto the dashboard (see {@link SessionStateCache}).
+ */
+public final class Sita9Prerequisites {
+
+    /** Both facts; {@code cache} may be null, then {@code loggedIn} always runs the login scenario. */
+    public static Map<String, Prerequisite> defaults(SessionStateCache cache) {
+        Map<String, Prerequisite> prerequisites = new LinkedHashMap<>();
+        prerequisites.put("verifiedAccount", Sita9Prerequisites::provisionedAccount);
+        prerequisites.put("loggedIn", new CachedSession(cache, System.getProperty("sita9.identity", "default")));
+        return prerequisites;
+    }
+
+    private static boolean provisionedAccount(ScenarioContext context) {
+        String email = System.getProperty("sita9.email");
+        if (email == null || email.isBlank()) return false;
+        context.set("email", email);
+        context.set("password", System.getProperty("sita9.password", context.var("password")));
+        System.out.println("Using provisioned account: " + email);
+        return true;
+    }
+
+    private static final class CachedSession implements Prerequisite {
+        private final SessionStateCache cache;
+        private final String identity;
+
+        CachedSession(SessionStateCache cache, String identity) {
+            this.cache = cache;
+            this.identity = identity;
+        }
+
+        @Override
+        public boolean satisfied(ScenarioContext context) {
+            if (cache == null) return false;
+            String origin = context.endpoints().appUrl();
+            Optional<SessionState> cached = cache.load(identity, origin);
+            if (cached.isEmpty()) return false;
+            context.use(Tier.BROWSER, false);
+            SessionSnapshots.restore(context.driver(), cached.get());
+            String landing = context.waits().until("session.restore", StepActions.DEFAULT_TIMEOUT, d -> {
+                if (context.locators().findAll(Sita9Locators.LOGIN_PASSWORD).stream().anyMatch(WebElement::isDisplayed)) return "login";
+                return context.locators().anyVisible(Sita9Locators.WELCOME_PARTIAL, Sita9Locators.CREATE_FIRST_PROJECT)
+                        .apply(d) != null ? "dashboard" : null;
+            });
+            if ("login".equals(landing)) {
+                System.out.println("Cached session for " + cached.get().email() + " expired; logging in again");
+                cache.evict(identity, origin);
+                return false;
+            }
+            context.set("email", cached.get().email());
+            System.out.println("Restored cached session for " + cached.get().email());
+            return true;
+        }
+
+        @Override
+        public void provided(ScenarioContext context) {
+            if (cache == null) return;
+            // storage is only readable in the browser tier; cookies from a lite step were handed over on the way
+            context.use(Tier.BROWSER, true);
+            cache.store(SessionSnapshots.capture(context.driver(), identity, context.var("email"),
+                    context.endpoints().appUrl(), cache.clock().millis()));
+        }
+    }
+
+    private Sita9Prerequisites() {
+    }
+}
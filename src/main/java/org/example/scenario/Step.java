@@ -0,0 +1,118 @@
+package org.example.scenario;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One declared step of a {@link Scenario}. Which fields apply depends on the action:
+ * <ul>
+ *   <li>{@code navigate}: {@code url}</li>
+ *   <li>{@code fill}: {@code locator}, {@code value}</li>
+ *   <li>{@code click}: {@code locator}</li>
+ *   <li>{@code waitFor}: any of {@code locator}, {@code anyOf}, {@code urlContains}, {@code textContains}; the first
+ *       one that holds ends the wait</li>
+ *   <li>{@code extract}: {@code into}, and {@code from} = {@code inbox} (verification link for {@code ${email}}),
+ *       {@code element} ({@code locator}, optional {@code attribute}) or {@code url}; {@code pattern} narrows the value</li>
+ *   <li>{@code settle}: nothing; waits for network and DOM idle</li>
+ * </ul>
+ * Strings may reference variables as {@code ${name}}. {@code after} lists step ids this step must follow in addition
+ * to the implicit ordering of {@link ExecutionPlan}. {@code visual: false} marks a step that only loads a page,
+ * submits a form or reads text; it runs on the {@link Tier#LITE} driver. {@code http} lists the backend calls the step
+ * triggers (one object or a list of {@link HttpCall}s), used when the journey is replayed as HTTP virtual users.
+ */
+public record Step(String id, Action action, String locator, List<String> anyOf, String url, String value,
+                   String from, String attribute, String pattern, String into, String urlContains,
+                   List<String> textContains, Integer timeoutSeconds, List<String> after, Boolean visual,
+                   @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY) List<HttpCall> http) {
+    private static final Pattern VARIABLE = Pattern.compile("\\$\\{([A-Za-z0-9_.-]+)}");
+
+    public enum Action {
+        @JsonProperty("navigate") NAVIGATE,
+        @JsonProperty("fill") FILL,
+        @JsonProperty("click") CLICK,
+        @JsonProperty("waitFor") WAIT_FOR,
+        @JsonProperty("extract") EXTRACT,
+        @JsonProperty("settle") SETTLE;
+
+        /** Navigations and clicks change the page: nothing is reordered across them. */
+        public boolean changesPage() {
+            return this == NAVIGATE || this == CLICK;
+        }
+    }
+
+    public Step {
+        if (action == null) throw new IllegalArgumentException("Step " + id + " has no action");
+        anyOf = anyOf == null ? List.of() : List.copyOf(anyOf);
+        textContains = textContains == null ? List.of() : List.copyOf(textContains);
+        after = after == null ? List.of() : List.copyOf(after);
+        http = http == null ? List.of() : List.copyOf(http);
+    }
+
+    public static Step of(String id, Action action) {
+        return new Step(id, action, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    Step withId(String newId) {
+        return new Step(newId, action, locator, anyOf, url, value, from, attribute, pattern, into, urlContains,
+                textContains, timeoutSeconds, after, visual, http);
+    }
+
+    public Step withLocator(String newLocator) {
+        return new Step(id, action, newLocator, anyOf, url, value, from, attribute, pattern, into, urlContains,
+                textContains, timeoutSeconds, after, visual, http);
+    }
+
+    public Step withValue(String newValue) {
+        return new Step(id, action, locator, anyOf, url, newValue, from, attribute, pattern, into, urlContains,
+                textContains, timeoutSeconds, after, visual, http);
+    }
+
+    public Step withInto(String newInto) {
+        return new Step(id, action, locator, anyOf, url, value, from, attribute, pattern, newInto, urlContains,
+                textContains, timeoutSeconds, after, visual, http);
+    }
+
+    public Step withAfter(String... ids) {
+        return new Step(id, action, locator, anyOf, url, value, from, attribute, pattern, into, urlContains,
+                textContains, timeoutSeconds, List.of(ids), visual, http);
+    }
+
+    public Step nonVisual() {
+        return new Step(id, action, locator, anyOf, url, value, from, attribute, pattern, into, urlContains,
+                textContains, timeoutSeconds, after, false, http);
+    }
+
+    public Tier tier() {
+        return Boolean.FALSE.equals(visual) ? Tier.LITE : Tier.BROWSER;
+    }
+
+    public Duration timeout(Duration fallback) {
+        return timeoutSeconds == null ? fallback : Duration.ofSeconds(timeoutSeconds);
+    }
+
+    /** Variables this step reads through {@code ${name}} references. */
+    public Set<String> reads() {
+        Set<String> names = new LinkedHashSet<>();
+        for (String text : List.of(nullToEmpty(url), nullToEmpty(value), nullToEmpty(pattern), nullToEmpty(urlContains))) {
+            Matcher m = VARIABLE.matcher(text);
+            while (m.find()) names.add(m.group(1));
+        }
+        return names;
+    }
+
+    /** {@code ${name}} references; group 1 is the name. */
+    public static Pattern variablePattern() {
+        return VARIABLE;
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+}
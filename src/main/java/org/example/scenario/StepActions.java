@@ -0,0 +1,166 @@
+package org.example.scenario;
+
+import org.example.form.BatchResult;
+import org.example.form.FormBatch;
+import org.example.locator.Locator;
+import org.example.locator.LocatorRegistry;
+import org.example.sita9.Sita9Endpoints;
+import org.example.wait.WaitEngine;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** Executes compiled stages with the same wait/locator machinery the TestNG journeys use. */
+final class StepActions {
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(25);
+
+    /**
+     * Runs a stage; in fast mode (-Dform.mode=fast) two or more browser-tier fills go to the page as one
+     * {@link FormBatch}.
+     */
+    static void run(ExecutionPlan.Stage stage, ScenarioContext context) {
+        List<Step> fills = stage.fills();
+        boolean batch = fills.size() > 1 && FormBatch.fastModeRequested()
+                && fills.stream().allMatch(f -> f.tier() == Tier.BROWSER);
+        for (Step step : stage.steps()) {
+            if (batch && step.action() == Step.Action.FILL) continue;
+            run(step, context);
+        }
+        if (batch) fillBatch(fills, context);
+    }
+
+    static void run(Step step, ScenarioContext context) {
+        context.use(step.tier(), step.action() != Step.Action.NAVIGATE);
+        WaitEngine waits = context.waits();
+        LocatorRegistry locators = context.locators();
+        String key = context.scenario().name() + "." + step.id();
+        Integer scenarioTimeout = context.scenario().timeoutSeconds();
+        Duration timeout = step.timeout(scenarioTimeout == null ? DEFAULT_TIMEOUT : Duration.ofSeconds(scenarioTimeout));
+        switch (step.action()) {
+            case NAVIGATE:
+                context.driver().get(context.resolve(required(step, step.url(), "url")));
+                break;
+            case FILL:
+                WebElement field = waits.until(key, timeout, locators.visible(locator(step, context)));
+                field.clear();
+                field.sendKeys(context.resolve(step.value() == null ? "" : step.value()));
+                break;
+            case CLICK:
+                waits.until(key, timeout, locators.clickable(locator(step, context))).click();
+                break;
+            case WAIT_FOR:
+                waits.until(key, timeout, waitCondition(step, context));
+                break;
+            case EXTRACT:
+                context.set(required(step, step.into(), "into"), extract(step, context, key, timeout));
+                break;
+            case SETTLE:
+                // the lite driver returns from get() and click() with the page loaded; there is nothing to settle
+                if (context.tier() == Tier.BROWSER) waits.settle(key, timeout);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported action " + step.action());
+        }
+        context.stepRan();
+        context.lap(step.id());
+    }
+
+    private static void fillBatch(List<Step> fills, ScenarioContext context) {
+        context.use(Tier.BROWSER, true);
+        FormBatch batch = new FormBatch();
+        for (Step fill : fills) batch.fill(locator(fill, context), context.resolve(fill.value() == null ? "" : fill.value()));
+        BatchResult result = batch.run(context.driver(), DEFAULT_TIMEOUT);
+        // the script changed the page without the registry seeing it
+        context.locators().invalidate();
+        result.firstFailure().ifPresent(f -> {
+            throw new IllegalStateException("Batch of " + fills.size() + " fills failed at " + f + "; results: " + result);
+        });
+        fills.forEach(f -> context.stepRan());
+        context.lap(fills.get(fills.size() - 1).id());
+    }
+
+    /** Holds as soon as any of the step's criteria does. */
+    private static ExpectedCondition<Object> waitCondition(Step step, ScenarioContext context) {
+        List<Locator> elements = new ArrayList<>();
+        if (step.locator() != null) elements.add(context.locator(step.locator()));
+        for (String name : step.anyOf()) elements.add(context.locator(name));
+        String urlContains = context.resolve(step.urlContains());
+        if (elements.isEmpty() && urlContains == null && step.textContains().isEmpty()) {
+            throw new IllegalArgumentException("waitFor step " + step.id() + " has nothing to wait for");
+        }
+        ExpectedCondition<WebElement> anyVisible = elements.isEmpty() ? null
+                : context.locators().anyVisible(elements.toArray(new Locator[0]));
+        return d -> {
+            if (urlContains != null && d.getCurrentUrl().contains(urlContains)) return true;
+            if (!step.textContains().isEmpty()) {
+                String body = d.findElement(By.tagName("body")).getText();
+                for (String text : step.textContains()) {
+                    if (body.contains(text)) return true;
+                }
+            }
+            return anyVisible == null ? null : anyVisible.apply(d);
+        };
+    }
+
+    private static String extract(Step step, ScenarioContext context, String key, Duration timeout) {
+        String from = step.from() != null ? step.from() : step.locator() != null ? "element" : "url";
+        Pattern pattern = step.pattern() == null ? null : Pattern.compile(context.resolve(step.pattern()));
+        switch (from) {
+            case "inbox":
+                return fromInbox(step, context, pattern, timeout);
+            case "element":
+                Locator locator = locator(step, context);
+                return context.waits().until(key, timeout, d -> {
+                    WebElement element = context.locators().visible(locator).apply(d);
+                    if (element == null) return null;
+                    return match(step.attribute() == null ? element.getText() : element.getAttribute(step.attribute()), pattern);
+                });
+            case "url":
+                return context.waits().until(key, timeout, d -> match(d.getCurrentUrl(), pattern));
+            default:
+                throw new IllegalArgumentException("extract step " + step.id() + ": unknown source " + from);
+        }
+    }
+
+    /** Verification link mailed to {@code ${email}}; needs the push-based inbox (SMTP sink). */
+    private static String fromInbox(Step step, ScenarioContext context, Pattern pattern, Duration timeout) {
+        if (context.inbox() == null) {
+            throw new IllegalStateException("extract step " + step.id() + " reads the inbox, which needs -Dsita9.inbox=smtp");
+        }
+        String recipient = context.resolve("${email}");
+        try {
+            return context.inbox().awaitLink(recipient, Sita9Endpoints.VERIFICATION_SENDER,
+                    pattern != null ? pattern : context.endpoints().verifyEmailLink(), timeout).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for mail to " + recipient, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("No mail with a matching link for " + recipient + " within " + timeout, e);
+        }
+    }
+
+    private static String match(String text, Pattern pattern) {
+        if (text == null || pattern == null) return text == null || text.isEmpty() ? null : text;
+        Matcher m = pattern.matcher(text);
+        return m.find() ? m.group() : null;
+    }
+
+    private static Locator locator(Step step, ScenarioContext context) {
+        return context.locator(required(step, step.locator(), "locator"));
+    }
+
+    private static String required(Step step, String value, String field) {
+        if (value == null) throw new IllegalArgumentException(step.action() + " step " + step.id() + " needs " + field);
+        return value;
+    }
+
+    private StepActions() {
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.scenario;
+
+/** Where a step runs: a pooled Chrome session, or the in-JVM HTTP + DOM driver for non-visual steps. */
+public enum Tier {
+    BROWSER,
+    LITE
+}
@@ -0,0 +1,28 @@
+package org.example.scenario;
+
+import org.example.locator.LocatorRegistry;
+import org.example.wait.WaitEngine;
+import org.openqa.selenium.WebDriver;
+
+/** The driver of one {@link Tier} in a run, with its wait engine and locator registry, and how to give it back. */
+final class TierSession {
+    final Tier tier;
+    final WaitEngine waits;
+    final LocatorRegistry locators;
+    private final Runnable release;
+
+    TierSession(Tier tier, WaitEngine waits, LocatorRegistry locators, Runnable release) {
+        this.tier = tier;
+        this.waits = waits;
+        this.locators = locators;
+        this.release = release;
+    }
+
+    WebDriver driver() {
+        return waits.driver();
+    }
+
+    void release() {
+        release.run();
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.schedule;
+
+import java.lang.management.ManagementFactory;
+
+/** Source of {@link HostSample}s for the {@link ResourceScheduler}. */
+public interface HostProbe {
+
+    HostSample sample();
+
+    /** {@link ProcHostProbe} on Linux; elsewhere load average and free memory from the JVM, without browser RSS. */
+    static HostProbe system() {
+        if (ProcHostProbe.available()) return new ProcHostProbe();
+        return () -> {
+            com.sun.management.OperatingSystemMXBean os =
+                    (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+            double load = os.getCpuLoad();
+            if (load < 0) load = Math.max(0, os.getSystemLoadAverage()) / os.getAvailableProcessors();
+            return new HostSample(Math.min(1.0, load), -1, 0, os.getFreeMemorySize(), os.getTotalMemorySize());
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.schedule;
+
+/**
+ * One reading of the host: CPU busy fraction (0–1, all cores), resident memory of the browser processes, the number
+ * of browsers they make up (one per process tree, helpers included), available and total memory.
+ * {@code browserRssBytes} is -1 when the platform does not expose it.
+ */
+public record HostSample(double cpu, long browserRssBytes, int browserProcesses, long availableBytes, long totalBytes) {
+
+    @Override
+    public String toString() {
+        return String.format("cpu=%.0f%% browsers=%d rss=%dMB available=%dMB/%dMB", cpu * 100, browserProcesses,
+                browserRssBytes < 0 ? -1 : browserRssBytes >> 20, availableBytes >> 20, totalBytes >> 20);
+    }
+}
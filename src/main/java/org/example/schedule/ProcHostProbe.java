@@ -0,0 +1,117 @@
+package org.example.schedule;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the host from procfs: CPU busy time between two samples from {@code /proc/stat}, {@code MemAvailable} and
+ * {@code MemTotal} from {@code /proc/meminfo}, and {@code VmRSS} of every process whose name starts with one of the
+ * browser names (Chrome, its helpers and chromedriver by default) from {@code /proc/<pid>/status}. All browsers on
+ * the host count, not only this JVM's: on a shared agent they compete for the same memory. A browser is one process
+ * tree: a matching process whose parent does not match starts one, its renderers, GPU and utility helpers belong to
+ * it.
+ */
+public class ProcHostProbe implements HostProbe {
+    static final List<String> BROWSER_NAMES = List.of("chrome", "chromium", "headless_shell");
+
+    private final Path proc;
+    private final List<String> browserNames;
+    private long lastBusy = -1;
+    private long lastTotal = -1;
+
+    public ProcHostProbe() {
+        this(Path.of("/proc"), BROWSER_NAMES);
+    }
+
+    ProcHostProbe(Path proc, List<String> browserNames) {
+        this.proc = proc;
+        this.browserNames = browserNames;
+    }
+
+    public static boolean available() {
+        return Files.isReadable(Path.of("/proc/stat")) && Files.isReadable(Path.of("/proc/meminfo"));
+    }
+
+    @Override
+    public synchronized HostSample sample() {
+        try {
+            long[] cpu = cpuTimes(Files.readAllLines(proc.resolve("stat")).get(0));
+            double busy;
+            if (lastTotal < 0 || cpu[1] <= lastTotal) {
+                // first sample: no interval yet, use the 1-minute load average per core
+                String[] load = Files.readString(proc.resolve("loadavg")).trim().split("\\s+");
+                busy = Double.parseDouble(load[0]) / Runtime.getRuntime().availableProcessors();
+            } else {
+                busy = (double) (cpu[0] - lastBusy) / (cpu[1] - lastTotal);
+            }
+            lastBusy = cpu[0];
+            lastTotal = cpu[1];
+            List<String> meminfo = Files.readAllLines(proc.resolve("meminfo"));
+            long[] rss = browserRss();
+            return new HostSample(Math.min(1.0, Math.max(0.0, busy)), rss[0], (int) rss[1],
+                    kiloBytes(meminfo, "MemAvailable:"), kiloBytes(meminfo, "MemTotal:"));
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Could not read " + proc + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Busy and total jiffies from the aggregate {@code cpu} line; idle and iowait count as not busy. */
+    static long[] cpuTimes(String statLine) {
+        String[] fields = statLine.trim().split("\\s+");
+        long total = 0;
+        for (int i = 1; i < fields.length; i++) total += Long.parseLong(fields[i]);
+        long idle = Long.parseLong(fields[4]) + (fields.length > 5 ? Long.parseLong(fields[5]) : 0);
+        return new long[]{total - idle, total};
+    }
+
+    /** Value of a {@code Key: N kB} line in bytes, 0 when missing. */
+    static long kiloBytes(List<String> lines, String key) {
+        for (String line : lines) {
+            if (line.startsWith(key)) return Long.parseLong(line.substring(key.length()).trim().split("\\s+")[0]) * 1024;
+        }
+        return 0;
+    }
+
+    /**
+     * Summed VmRSS in bytes and the number of browser process trees; processes that exit meanwhile are skipped.
+     * Crashpad handlers detach from the browser that started them, so they never start a tree of their own.
+     */
+    private long[] browserRss() throws IOException {
+        long bytes = 0;
+        Map<String, String> parents = new HashMap<>();
+        try (DirectoryStream<Path> pids = Files.newDirectoryStream(proc, p -> p.getFileName().toString().chars().allMatch(Character::isDigit))) {
+            for (Path pid : pids) {
+                List<String> status;
+                try {
+                    status = Files.readAllLines(pid.resolve("status"));
+                } catch (IOException e) {
+                    continue;
+                }
+                if (status.isEmpty() || !isBrowser(status.get(0))) continue;
+                bytes += kiloBytes(status, "VmRSS:");
+                if (!status.get(0).contains("crashpad")) parents.put(pid.getFileName().toString(), field(status, "PPid:"));
+            }
+        }
+        long trees = parents.entrySet().stream().filter(e -> !parents.containsKey(e.getValue())).count();
+        return new long[]{bytes, trees};
+    }
+
+    /** Trimmed value of a {@code Key: value} line, "" when missing. */
+    private static String field(List<String> lines, String key) {
+        for (String line : lines) {
+            if (line.startsWith(key)) return line.substring(key.length()).trim();
+        }
+        return "";
+    }
+
+    private boolean isBrowser(String nameLine) {
+        if (!nameLine.startsWith("Name:")) return false;
+        String name = nameLine.substring(5).trim();
+        return browserNames.stream().anyMatch(name::startsWith);
+    }
+}
@@ -0,0 +1,267 @@
+package org.example.schedule;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits browser-driven executions only while the host has room for another browser, instead of running a fixed
+ * number of them.
+ *
+ * <p>Callers take a {@link Permit} before they borrow a browser and close it when they give the browser back.
+ * Waiters are admitted strictly in arrival order. The head of the queue is admitted when fewer than
+ * {@code minConcurrent} permits are out, or when CPU is below {@code cpuLimit} and available memory minus the
+ * expected size of one more browser (measured RSS per browser on the host, {@code browserBytes} before there is a
+ * measurement) stays above {@code reserveBytes}. After an admission the next one waits {@code rampGap}, so the new
+ * browser shows up in the readings before they are trusted again. The host is re-read every {@code interval} and on
+ * every release; concurrency therefore rises until CPU or memory runs out and stays there.
+ */
+public class ResourceScheduler implements AutoCloseable {
+
+    /** Admission thresholds; {@code reserveBytes} below zero means 10% of total memory. */
+    public record Limits(int minConcurrent, int maxConcurrent, double cpuLimit, long reserveBytes, long browserBytes,
+                         Duration rampGap) {
+
+        public Limits {
+            if (minConcurrent < 1) throw new IllegalArgumentException("minConcurrent must be at least 1, got " + minConcurrent);
+            if (maxConcurrent < minConcurrent) {
+                throw new IllegalArgumentException("maxConcurrent " + maxConcurrent + " is below minConcurrent " + minConcurrent);
+            }
+        }
+
+        /**
+         * -Dscheduler.min (default 1), -Dscheduler.max (default unbounded), -Dscheduler.cpuLimit (default 0.85),
+         * -Dscheduler.reserveMb (default 10% of memory), -Dscheduler.browserMb (default 400), -Dscheduler.rampMillis
+         * (default 2000).
+         */
+        public static Limits fromSystemProperties() {
+            long reserveMb = Long.getLong("scheduler.reserveMb", -1);
+            return new Limits(Integer.getInteger("scheduler.min", 1), Integer.getInteger("scheduler.max", Integer.MAX_VALUE),
+                    Double.parseDouble(System.getProperty("scheduler.cpuLimit", "0.85")),
+                    reserveMb < 0 ? -1 : reserveMb << 20, Long.getLong("scheduler.browserMb", 400) << 20,
+                    Duration.ofMillis(Long.getLong("scheduler.rampMillis", 2000)));
+        }
+    }
+
+    private final HostProbe probe;
+    private final Limits limits;
+    private final Duration interval;
+    private final Path metricsFile;
+    private final ScheduledExecutorService ticker;
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private boolean closed;
+
+    private int running;
+    private int maxRunning;
+    private long admitted;
+    private long queueWaitTotalNanos;
+    private long queueWaitMaxNanos;
+    private long lastAdmitNanos;
+    private String blockedBy;
+    private HostSample sample;
+    private long sampledNanos;
+
+    /** {@code metricsFile} (may be null) is rewritten with {@link SchedulerStats#toPrometheus()} every interval. */
+    public ResourceScheduler(HostProbe probe, Limits limits, Duration interval, Path metricsFile) {
+        this.probe = probe;
+        this.limits = limits;
+        this.interval = interval;
+        this.metricsFile = metricsFile;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "resource-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Host readings from {@link HostProbe#system()}, {@link Limits#fromSystemProperties()}, -Dscheduler.intervalMillis
+     * (default 500) and -Dscheduler.metrics (default target/surefire-reports/scheduler.prom; "none" to skip).
+     */
+    public static ResourceScheduler fromSystemProperties() {
+        String metrics = System.getProperty("scheduler.metrics", "target/surefire-reports/scheduler.prom");
+        return new ResourceScheduler(HostProbe.system(), Limits.fromSystemProperties(),
+                Duration.ofMillis(Long.getLong("scheduler.intervalMillis", 500)),
+                "none".equalsIgnoreCase(metrics) ? null : Paths.get(metrics));
+    }
+
+    /** Disabled with -Dscheduler=false: executions are then bounded by worker threads only. */
+    public static boolean enabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("scheduler"));
+    }
+
+    /** Blocks until admitted; the permit must be closed when the browser is given back. */
+    public Permit acquire() {
+        Waiter me = new Waiter(System.nanoTime());
+        synchronized (this) {
+            if (closed) throw new IllegalStateException("Resource scheduler is closed");
+            queue.addLast(me);
+            pump();
+            try {
+                while (!me.admitted) {
+                    if (closed) throw new IllegalStateException("Resource scheduler closed while waiting for admission");
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                queue.remove(me);
+                if (me.admitted) {
+                    running--;
+                    pump();
+                }
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for admission", e);
+            }
+        }
+        return new Permit();
+    }
+
+    /**
+     * Whether a browser that no execution holds yet, e.g. a pool pre-launch, may start now: only while nobody is
+     * queued, the ramp gap has passed and CPU and memory have room for it whatever the concurrency limits say.
+     * Does not block; an admitted launch restarts the ramp gap.
+     */
+    public synchronized boolean admitsLaunch() {
+        if (closed || !queue.isEmpty()) return false;
+        if (System.nanoTime() - lastAdmitNanos < limits.rampGap().toNanos()) return false;
+        if (hostShort() != null) return false;
+        lastAdmitNanos = System.nanoTime();
+        return true;
+    }
+
+    public synchronized SchedulerStats stats() {
+        return new SchedulerStats(running, queue.size(), maxRunning, admitted, queueWaitTotalNanos, queueWaitMaxNanos,
+                queue.isEmpty() ? null : blockedBy, sample);
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        exportMetrics();
+    }
+
+    private synchronized void release() {
+        running--;
+        // a browser just went away: read the host again rather than wait for the next tick
+        sampledNanos = 0;
+        pump();
+    }
+
+    private void tick() {
+        synchronized (this) {
+            pump();
+        }
+        exportMetrics();
+    }
+
+    /** Admits queued waiters from the head while the host has headroom. Caller holds the lock. */
+    private void pump() {
+        while (!queue.isEmpty() && !closed) {
+            String reason = heldBackBy();
+            if (reason != null) {
+                if (!reason.equals(blockedBy)) {
+                    System.out.println("Scheduler holding " + queue.size() + " execution(s) back (" + reason + "): " + stats());
+                }
+                blockedBy = reason;
+                return;
+            }
+            Waiter next = queue.pollFirst();
+            long now = System.nanoTime();
+            next.admitted = true;
+            running++;
+            maxRunning = Math.max(maxRunning, running);
+            admitted++;
+            queueWaitTotalNanos += now - next.enqueuedNanos;
+            queueWaitMaxNanos = Math.max(queueWaitMaxNanos, now - next.enqueuedNanos);
+            lastAdmitNanos = now;
+            blockedBy = null;
+            notifyAll();
+        }
+    }
+
+    /** Null when one more execution may start, otherwise what is short. */
+    private String heldBackBy() {
+        if (running >= limits.maxConcurrent()) return "max " + limits.maxConcurrent();
+        if (running < limits.minConcurrent()) return null;
+        if (System.nanoTime() - lastAdmitNanos < limits.rampGap().toNanos()) return "ramp";
+        return hostShort();
+    }
+
+    /** Null when CPU and memory have room for one more browser (or cannot be read), otherwise which one is short. */
+    private String hostShort() {
+        HostSample host = sample();
+        if (host == null) return null;
+        if (host.cpu() > limits.cpuLimit()) return "cpu";
+        // all browsers on the host, idle pooled ones and other runs' included, so divide by them, not by our permits
+        long perBrowser = host.browserRssBytes() > 0 && host.browserProcesses() > 0
+                ? host.browserRssBytes() / host.browserProcesses() : limits.browserBytes();
+        long reserve = limits.reserveBytes() >= 0 ? limits.reserveBytes() : host.totalBytes() / 10;
+        if (host.availableBytes() - perBrowser < reserve) return "memory";
+        return null;
+    }
+
+    /** Cached for one interval; null (admit on concurrency limits alone) when the host cannot be read. */
+    private HostSample sample() {
+        long now = System.nanoTime();
+        if (sample == null || sampledNanos == 0 || now - sampledNanos >= interval.toNanos()) {
+            try {
+                sample = probe.sample();
+            } catch (RuntimeException e) {
+                System.err.println("Scheduler could not read host load: " + e.getMessage());
+                sample = null;
+            }
+            sampledNanos = now;
+        }
+        return sample;
+    }
+
+    private void exportMetrics() {
+        if (metricsFile == null) return;
+        try {
+            Path parent = metricsFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = parent.resolve(metricsFile.getFileName() + ".tmp");
+            Files.writeString(tmp, stats().toPrometheus(), StandardCharsets.UTF_8);
+            // collectors must never see a half-written file
+            Files.move(tmp, metricsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write scheduler metrics to " + metricsFile + ": " + e.getMessage());
+        }
+    }
+
+    private static final class Waiter {
+        final long enqueuedNanos;
+        boolean admitted;
+
+        Waiter(long enqueuedNanos) {
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    /** Admission to run one browser; closing it more than once has no effect. */
+    public final class Permit implements AutoCloseable {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) release();
+        }
+    }
+}
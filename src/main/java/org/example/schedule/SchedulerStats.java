@@ -0,0 +1,97 @@
+package org.example.schedule;
+
+/** Snapshot of {@link ResourceScheduler} state, printable and exportable in Prometheus text format. */
+public class SchedulerStats {
+    private final int running;
+    private final int queued;
+    private final int maxRunning;
+    private final long admitted;
+    private final long queueWaitTotalNanos;
+    private final long queueWaitMaxNanos;
+    private final String blockedBy;
+    private final HostSample host;
+
+    SchedulerStats(int running, int queued, int maxRunning, long admitted, long queueWaitTotalNanos,
+                   long queueWaitMaxNanos, String blockedBy, HostSample host) {
+        this.running = running;
+        this.queued = queued;
+        this.maxRunning = maxRunning;
+        this.admitted = admitted;
+        this.queueWaitTotalNanos = queueWaitTotalNanos;
+        this.queueWaitMaxNanos = queueWaitMaxNanos;
+        this.blockedBy = blockedBy;
+        this.host = host;
+    }
+
+    /** Executions holding a permit now. */
+    public int running() {
+        return running;
+    }
+
+    /** Executions waiting for admission. */
+    public int queued() {
+        return queued;
+    }
+
+    /** Highest concurrency reached so far: where throughput levelled off on this host. */
+    public int maxRunning() {
+        return maxRunning;
+    }
+
+    public long admitted() {
+        return admitted;
+    }
+
+    public double meanQueueWaitMillis() {
+        return admitted == 0 ? 0 : queueWaitTotalNanos / 1_000_000.0 / admitted;
+    }
+
+    public double maxQueueWaitMillis() {
+        return queueWaitMaxNanos / 1_000_000.0;
+    }
+
+    /** Why the head of the queue was last held back (e.g. {@code cpu}, {@code memory}); null when nothing waits. */
+    public String blockedBy() {
+        return blockedBy;
+    }
+
+    /** Last host reading, or null before the first one. */
+    public HostSample host() {
+        return host;
+    }
+
+    /** Gauges and counters in the Prometheus text exposition format (e.g. for a node_exporter textfile collector). */
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        metric(out, "sita9_scheduler_running", "gauge", "Scenario executions holding a browser permit", running);
+        metric(out, "sita9_scheduler_queued", "gauge", "Scenario executions waiting for admission", queued);
+        metric(out, "sita9_scheduler_running_max", "gauge", "Highest concurrency reached", maxRunning);
+        metric(out, "sita9_scheduler_admitted_total", "counter", "Executions admitted", admitted);
+        metric(out, "sita9_scheduler_queue_wait_seconds_total", "counter", "Time spent queued", queueWaitTotalNanos / 1e9);
+        if (host != null) {
+            metric(out, "sita9_host_cpu_busy_ratio", "gauge", "Host CPU busy fraction", host.cpu());
+            metric(out, "sita9_host_memory_available_bytes", "gauge", "MemAvailable", host.availableBytes());
+            if (host.browserRssBytes() >= 0) {
+                metric(out, "sita9_browser_rss_bytes", "gauge", "Resident memory of browser processes", host.browserRssBytes());
+                metric(out, "sita9_browser_processes", "gauge", "Browsers (process trees) on the host", host.browserProcesses());
+            }
+        }
+        return out.toString();
+    }
+
+    private static void metric(StringBuilder out, String name, String type, String help, double value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append(name).append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) out.append((long) value);
+        else out.append(value);
+        out.append('\n');
+    }
+
+    @Override
+    public String toString() {
+        return String.format("running=%d queued=%d maxRunning=%d admitted=%d queueWait avg=%.0fms max=%.0fms%s%s",
+                running, queued, maxRunning, admitted, meanQueueWaitMillis(), maxQueueWaitMillis(),
+                blockedBy == null ? "" : " blockedBy=" + blockedBy, host == null ? "" : " [" + host + "]");
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.session;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Captures authenticated state from a browser and injects it into another one. */
+public final class SessionSnapshots {
+    private static final String READ_STORAGE =
+            "var s = window[arguments[0]], o = {};" +
+            "for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); }" +
+            "return o;";
+    private static final String WRITE_STORAGE =
+            "var s = window[arguments[0]], o = arguments[1];" +
+            "for (var k in o) { if (Object.prototype.hasOwnProperty.call(o, k)) s.setItem(k, o[k]); }";
+
+    private SessionSnapshots() {
+    }
+
+    /** Snapshot of the current page's cookies and storage; the driver must be on {@code origin}. */
+    public static SessionState capture(WebDriver driver, String identity, String email, String origin, long nowMillis) {
+        List<SessionState.StoredCookie> cookies = new ArrayList<>();
+        for (Cookie c : driver.manage().getCookies()) {
+            cookies.add(new SessionState.StoredCookie(c.getName(), c.getValue(), c.getDomain(), c.getPath(),
+                    c.getExpiry() == null ? null : c.getExpiry().getTime(), c.isSecure(), c.isHttpOnly(), c.getSameSite()));
+        }
+        return new SessionState(identity, email, origin, cookies,
+                readStorage(driver, "localStorage"), readStorage(driver, "sessionStorage"), nowMillis);
+    }
+
+    /** Opens the origin, injects cookies and storage, then reloads the origin so the app starts signed in. */
+    public static void restore(WebDriver driver, SessionState state) {
+        driver.get(state.origin());
+        String host = URI.create(state.origin()).getHost();
+        for (SessionState.StoredCookie c : state.cookies()) {
+            Cookie.Builder builder = new Cookie.Builder(c.name(), c.value())
+                    .path(c.path() == null ? "/" : c.path())
+                    .isSecure(c.secure())
+                    .isHttpOnly(c.httpOnly());
+            if (c.domain() != null && !c.domain().equals(host)) builder.domain(c.domain());
+            if (c.expiryMillis() != null) builder.expiresOn(new Date(c.expiryMillis()));
+            if (c.sameSite() != null) builder.sameSite(c.sameSite());
+            driver.manage().addCookie(builder.build());
+        }
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        js.executeScript(WRITE_STORAGE, "localStorage", state.localStorage());
+        js.executeScript(WRITE_STORAGE, "sessionStorage", state.sessionStorage());
+        driver.get(state.origin());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> readStorage(WebDriver driver, String area) {
+        Object raw = ((JavascriptExecutor) driver).executeScript(READ_STORAGE, area);
+        Map<String, String> entries = new LinkedHashMap<>();
+        if (raw instanceof Map) {
+            ((Map<String, Object>) raw).forEach((k, v) -> entries.put(k, v == null ? null : v.toString()));
+        }
+        return entries;
+    }
+}
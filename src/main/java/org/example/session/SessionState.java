@@ -0,0 +1,29 @@
+package org.example.session;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticated browser state for one test identity: cookies plus local/session storage of the app origin.
+ *
+ * @param identity          logical cache key, e.g. "default" or a journey name
+ * @param email             account the state belongs to, used to log in again when the session expired
+ * @param origin            app URL the state was captured on
+ * @param cookies           cookies visible on the origin
+ * @param localStorage      window.localStorage entries
+ * @param sessionStorage    window.sessionStorage entries
+ * @param capturedAtMillis  capture time, for TTL eviction
+ */
+public record SessionState(String identity,
+                           String email,
+                           String origin,
+                           List<StoredCookie> cookies,
+                           Map<String, String> localStorage,
+                           Map<String, String> sessionStorage,
+                           long capturedAtMillis) {
+
+    /** Serializable form of a Selenium cookie; {@code expiryMillis} is null for session cookies. */
+    public record StoredCookie(String name, String value, String domain, String path, Long expiryMillis,
+                               boolean secure, boolean httpOnly, String sameSite) {
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk cache of {@link SessionState} snapshots shared by parallel workers and forks.
+ *
+ * <p>One gzipped JSON file per (identity, origin). Writes go to a temp file and are moved into place atomically,
+ * so a reader in another worker sees either the old or the new snapshot. Entries older than the TTL are evicted on read.
+ */
+public class SessionStateCache {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Path dir;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public SessionStateCache(Path dir, Duration ttl, Clock clock) {
+        this.dir = dir;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /** Cache under -Dsession.cache.dir (default target/session-cache) with -Dsession.cache.ttlMinutes (default 30). */
+    public static SessionStateCache fromSystemProperties() {
+        return new SessionStateCache(Paths.get(System.getProperty("session.cache.dir", "target/session-cache")),
+                Duration.ofMinutes(Long.getLong("session.cache.ttlMinutes", 30)), Clock.systemUTC());
+    }
+
+    /** False with -Dsession.cache=false. */
+    public static boolean enabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("session.cache", "true"));
+    }
+
+    public Optional<SessionState> load(String identity, String origin) {
+        Path file = fileFor(identity, origin);
+        if (!Files.exists(file)) return Optional.empty();
+        SessionState state;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            state = JSON.readValue(in, SessionState.class);
+        } catch (IOException e) {
+            System.err.println("Discarding unreadable session snapshot " + file + ": " + e.getMessage());
+            evict(identity, origin);
+            return Optional.empty();
+        }
+        if (isExpired(state)) {
+            evict(identity, origin);
+            return Optional.empty();
+        }
+        return Optional.of(state);
+    }
+
+    public void store(SessionState state) {
+        Path file = fileFor(state.identity(), state.origin());
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                JSON.writeValue(out, state);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not store session snapshot for " + state.identity() + ": " + e.getMessage());
+        }
+    }
+
+    public void evict(String identity, String origin) {
+        try {
+            Files.deleteIfExists(fileFor(identity, origin));
+        } catch (IOException e) {
+            System.err.println("Could not evict session snapshot for " + identity + ": " + e.getMessage());
+        }
+    }
+
+    public boolean isExpired(SessionState state) {
+        return clock.millis() - state.capturedAtMillis() > ttl.toMillis();
+    }
+
+    public Clock clock() {
+        return clock;
+    }
+
+    Path fileFor(String identity, String origin) {
+        String safeIdentity = identity.replaceAll("[^A-Za-z0-9._-]", "_");
+        return dir.resolve(safeIdentity + "-" + shortHash(origin) + ".json.gz");
+    }
+
+    private static String shortHash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.shard;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.timing.StepRecord;
+import org.example.timing.TimingReport;
+import org.example.timing.TimingTrace;
+import org.example.wait.StepLatencyModel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Typical duration of each journey, which {@link ShardPlan} balances the shards by: the median, over recorded runs,
+ * of the journey's summed step wall times. Kept between runs in {@code shard-durations.json} (updated by
+ * {@link ShardMerge}); rebuilt from the timing traces when that file does not exist.
+ */
+public final class ShardHistory {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /** -Dshard.history (default shard-durations.json in the working directory). */
+    public static Path defaultFile() {
+        return Paths.get(System.getProperty("shard.history", "shard-durations.json"));
+    }
+
+    /** The history file if there is one, otherwise the traces in the timing directory; empty without either. */
+    public static Map<String, Long> fromSystemProperties() {
+        Path file = defaultFile();
+        return Files.exists(file) ? load(file) : fromTraces(List.of(TimingTrace.defaultDir()));
+    }
+
+    /** Journey name to milliseconds; empty if {@code file} does not exist. */
+    public static Map<String, Long> load(Path file) {
+        if (!Files.exists(file)) return Map.of();
+        try {
+            return JSON.readValue(file.toFile(), new TypeReference<TreeMap<String, Long>>() { });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable shard history " + file, e);
+        }
+    }
+
+    /** Median journey duration per journey over every {@code trace-*.csv} below {@code dirs}. */
+    public static Map<String, Long> fromTraces(List<Path> dirs) {
+        // one journey run = its steps recorded by one worker in one run
+        Map<String, Long> runs = new LinkedHashMap<>();
+        Map<String, String> journeyOf = new LinkedHashMap<>();
+        for (StepRecord r : TimingReport.readTraces(dirs)) {
+            String run = r.runId() + "|" + r.worker() + "|" + r.journey();
+            runs.merge(run, r.wallMillis(), Long::sum);
+            journeyOf.put(run, r.journey());
+        }
+        Map<String, List<Long>> byJourney = new TreeMap<>();
+        runs.forEach((run, millis) -> byJourney.computeIfAbsent(journeyOf.get(run), j -> new ArrayList<>()).add(millis));
+        Map<String, Long> durations = new TreeMap<>();
+        byJourney.forEach((journey, millis) -> durations.put(journey, StepLatencyModel.percentile(millis, 50)));
+        return durations;
+    }
+
+    /** Writes {@code durations} sorted by journey, so the file diffs cleanly between runs. */
+    public static void save(Map<String, Long> durations, Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            JSON.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), new TreeMap<>(durations));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write shard history " + file, e);
+        }
+    }
+
+    private ShardHistory() {
+    }
+}
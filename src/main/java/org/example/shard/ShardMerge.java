@@ -0,0 +1,218 @@
+package org.example.shard;
+
+import org.example.timing.TimingReport;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Merges the reports of N shard runs into one: the surefire {@code TEST-*.xml} files (a test class split over
+ * several shards becomes one suite again, with its counts and time summed), the step timing traces with their
+ * report, and the journey durations the next sharded run balances by ({@link ShardHistory#defaultFile()}).
+ *
+ * <pre>java -cp ... org.example.shard.ShardMerge &lt;out-dir&gt; &lt;shard-reports-dir&gt;...</pre>
+ *
+ * Each shard directory is one shard's surefire reports directory; its traces are found anywhere below it. Exits
+ * with 1 when a test failed or errored, or when a shard left no report: a shard that crashed must not pass as a
+ * smaller suite.
+ */
+public final class ShardMerge {
+    private static final String[] COUNTS = {"tests", "failures", "errors", "skipped"};
+
+    /** Totals of one shard's reports; {@code seconds} sums its suites, which run one after another. */
+    public record ShardSummary(Path dir, int suites, int tests, int failures, int errors, int skipped, double seconds) {
+    }
+
+    public record Result(List<ShardSummary> shards, int tests, int failures, int errors, int skipped) {
+        public boolean passed() {
+            return failures == 0 && errors == 0 && shards.stream().allMatch(s -> s.suites() > 0);
+        }
+
+        /** The slowest shard: the wall time of the sharded run. */
+        public double seconds() {
+            return shards.stream().mapToDouble(ShardSummary::seconds).max().orElse(0);
+        }
+
+        public String toText() {
+            StringBuilder out = new StringBuilder(String.format("%-5s %-40s %6s %6s %6s %6s %6s %9s%n",
+                    "shard", "reports", "suites", "tests", "fail", "error", "skip", "seconds"));
+            for (int i = 0; i < shards.size(); i++) {
+                ShardSummary s = shards.get(i);
+                out.append(String.format(Locale.ROOT, "%-5d %-40s %6d %6d %6d %6d %6d %9.1f%s%n", i + 1, s.dir(), s.suites(),
+                        s.tests(), s.failures(), s.errors(), s.skipped(), s.seconds(), s.suites() == 0 ? "  NO REPORT" : ""));
+            }
+            out.append(String.format(Locale.ROOT, "total: %d tests, %d failures, %d errors, %d skipped; slowest shard %.1fs%n",
+                    tests, failures, errors, skipped, seconds()));
+            return out.toString();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: ShardMerge <out-dir> <shard-reports-dir>...");
+            System.exit(2);
+        }
+        List<Path> shards = Stream.of(args).skip(1).map(Paths::get).collect(Collectors.toList());
+        Result result = merge(Paths.get(args[0]), shards);
+        System.out.print(result.toText());
+        if (!result.passed()) System.exit(1);
+    }
+
+    /** Writes the merged reports into {@code out} (and updates the shard history) and returns the totals. */
+    public static Result merge(Path out, List<Path> shardDirs) throws IOException {
+        Files.createDirectories(out);
+        Map<String, Document> suites = new TreeMap<>();
+        List<ShardSummary> shards = new ArrayList<>();
+        Path timings = out.resolve("step-timings");
+        for (int i = 0; i < shardDirs.size(); i++) {
+            Path dir = shardDirs.get(i);
+            int count = 0;
+            int[] totals = new int[COUNTS.length];
+            double seconds = 0;
+            for (Path file : reports(dir)) {
+                Document doc = parse(file);
+                Element suite = doc.getDocumentElement();
+                for (int c = 0; c < COUNTS.length; c++) totals[c] += count(suite, COUNTS[c]);
+                seconds += seconds(suite);
+                count++;
+                Document merged = suites.get(file.getFileName().toString());
+                if (merged == null) {
+                    suites.put(file.getFileName().toString(), doc);
+                } else {
+                    append(merged, suite);
+                }
+            }
+            shards.add(new ShardSummary(dir, count, totals[0], totals[1], totals[2], totals[3], seconds));
+            copyTraces(dir, timings, "trace-shard" + (i + 1) + "-");
+        }
+        for (Map.Entry<String, Document> suite : suites.entrySet()) {
+            write(suite.getValue(), out.resolve(suite.getKey()));
+        }
+
+        TimingReport.fromTraces(List.of(timings)).write(timings);
+        // this run's durations replace the recorded ones; journeys it did not run keep theirs
+        Path historyFile = ShardHistory.defaultFile();
+        Map<String, Long> history = new TreeMap<>(ShardHistory.load(historyFile));
+        history.putAll(ShardHistory.fromTraces(List.of(timings)));
+        ShardHistory.save(history, historyFile);
+
+        Result result = new Result(shards, sum(shards, ShardSummary::tests), sum(shards, ShardSummary::failures),
+                sum(shards, ShardSummary::errors), sum(shards, ShardSummary::skipped));
+        Files.writeString(out.resolve("summary.txt"), result.toText(), StandardCharsets.UTF_8);
+        return result;
+    }
+
+    private static List<Path> reports(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().matches("TEST-.*\\.xml")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /** Moves the test cases of {@code suite} into the same-named suite of {@code merged} and adds up the counts. */
+    private static void append(Document merged, Element suite) {
+        Element root = merged.getDocumentElement();
+        NodeList cases = suite.getElementsByTagName("testcase");
+        for (int i = 0; i < cases.getLength(); i++) {
+            root.appendChild(merged.importNode(cases.item(i), true));
+        }
+        for (String attribute : COUNTS) {
+            root.setAttribute(attribute, String.valueOf(count(root, attribute) + count(suite, attribute)));
+        }
+        root.setAttribute("time", String.format(Locale.ROOT, "%.3f", seconds(root) + seconds(suite)));
+    }
+
+    private static void copyTraces(Path dir, Path timings, String prefix) throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        Files.createDirectories(timings);
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path trace : files.filter(f -> f.getFileName().toString().matches("trace-.*\\.csv")).collect(Collectors.toList())) {
+                Files.copy(trace, timings.resolve(prefix + trace.getFileName().toString().substring("trace-".length())),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static int count(Element suite, String attribute) {
+        String value = suite.getAttribute(attribute);
+        return value.isEmpty() ? 0 : Integer.parseInt(value.trim());
+    }
+
+    /** Suite time in seconds; surefire may group thousands ("1,234.5"). */
+    private static double seconds(Element suite) {
+        String value = suite.getAttribute("time").replace(",", "");
+        return value.isEmpty() ? 0 : Double.parseDouble(value);
+    }
+
+    private static int sum(List<ShardSummary> shards, ToIntFunction<ShardSummary> count) {
+        return shards.stream().mapToInt(count).sum();
+    }
+
+    private static Document parse(Path file) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            // reports are local files, but a DOCTYPE has no business in them either
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            return builder.parse(file.toFile());
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Not a surefire report: " + file, e);
+        }
+    }
+
+    private static void write(Document doc, Path file) throws IOException {
+        try {
+            removeWhitespace(doc.getDocumentElement());
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+            transformer.transform(new DOMSource(doc), new StreamResult(file.toFile()));
+        } catch (TransformerException e) {
+            throw new IOException("Could not write " + file, e);
+        }
+    }
+
+    /** Drops the indentation text nodes between elements, so re-indenting does not add blank lines. */
+    private static void removeWhitespace(Node node) {
+        NodeList children = node.getChildNodes();
+        for (int i = children.getLength() - 1; i >= 0; i--) {
+            Node child = children.item(i);
+            if (child.getNodeType() == Node.TEXT_NODE && child.getTextContent().isBlank() && children.getLength() > 1) {
+                node.removeChild(child);
+            } else if (child.getNodeType() == Node.ELEMENT_NODE) {
+                removeWhitespace(child);
+            }
+        }
+    }
+
+    private ShardMerge() {
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Splits journeys over {@code total} shards ({@code -Dshard=i/N}, 1-based), the same way in every process.
+ *
+ * <p>Journeys with a recorded duration ({@link ShardHistory}) are balanced longest-processing-time first: longest
+ * journey first, each onto the shard with the least time assigned so far (lowest index on a tie). A journey without
+ * history goes to the shard its name hashes to until its first trace exists. The plan depends only on the history
+ * and the shard count, never on which journeys a process happens to see, so surefire forks that each see one test
+ * class still agree: every journey runs on exactly one shard, as long as all shards read the same history.
+ */
+public final class ShardPlan {
+    private final int total;
+    private final Map<String, Integer> assigned = new HashMap<>();
+    private final long[] loads;
+
+    /** Shard {@code index} of {@code total}, both 1-based as written: {@code -Dshard=2/4}. */
+    public record Shard(int index, int total) {
+        public Shard {
+            if (total < 1 || index < 1 || index > total) {
+                throw new IllegalArgumentException("Not a shard: " + index + "/" + total + " (expected i/N with 1 <= i <= N)");
+            }
+        }
+
+        public static Shard parse(String spec) {
+            String[] parts = spec.trim().split("/");
+            if (parts.length != 2) throw new IllegalArgumentException("Not a shard: " + spec + " (expected i/N)");
+            try {
+                return new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a shard: " + spec + " (expected i/N)", e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return index + "/" + total;
+        }
+    }
+
+    private ShardPlan(int total) {
+        this.total = total;
+        this.loads = new long[total];
+    }
+
+    /** -Dshard=i/N; empty when the suite is not sharded. */
+    public static Optional<Shard> fromSystemProperties() {
+        String spec = System.getProperty("shard", "");
+        return spec.isBlank() ? Optional.empty() : Optional.of(Shard.parse(spec));
+    }
+
+    public static ShardPlan balance(Map<String, Long> durations, int total) {
+        ShardPlan plan = new ShardPlan(total);
+        List<Map.Entry<String, Long>> longestFirst = new ArrayList<>(durations.entrySet());
+        longestFirst.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<String, Long> journey : longestFirst) {
+            int lightest = 0;
+            for (int s = 1; s < total; s++) {
+                if (plan.loads[s] < plan.loads[lightest]) lightest = s;
+            }
+            plan.loads[lightest] += journey.getValue();
+            plan.assigned.put(journey.getKey(), lightest + 1);
+        }
+        return plan;
+    }
+
+    /** The 1-based shard that runs {@code journey}. */
+    public int shardOf(String journey) {
+        Integer shard = assigned.get(journey);
+        return shard != null ? shard : Math.floorMod(journey.hashCode(), total) + 1;
+    }
+
+    /** Whether {@code journey} has a recorded duration (otherwise it is placed by hash). */
+    public boolean knows(String journey) {
+        return assigned.containsKey(journey);
+    }
+
+    public boolean runs(Shard shard, String journey) {
+        return shardOf(journey) == shard.index();
+    }
+
+    /** The items of {@code items} that {@code shard} runs, in their original order. */
+    public <T> List<T> select(Shard shard, List<T> items, Function<T, String> journey) {
+        List<T> selected = new ArrayList<>();
+        for (T item : items) {
+            if (runs(shard, journey.apply(item))) selected.add(item);
+        }
+        return selected;
+    }
+
+    /** Recorded milliseconds assigned to a 1-based shard; journeys placed by hash are not counted. */
+    public long load(int shard) {
+        return loads[shard - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(total + " shards, expected");
+        for (int s = 1; s <= total; s++) {
+            out.append(s == 1 ? " " : ", ").append(s).append(": ").append(load(s) / 1000).append('s');
+        }
+        return out.toString();
+    }
+}
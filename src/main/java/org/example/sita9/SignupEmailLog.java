@@ -0,0 +1,63 @@
+package org.example.sita9;
+
+import org.example.artifact.RunArtifacts;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Append-only record of the identities the suite signed up ({@code <ISO timestamp> <email>} per line). With a
+ * {@link RunArtifacts} sink the line (and a {@code signup} run-log event) is queued for its writer thread; without
+ * one it is appended on the calling thread.
+ */
+public class SignupEmailLog {
+    public static final String DEFAULT_FILE = "signup-emails.txt";
+
+    private final Path file;
+    private volatile RunArtifacts sink;
+
+    public SignupEmailLog(Path file) {
+        this.file = file;
+    }
+
+    /** Queues appends on {@code sink} from now on; null appends synchronously again. */
+    public SignupEmailLog withSink(RunArtifacts sink) {
+        this.sink = sink;
+        return this;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /** Appends {@code email} with the current time; a failed write is reported, not thrown. */
+    public void append(String email) {
+        RunArtifacts artifacts = sink;
+        if (artifacts != null) {
+            artifacts.append(file, line(LocalDateTime.now(), email));
+            artifacts.event("signup", Map.of("email", email, "file", file.toString()));
+            return;
+        }
+        appendNow(email);
+    }
+
+    private synchronized void appendNow(String email) {
+        try {
+            Files.write(file, line(LocalDateTime.now(), email).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            System.out.println("Stored sign-up email in " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write sign-up email to file: " + e.getMessage());
+        }
+    }
+
+    static String line(LocalDateTime time, String email) {
+        return time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + " " + email + System.lineSeparator();
+    }
+}
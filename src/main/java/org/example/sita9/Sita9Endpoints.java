@@ -0,0 +1,81 @@
+package org.example.sita9;
+
+import java.net.URI;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Base URLs the journeys run against: the live SITA9 app and Mailinator, or a local/staging stand-in.
+ *
+ * <p>{@code -Dsita9.target=standin} asks the test lifecycle to start {@code Sita9StandIn};
+ * {@code -Dsita9.app.url} / {@code -Dsita9.inbox.url} point the same tests at any other deployment.
+ */
+public final class Sita9Endpoints {
+    public static final String LIVE_APP_URL = "https://app-sita9.glyph.network/";
+    public static final String LIVE_INBOX_BASE = "https://www.mailinator.com/v4/public/inboxes.jsp?to=";
+    public static final String VERIFICATION_SENDER = "support@glyph.network";
+    /** Path of the verify-email page; every verification link contains it. */
+    public static final String VERIFY_EMAIL_PATH = "verify-email";
+
+    private final String appUrl;
+    private final String inboxBase;
+    private final Pattern verifyEmailLink;
+
+    private Sita9Endpoints(String appUrl, String inboxBase) {
+        this.appUrl = appUrl.endsWith("/") ? appUrl : appUrl + "/";
+        this.inboxBase = inboxBase;
+        this.verifyEmailLink = Pattern.compile(Pattern.quote(this.appUrl) + VERIFY_EMAIL_PATH + "\\?token=[a-zA-Z0-9]+");
+    }
+
+    public static Sita9Endpoints of(String appUrl, String inboxBase) {
+        return new Sita9Endpoints(appUrl, inboxBase);
+    }
+
+    public static Sita9Endpoints live() {
+        return of(LIVE_APP_URL, LIVE_INBOX_BASE);
+    }
+
+    /** True for -Dsita9.target=standin. */
+    public static boolean standInRequested() {
+        return "standin".equalsIgnoreCase(System.getProperty("sita9.target", "live"));
+    }
+
+    /** Live endpoints unless -Dsita9.app.url / -Dsita9.inbox.url override them. */
+    public static Sita9Endpoints fromSystemProperties() {
+        return of(System.getProperty("sita9.app.url", LIVE_APP_URL), System.getProperty("sita9.inbox.url", LIVE_INBOX_BASE));
+    }
+
+    /** App root, always ending in '/'. */
+    public String appUrl() {
+        return appUrl;
+    }
+
+    /** Inbox page prefix; the inbox name (local part of the address) is appended. */
+    public String inboxBase() {
+        return inboxBase;
+    }
+
+    public String inboxUrl(String emailAddress) {
+        return inboxBase + emailAddress.split("@")[0];
+    }
+
+    /** Matches the verify-email link the app mails out, e.g. {@code <appUrl>verify-email?token=abc123}. */
+    public Pattern verifyEmailLink() {
+        return verifyEmailLink;
+    }
+
+    /** Pages whose static assets (app bundle, fonts, inbox UI) are worth keeping in a warm browser profile. */
+    public List<String> warmUrls() {
+        return List.of(appUrl, inboxUrl("sita9-warmup"));
+    }
+
+    /** Host part of the app URL, used to pick the app window among several tabs. */
+    public String appHost() {
+        return URI.create(appUrl).getHost();
+    }
+
+    @Override
+    public String toString() {
+        return "app=" + appUrl + " inbox=" + inboxBase;
+    }
+}
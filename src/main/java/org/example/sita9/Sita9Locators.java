@@ -0,0 +1,89 @@
+package org.example.sita9;
+
+import org.example.locator.Locator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Every SITA9 (and Mailinator) element the journeys touch, declared once. The XPath declarations are kept as
+ * written against the app; {@link Locator} rewrites the simple ones to CSS or text selectors.
+ */
+public final class Sita9Locators {
+    // Registration (Steps 1–8)
+    public static final Locator LOGO = Locator.xpath("logo", "//div[@class='flow-logo-y absolute inset-0']");
+    public static final Locator SIGN_UP = Locator.xpath("signUp", "//button[normalize-space()='Sign up']");
+    public static final Locator SIGNUP_EMAIL = Locator.xpath("signupEmail", "//input[@type='email']");
+    public static final Locator CREATE_PASSWORD = Locator.css("createPassword", "input[placeholder='Create a password']");
+    public static final Locator CONFIRM_PASSWORD = Locator.css("confirmPassword", "input[placeholder='Confirm your password']");
+    public static final Locator FORM_ITEMS = Locator.css("formItems", "[id*='form-item']");
+    public static final Locator CREATE_ACCOUNT = Locator.xpath("createAccount", "//button[normalize-space()='Create account']");
+    public static final Locator ACCOUNT_CREATED = Locator.xpath("accountCreated", "//div[contains(., 'Account created!')]");
+    public static final Locator USER_CREATED = Locator.xpath("userCreated", "//div[contains(., 'User created successfully')]");
+    public static final Locator CHECK_EMAIL = Locator.xpath("checkEmail", "//*[contains(., 'Please check your email')]");
+
+    // Email verification (Steps 9–15)
+    public static final Locator VERIFICATION_EMAIL_ROW = Locator.xpath("verificationEmailRow",
+            "//td[contains(@onclick, 'showTheMessage') and contains(., 'support@glyph.network')] | " +
+            "//td[contains(., 'support@glyph.network')]");
+    public static final Locator VERIFY_EMAIL_LINK = Locator.xpath("verifyEmailLink", "//a[contains(@href, 'verify-email')]");
+
+    // Login (Steps 16–17)
+    public static final Locator LOGIN_EMAIL = Locator.css("loginEmail", "input[name='email']");
+    public static final Locator LOGIN_PASSWORD = Locator.css("loginPassword", "input[name='password']");
+    public static final Locator SIGN_IN = Locator.xpath("signIn", "//button[normalize-space()='Sign In' or normalize-space()='Sign in']");
+
+    // Dashboard and project wizard (STEP 1–20)
+    public static final Locator WELCOME_HEADING = Locator.xpath("welcomeHeading", "//h2[normalize-space()='Welcome to SITA9 Analytics']");
+    public static final Locator WELCOME_PARTIAL = Locator.xpath("welcomePartial", "//h2[contains(.,'Welcome') and contains(.,'SITA9')]");
+    public static final Locator CREATE_FIRST_PROJECT = Locator.xpath("createFirstProject", "//button[normalize-space()='Create Your First Project']");
+    public static final Locator PROJECT_NAME = Locator.xpath("projectName", "//input[@name='name' and @placeholder='e.g., DeFi Exchange Pro']");
+    public static final Locator PROJECT_URL = Locator.xpath("projectUrl", "//input[@name='url' and @placeholder='https://yourproject.com']");
+    public static final Locator PROJECT_TYPE = Locator.xpath("projectType",
+            "//button[@role='combobox' and .//span[normalize-space()='Select project type']]");
+    public static final Locator DEFI_PROTOCOL = Locator.xpath("defiProtocol", "//span[normalize-space()='DeFi Protocol']");
+    public static final Locator ETHEREUM = Locator.xpath("ethereum", "//span[normalize-space()='Ethereum']");
+    public static final Locator NEXT_ADD_CONTRACTS = Locator.xpath("nextAddContracts", "//button[normalize-space()='Next: Add Contracts']");
+    public static final Locator ADD_CONTRACT = Locator.xpath("addContract", "//button[normalize-space()='Add Contract']");
+    public static final Locator TOKEN_NAME = Locator.xpath("tokenName", "//input[@placeholder='e.g., Main Token']");
+    public static final Locator CONTRACT_ADDRESS = Locator.xpath("contractAddress", "//input[@placeholder='0x...']");
+    public static final Locator VERIFIED_CHECKBOX = Locator.xpath("verifiedCheckbox", "//button[@role='checkbox']");
+    public static final Locator NEXT_FETCH_ABIS = Locator.xpath("nextFetchAbis", "//button[normalize-space()='Next: Fetch ABIs']");
+    public static final Locator ABI_VERIFIED = Locator.xpath("abiVerified", "//span[normalize-space()='Verified']");
+    public static final Locator REVIEW_SUBMIT = Locator.xpath("reviewSubmit", "//button[normalize-space()='Review & Submit']");
+    public static final Locator CONFIGURATION_COMPLETE = Locator.xpath("configurationComplete",
+            "//p[normalize-space()='Your project configuration is complete and ready to deploy.']");
+    public static final Locator COMPLETE_SETUP = Locator.xpath("completeSetup", "//button[normalize-space()='Complete Setup']");
+    public static final Locator SETUP_COMPLETE = Locator.xpath("setupComplete", "//h1[contains(normalize-space(),'Setup Complete')]");
+    public static final Locator GO_TO_DASHBOARD = Locator.xpath("goToDashboard", "//button[normalize-space()='Go to Dashboard']");
+    public static final Locator VIEW_ANALYTICS = Locator.xpath("viewAnalytics", "//button[normalize-space()='View Analytics']");
+    public static final Locator WELCOME_BACK = Locator.xpath("welcomeBack",
+            "//span[contains(@class,'text-muted-foreground') and normalize-space()='Welcome back']");
+
+    private static final Map<String, Locator> BY_NAME = byName();
+
+    /** The declared locator with {@link Locator#name()} {@code name}, e.g. {@code signUp}. */
+    public static Optional<Locator> named(String name) {
+        return Optional.ofNullable(BY_NAME.get(name));
+    }
+
+    private static Map<String, Locator> byName() {
+        Map<String, Locator> locators = new LinkedHashMap<>();
+        for (Field field : Sita9Locators.class.getDeclaredFields()) {
+            if (field.getType() != Locator.class || !Modifier.isStatic(field.getModifiers())) continue;
+            try {
+                Locator locator = (Locator) field.get(null);
+                locators.put(locator.name(), locator);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return locators;
+    }
+
+    private Sita9Locators() {
+    }
+}
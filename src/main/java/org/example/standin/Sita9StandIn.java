@@ -0,0 +1,324 @@
+package org.example.standin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.sita9.Sita9Endpoints;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded stand-in for the SITA9 app and its Mailinator inbox.
+ *
+ * <p>Serves the same DOM the journeys' locators expect (sign-up form, "Account created!" banner,
+ * verify-email page, login page, dashboard and project wizard) plus a Mailinator-shaped inbox that
+ * exposes the verify link as soon as the account is created. Everything is in memory and bound to loopback.
+ */
+public class Sita9StandIn implements AutoCloseable {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final String SESSION_COOKIE = "sita9_sid";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final StandInInbox inbox = new StandInInbox();
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private final Map<String, String> sessions = new ConcurrentHashMap<>();
+    private final String appPage;
+    private final String inboxPage;
+    private final String verifyPage;
+    private volatile InetSocketAddress smtpRelay;
+
+    private static final class Account {
+        final String email;
+        final String password;
+        volatile boolean verified;
+        final List<JsonNode> projects = new CopyOnWriteArrayList<>();
+
+        Account(String email, String password) {
+            this.email = email;
+            this.password = password;
+        }
+    }
+
+    private Sita9StandIn(int port) throws IOException {
+        appPage = resource("app.html");
+        inboxPage = resource("inbox.html");
+        verifyPage = resource("verify-email.html");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "sita9-standin");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /** Starts the stand-in on an ephemeral loopback port. */
+    public static Sita9StandIn start() {
+        return start(0);
+    }
+
+    public static Sita9StandIn start(int port) {
+        try {
+            return new Sita9StandIn(port);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start SITA9 stand-in", e);
+        }
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    /** Endpoints pointing at this stand-in, for {@code Sita9Endpoints}-driven tests. */
+    public Sita9Endpoints endpoints() {
+        return Sita9Endpoints.of(baseUrl(), baseUrl() + "inbox?to=");
+    }
+
+    public StandInInbox inbox() {
+        return inbox;
+    }
+
+    /** Also relays every mail over SMTP (e.g. to an {@code SmtpSinkInboxClient}); null turns relaying off. */
+    public void relayMailTo(InetSocketAddress smtp) {
+        this.smtpRelay = smtp;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (path.startsWith("/api/")) {
+                handleApi(exchange, method, path);
+            } else if (path.equals("/verify-email")) {
+                handleVerify(exchange);
+            } else if (path.equals("/inbox")) {
+                send(exchange, 200, "text/html", inboxPage);
+            } else if (path.equals("/inbox/message")) {
+                handleMessage(exchange);
+            } else if (path.equals("/favicon.ico")) {
+                send(exchange, 404, "text/plain", "");
+            } else {
+                // SPA: every other route renders the same shell, the client script picks the view
+                send(exchange, 200, "text/html", appPage);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Stand-in failed on " + exchange.getRequestURI() + ": " + e);
+        }
+    }
+
+    private void handleApi(HttpExchange exchange, String method, String path) throws IOException {
+        switch (method + " " + path) {
+            case "POST /api/signup": {
+                JsonNode body = readJson(exchange);
+                String email = text(body, "email").toLowerCase();
+                String password = text(body, "password");
+                if (email.isEmpty() || !email.contains("@") || password.length() < 6) {
+                    sendJson(exchange, 400, message("Enter a valid email and a password of at least 6 characters"));
+                    return;
+                }
+                if (accounts.putIfAbsent(email, new Account(email, password)) != null) {
+                    sendJson(exchange, 409, message("User already exists"));
+                    return;
+                }
+                String token = newToken();
+                tokens.put(token, email);
+                String link = baseUrl() + "verify-email?token=" + token;
+                mail(email, "Verify your email",
+                        "<p>Welcome to SITA9 Analytics.</p><p><a href=\"" + link + "\">Verify email</a></p>");
+                sendJson(exchange, 201, message("Account created! Please check your email to verify your account."));
+                return;
+            }
+            case "POST /api/login": {
+                JsonNode body = readJson(exchange);
+                Account account = accounts.get(text(body, "email").toLowerCase());
+                if (account == null || !account.password.equals(text(body, "password"))) {
+                    sendJson(exchange, 401, message("Invalid email or password"));
+                    return;
+                }
+                if (!account.verified) {
+                    sendJson(exchange, 403, message("Please verify your email before signing in"));
+                    return;
+                }
+                String sid = newToken();
+                sessions.put(sid, account.email);
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + sid + "; Path=/; HttpOnly");
+                sendJson(exchange, 200, JSON.createObjectNode().put("email", account.email));
+                return;
+            }
+            case "GET /api/session": {
+                Account account = sessionAccount(exchange);
+                if (account == null) {
+                    sendJson(exchange, 401, message("Not signed in"));
+                    return;
+                }
+                ObjectNode session = JSON.createObjectNode().put("email", account.email);
+                session.putArray("projects").addAll(account.projects);
+                sendJson(exchange, 200, session);
+                return;
+            }
+            case "POST /api/projects": {
+                Account account = sessionAccount(exchange);
+                if (account == null) {
+                    sendJson(exchange, 401, message("Not signed in"));
+                    return;
+                }
+                JsonNode project = readJson(exchange);
+                if (text(project, "name").isEmpty()) {
+                    sendJson(exchange, 400, message("Project name is required"));
+                    return;
+                }
+                account.projects.add(project);
+                sendJson(exchange, 201, project);
+                return;
+            }
+            case "GET /api/inbox": {
+                ObjectNode response = JSON.createObjectNode();
+                ArrayNode list = response.putArray("messages");
+                for (StandInInbox.Message m : inbox.messages(query(exchange).getOrDefault("to", ""))) {
+                    list.addObject().put("id", m.id()).put("from", m.from()).put("subject", m.subject());
+                }
+                sendJson(exchange, 200, response);
+                return;
+            }
+            default:
+                sendJson(exchange, 404, message("Not found"));
+        }
+    }
+
+    private void mail(String to, String subject, String html) {
+        inbox.deliver(Sita9Endpoints.VERIFICATION_SENDER, to, subject, html);
+        InetSocketAddress relay = smtpRelay;
+        if (relay != null) {
+            executor.submit(() -> {
+                try {
+                    StandInMailer.send(relay, Sita9Endpoints.VERIFICATION_SENDER, to, subject, html);
+                } catch (IOException e) {
+                    System.err.println("Stand-in could not relay mail to " + relay + ": " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    private void handleVerify(HttpExchange exchange) throws IOException {
+        String email = tokens.remove(query(exchange).getOrDefault("token", ""));
+        Account account = email == null ? null : accounts.get(email);
+        if (account == null) {
+            send(exchange, 400, "text/html", verifyPage.replace("{{MESSAGE}}", "This verification link is invalid or has expired."));
+            return;
+        }
+        account.verified = true;
+        send(exchange, 200, "text/html", verifyPage.replace("{{MESSAGE}}", "Your email has been verified successfully."));
+    }
+
+    private void handleMessage(HttpExchange exchange) throws IOException {
+        StandInInbox.Message message = inbox.message(query(exchange).getOrDefault("id", "")).orElse(null);
+        if (message == null) {
+            send(exchange, 404, "text/html", "<html><body>Message not found</body></html>");
+            return;
+        }
+        send(exchange, 200, "text/html", "<html><body>" + message.html() + "</body></html>");
+    }
+
+    private Account sessionAccount(HttpExchange exchange) {
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String cookie : header.split(";")) {
+                String[] kv = cookie.trim().split("=", 2);
+                if (kv.length == 2 && kv[0].equals(SESSION_COOKIE)) {
+                    String email = sessions.get(kv[1]);
+                    if (email != null) return accounts.get(email);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+
+    private static JsonNode readJson(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readAllBytes();
+            return body.length == 0 ? JSON.createObjectNode() : JSON.readTree(body);
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? "" : value.asText().trim();
+    }
+
+    private static ObjectNode message(String text) {
+        return JSON.createObjectNode().put("message", text);
+    }
+
+    static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) return params;
+        for (String pair : raw.split("&")) {
+            String[] kv = pair.split("=", 2);
+            params.put(URLDecoder.decode(kv[0], StandardCharsets.UTF_8),
+                    kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "");
+        }
+        return params;
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        send(exchange, status, "application/json", JSON.writeValueAsString(body));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = Sita9StandIn.class.getResourceAsStream("/standin/" + name)) {
+            if (in == null) throw new IllegalStateException("Missing stand-in resource /standin/" + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
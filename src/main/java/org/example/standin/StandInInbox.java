@@ -0,0 +1,78 @@
+package org.example.standin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Mailinator-shaped in-memory inbox: mail is visible the moment the stand-in "sends" it. */
+public class StandInInbox {
+
+    /** One delivered message. */
+    public static final class Message {
+        private final String id;
+        private final String from;
+        private final String to;
+        private final String subject;
+        private final String html;
+
+        Message(String id, String from, String to, String subject, String html) {
+            this.id = id;
+            this.from = from;
+            this.to = to;
+            this.subject = subject;
+            this.html = html;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public String from() {
+            return from;
+        }
+
+        public String to() {
+            return to;
+        }
+
+        public String subject() {
+            return subject;
+        }
+
+        public String html() {
+            return html;
+        }
+    }
+
+    private final Map<String, List<Message>> byInbox = new ConcurrentHashMap<>();
+    private final Map<String, Message> byId = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    public Message deliver(String from, String to, String subject, String html) {
+        Message message = new Message("m" + ids.incrementAndGet(), from, to, subject, html);
+        byInbox.computeIfAbsent(inboxName(to), k -> new CopyOnWriteArrayList<>()).add(message);
+        byId.put(message.id(), message);
+        return message;
+    }
+
+    /** Messages for an inbox name (local part, case-insensitive), newest first. */
+    public List<Message> messages(String inbox) {
+        List<Message> messages = new ArrayList<>(byInbox.getOrDefault(inboxName(inbox), List.of()));
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    public Optional<Message> message(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    static String inboxName(String address) {
+        return address.split("@")[0].toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.standin;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/** Minimal SMTP client the stand-in uses to relay its mail to an SMTP sink. */
+public final class StandInMailer {
+
+    private StandInMailer() {
+    }
+
+    public static void send(InetSocketAddress smtp, String from, String to, String subject, String html) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(smtp, 5000);
+            socket.setSoTimeout(10000);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream out = socket.getOutputStream();
+            expect(in, "220");
+            command(out, in, "HELO sita9-standin", "250");
+            command(out, in, "MAIL FROM:<" + from + ">", "250");
+            command(out, in, "RCPT TO:<" + to + ">", "250");
+            command(out, in, "DATA", "354");
+            StringBuilder data = new StringBuilder()
+                    .append("From: SITA9 <").append(from).append(">\r\n")
+                    .append("To: <").append(to).append(">\r\n")
+                    .append("Subject: ").append(subject).append("\r\n")
+                    .append("MIME-Version: 1.0\r\n")
+                    .append("Content-Type: text/html; charset=utf-8\r\n")
+                    .append("Content-Transfer-Encoding: 8bit\r\n")
+                    .append("\r\n");
+            for (String line : html.split("\r?\n")) {
+                data.append(line.startsWith(".") ? "." + line : line).append("\r\n");
+            }
+            data.append(".");
+            command(out, in, data.toString(), "250");
+            command(out, in, "QUIT", "221");
+        }
+    }
+
+    private static void command(OutputStream out, BufferedReader in, String line, String expectedCode) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        expect(in, expectedCode);
+    }
+
+    private static void expect(BufferedReader in, String code) throws IOException {
+        String reply;
+        do {
+            reply = in.readLine();
+            if (reply == null) throw new IOException("SMTP server closed the connection, expected " + code);
+        } while (reply.length() > 3 && reply.charAt(3) == '-');
+        if (!reply.startsWith(code)) throw new IOException("SMTP server replied '" + reply + "', expected " + code);
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.timing;
+
+/**
+ * Timing of one numbered step of one journey run: wall time split into time spent waiting for the page
+ * ({@link org.example.wait.WaitEngine}) and time spent acting, plus the WebDriver commands it issued.
+ * One CSV line per record in the trace files.
+ */
+public record StepRecord(String runId, String worker, String journey, String step, long startMillis,
+                         long wallMillis, long waitMillis, long roundTrips, boolean passed) {
+
+    static final String CSV_HEADER = "runId,worker,journey,step,startMillis,wallMillis,waitMillis,actMillis,roundTrips,outcome";
+
+    public long actMillis() {
+        return Math.max(0, wallMillis - waitMillis);
+    }
+
+    String toCsv() {
+        return String.join(",", field(runId), field(worker), field(journey), field(step), String.valueOf(startMillis),
+                String.valueOf(wallMillis), String.valueOf(waitMillis), String.valueOf(actMillis()),
+                String.valueOf(roundTrips), passed ? "ok" : "failed");
+    }
+
+    static StepRecord fromCsv(String line) {
+        String[] f = line.split(",", -1);
+        if (f.length != 10) throw new IllegalArgumentException("Not a step timing line: " + line);
+        return new StepRecord(f[0], f[1], f[2], f[3], Long.parseLong(f[4]), Long.parseLong(f[5]),
+                Long.parseLong(f[6]), Long.parseLong(f[8]), "ok".equals(f[9]));
+    }
+
+    /** Ids and thread names never need quoting; commas would break the columns, so they are replaced. */
+    private static String field(String value) {
+        return value.replace(',', ';').replace('\n', ' ');
+    }
+}
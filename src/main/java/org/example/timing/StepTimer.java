@@ -0,0 +1,79 @@
+package org.example.timing;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times the numbered steps of one journey on one worker thread. Each {@link #lap} closes the step that ran
+ * since the previous lap, so the existing "Step N: done" log lines double as step boundaries.
+ *
+ * <p>Wait time is reported by {@link org.example.wait.WaitEngine}; WebDriver round-trips are counted by
+ * decorating the driver with this listener ({@link #instrument}). Act time is wall time minus wait time.
+ */
+public class StepTimer implements WebDriverListener {
+    private final String runId;
+    private final String worker;
+    private final String journey;
+    private final List<StepRecord> records = new ArrayList<>();
+
+    private String lastStep = "start";
+    private long stepStartNanos = System.nanoTime();
+    private long stepStartMillis = System.currentTimeMillis();
+    private long waitNanos;
+    private long roundTrips;
+
+    public StepTimer(String runId, String worker, String journey) {
+        this.runId = runId;
+        this.worker = worker;
+        this.journey = journey;
+    }
+
+    /** The same driver, with every WebDriver/WebElement command counted as a round-trip of the current step. */
+    public WebDriver instrument(WebDriver driver) {
+        return new EventFiringDecorator<>(this).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        roundTrips++;
+    }
+
+    /** Called by the wait engine with the time a wait blocked, whether it succeeded or timed out. */
+    public void recordWait(long nanos) {
+        waitNanos += nanos;
+    }
+
+    /** Closes the current step as passed under {@code step} and starts the next one. */
+    public void lap(String step) {
+        close(step, true);
+        lastStep = step;
+    }
+
+    /**
+     * Ends the journey. A failed journey records the unfinished step as {@code <last lap>.next}, so the trace shows
+     * where it stopped and how long it spent there. Returns the records of this journey in order.
+     */
+    public List<StepRecord> finish(boolean passed) {
+        if (!passed) close(lastStep + ".next", false);
+        return List.copyOf(records);
+    }
+
+    public String journey() {
+        return journey;
+    }
+
+    private void close(String step, boolean passed) {
+        long now = System.nanoTime();
+        records.add(new StepRecord(runId, worker, journey, step, stepStartMillis,
+                (now - stepStartNanos) / 1_000_000, waitNanos / 1_000_000, roundTrips, passed));
+        stepStartNanos = now;
+        stepStartMillis = System.currentTimeMillis();
+        waitNanos = 0;
+        roundTrips = 0;
+    }
+}
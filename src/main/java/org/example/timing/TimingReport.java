@@ -0,0 +1,113 @@
+package org.example.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.wait.StepLatencyModel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Aggregates step timing traces from any number of runs and workers into p50/p95/p99 per step
+ * ({@code report.txt} and {@code report.json} next to the traces).
+ *
+ * <p>Also runnable on downloaded CI artifacts: {@code java -cp ... org.example.timing.TimingReport <dir>...}
+ * merges every {@code trace-*.csv} below the given directories and writes the report into the first one.
+ */
+public class TimingReport {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /** Percentiles of one step over all its recorded runs. */
+    public record StepStats(String step, int runs, int failures, long p50Millis, long p95Millis, long p99Millis,
+                            long waitP50Millis, long actP50Millis, double meanRoundTrips) { }
+
+    private final List<StepStats> steps;
+
+    private TimingReport(List<StepStats> steps) {
+        this.steps = steps;
+    }
+
+    public static TimingReport of(List<StepRecord> records) {
+        Map<String, List<StepRecord>> byStep = records.stream()
+                .sorted(Comparator.comparingLong(StepRecord::startMillis))
+                .collect(Collectors.groupingBy(StepRecord::step, LinkedHashMap::new, Collectors.toList()));
+        List<StepStats> steps = new ArrayList<>();
+        byStep.forEach((step, list) -> {
+            List<Long> wall = list.stream().map(StepRecord::wallMillis).collect(Collectors.toList());
+            steps.add(new StepStats(step, list.size(), (int) list.stream().filter(r -> !r.passed()).count(),
+                    StepLatencyModel.percentile(wall, 50), StepLatencyModel.percentile(wall, 95), StepLatencyModel.percentile(wall, 99),
+                    StepLatencyModel.percentile(list.stream().map(StepRecord::waitMillis).collect(Collectors.toList()), 50),
+                    StepLatencyModel.percentile(list.stream().map(StepRecord::actMillis).collect(Collectors.toList()), 50),
+                    list.stream().mapToLong(StepRecord::roundTrips).average().orElse(0)));
+        });
+        return new TimingReport(steps);
+    }
+
+    /** Reads every {@code trace-*.csv} below the given directories; missing directories are skipped. */
+    public static TimingReport fromTraces(List<Path> dirs) {
+        return of(readTraces(dirs));
+    }
+
+    /** The records of every {@code trace-*.csv} below the given directories. */
+    public static List<StepRecord> readTraces(List<Path> dirs) {
+        List<StepRecord> records = new ArrayList<>();
+        for (Path dir : dirs) {
+            if (!Files.isDirectory(dir)) continue;
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path file : files.filter(f -> f.getFileName().toString().matches("trace-.*\\.csv")).collect(Collectors.toList())) {
+                    Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                            .skip(1)
+                            .filter(line -> !line.isBlank())
+                            .map(StepRecord::fromCsv)
+                            .forEach(records::add);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return records;
+    }
+
+    public List<StepStats> steps() {
+        return steps;
+    }
+
+    public String toText() {
+        StringBuilder out = new StringBuilder(String.format("%-24s %5s %5s %8s %8s %8s %8s %8s %7s%n",
+                "step", "runs", "fail", "p50ms", "p95ms", "p99ms", "wait50", "act50", "trips"));
+        for (StepStats s : steps) {
+            out.append(String.format("%-24s %5d %5d %8d %8d %8d %8d %8d %7.1f%n", s.step(), s.runs(), s.failures(),
+                    s.p50Millis(), s.p95Millis(), s.p99Millis(), s.waitP50Millis(), s.actP50Millis(), s.meanRoundTrips()));
+        }
+        return out.toString();
+    }
+
+    /** Writes report.txt and report.json into {@code dir}. */
+    public void write(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("report.txt"), toText(), StandardCharsets.UTF_8);
+            JSON.writerWithDefaultPrettyPrinter().writeValue(dir.resolve("report.json").toFile(), steps);
+        } catch (IOException e) {
+            System.err.println("Could not write timing report to " + dir + ": " + e.getMessage());
+        }
+    }
+
+    public static void main(String[] args) {
+        List<Path> dirs = args.length == 0 ? List.of(TimingTrace.defaultDir())
+                : Stream.of(args).map(Paths::get).collect(Collectors.toList());
+        TimingReport report = fromTraces(dirs);
+        report.write(dirs.get(0));
+        System.out.print(report.toText());
+    }
+}
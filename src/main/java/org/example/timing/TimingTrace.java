@@ -0,0 +1,87 @@
+package org.example.timing;
+
+import org.example.artifact.RunArtifacts;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Per-run CSV trace of step timings ({@code trace-<runId>.csv}). All worker threads of a JVM append to the same
+ * file; separate runs and forks write separate files into the same directory so {@link TimingReport} can merge them.
+ * With a {@link RunArtifacts} sink the rows are queued for its writer thread instead of written by the caller.
+ */
+public class TimingTrace {
+    private final Path dir;
+    private final String runId;
+    private final Path file;
+    private RunArtifacts sink;
+    private boolean headerQueued;
+
+    public TimingTrace(Path dir, String runId) {
+        this.dir = dir;
+        this.runId = runId;
+        this.file = dir.resolve("trace-" + runId + ".csv");
+    }
+
+    /**
+     * -Dtiming.dir (default target/surefire-reports/step-timings, uploaded with the CI test reports) and
+     * -Dtiming.runId (default timestamp + pid).
+     */
+    public static TimingTrace fromSystemProperties() {
+        String runId = System.getProperty("timing.runId",
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + "-" + ProcessHandle.current().pid());
+        return new TimingTrace(defaultDir(), runId);
+    }
+
+    public static Path defaultDir() {
+        return Paths.get(System.getProperty("timing.dir", "target/surefire-reports/step-timings"));
+    }
+
+    /** Disabled with -Dtiming=false. */
+    public static boolean enabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("timing"));
+    }
+
+    /** Queues rows on {@code sink}; the report reads the file only after the sink has been closed. */
+    public synchronized TimingTrace withSink(RunArtifacts sink) {
+        this.sink = sink;
+        return this;
+    }
+
+    public StepTimer newTimer(String journey) {
+        return new StepTimer(runId, Thread.currentThread().getName(), journey);
+    }
+
+    public synchronized void append(List<StepRecord> records) {
+        if (records.isEmpty()) return;
+        StringBuilder out = new StringBuilder();
+        if (!headerQueued && !Files.exists(file)) out.append(StepRecord.CSV_HEADER).append('\n');
+        for (StepRecord r : records) out.append(r.toCsv()).append('\n');
+        if (sink != null) {
+            headerQueued = true;
+            sink.append(file, out.toString());
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(file, out, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Could not write step timings to " + file + ": " + e.getMessage());
+        }
+    }
+
+    public Path dir() {
+        return dir;
+    }
+
+    public Path file() {
+        return file;
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.transport;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link PageEvents} over the browser's CDP websocket. The connection is opened once per browser and reused by
+ * every test the pooled browser serves; a test only swaps the listeners.
+ *
+ * <p>Subscriptions: {@code Runtime.bindingCalled} from an in-page MutationObserver ({@code transport/events.js})
+ * for DOM changes, {@code Page.frameNavigated} / {@code Page.navigatedWithinDocument} for URL changes and
+ * {@code Page.javascriptDialogOpening} for dialogs. Raw CDP method names are used, so the channel does not
+ * depend on Selenium shipping the browser's exact CDP version.
+ */
+public class CdpPageEvents implements PageEvents {
+    private static final String BINDING = "__sita9Notify";
+    private static final String SCRIPT = resource("/transport/events.js");
+    /**
+     * The CDP session id of each browser that already has the binding and the new-document script. Both belong to
+     * the session, so a browser whose session was recreated (e.g. after its attached window closed) gets them again.
+     */
+    private static final Map<WebDriver, String> INSTALLED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final DevTools devTools;
+    private final Object lock = new Object();
+    private final List<String> dialogs = new CopyOnWriteArrayList<>();
+    private long version;
+    private long seen;
+    private volatile String lastUrl;
+
+    CdpPageEvents(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * Attaches to the browser behind {@code driver} (decorators are unwrapped). Empty when the browser has no
+     * CDP endpoint or the connection fails; callers then keep polling.
+     */
+    public static Optional<PageEvents> attach(WebDriver driver, Duration minGap) {
+        WebDriver raw = driver;
+        while (raw instanceof WrapsDriver) raw = ((WrapsDriver) raw).getWrappedDriver();
+        if (!(raw instanceof HasDevTools)) return Optional.empty();
+        try {
+            DevTools devTools = ((HasDevTools) raw).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.clearListeners();
+            CdpPageEvents events = new CdpPageEvents(devTools);
+            events.listen();
+            String session = devTools.getCdpSession().toString();
+            if (!session.equals(INSTALLED.get(raw))) {
+                String script = SCRIPT.replace("__GAP__", String.valueOf(minGap.toMillis()));
+                devTools.send(new Command<>("Page.enable", Map.of()));
+                devTools.send(new Command<>("Runtime.enable", Map.of()));
+                devTools.send(new Command<>("Runtime.addBinding", Map.of("name", BINDING)));
+                devTools.send(new Command<>("Page.addScriptToEvaluateOnNewDocument", Map.of("source", script)));
+                devTools.send(new Command<>("Runtime.evaluate", Map.of("expression", script)));
+                INSTALLED.put(raw, session);
+            }
+            return Optional.of(events);
+        } catch (RuntimeException e) {
+            System.err.println("CDP event channel unavailable, waits keep polling: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void listen() {
+        devTools.addListener(event("Runtime.bindingCalled"), params -> {
+            if (BINDING.equals(params.get("name"))) changed();
+        });
+        devTools.addListener(event("Page.frameNavigated"), params -> {
+            Map<?, ?> frame = (Map<?, ?>) params.get("frame");
+            if (frame != null && frame.get("parentId") == null) lastUrl = (String) frame.get("url");
+            changed();
+        });
+        devTools.addListener(event("Page.navigatedWithinDocument"), params -> {
+            lastUrl = (String) params.get("url");
+            changed();
+        });
+        devTools.addListener(event("Page.javascriptDialogOpening"), params -> {
+            dialogs.add(params.get("type") + ": " + params.get("message"));
+            changed();
+        });
+        devTools.addListener(event("Page.loadEventFired"), params -> changed());
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Map.class));
+    }
+
+    void changed() {
+        synchronized (lock) {
+            version++;
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void awaitChange(Duration max) throws InterruptedException {
+        long deadline = System.nanoTime() + max.toNanos();
+        synchronized (lock) {
+            while (version == seen) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) return;
+                lock.wait(Math.max(1, remaining / 1_000_000));
+            }
+            seen = version;
+        }
+    }
+
+    @Override
+    public String lastUrl() {
+        return lastUrl;
+    }
+
+    @Override
+    public List<String> dialogs() {
+        return List.copyOf(dialogs);
+    }
+
+    @Override
+    public long changes() {
+        synchronized (lock) {
+            return version;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            devTools.clearListeners();
+        } catch (RuntimeException e) {
+            System.err.println("Could not clear CDP listeners: " + e.getMessage());
+        }
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = CdpPageEvents.class.getResourceAsStream(name)) {
+            if (in == null) throw new IllegalStateException("Missing resource " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.transport;
+
+import org.openqa.selenium.support.ui.Sleeper;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Change notifications pushed by the browser. Used as the {@link Sleeper} of waits: instead of sleeping a fixed
+ * interval between checks, a wait sleeps until the page reports a change (or the interval runs out).
+ */
+public interface PageEvents extends Sleeper, AutoCloseable {
+
+    /**
+     * Returns as soon as a change was reported since the previous call returned (so nothing that happened
+     * while the caller was checking is lost), or after {@code max}.
+     */
+    void awaitChange(Duration max) throws InterruptedException;
+
+    @Override
+    default void sleep(Duration duration) throws InterruptedException {
+        awaitChange(duration);
+    }
+
+    /** Main-frame URL from the last navigation event (including history API navigations); null before the first. */
+    String lastUrl();
+
+    /** Messages of JavaScript dialogs (alert/confirm/prompt/beforeunload) opened since the channel was attached. */
+    List<String> dialogs();
+
+    /** Number of change events received. */
+    long changes();
+
+    /** Stops listening; the underlying connection stays open for the next test on the same browser. */
+    @Override
+    void close();
+}
@@ -0,0 +1,14 @@
+package org.example.transport;
+
+/** How waits learn that the page changed. */
+public enum Transport {
+    /** Classic WebDriver HTTP commands; waits poll every 500 ms (default). */
+    CLASSIC,
+    /** Persistent CDP websocket per browser; waits re-check when the browser pushes a DOM, navigation or dialog event. */
+    CDP;
+
+    /** -Dtransport=classic|cdp (default classic). */
+    public static Transport fromSystemProperties() {
+        return valueOf(System.getProperty("transport", "classic").toUpperCase());
+    }
+}
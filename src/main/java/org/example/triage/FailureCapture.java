@@ -0,0 +1,122 @@
+package org.example.triage;
+
+import org.example.artifact.RunArtifacts;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * What the browser showed when a phase failed: the URL, the DOM, a screenshot, the console log and the requests the
+ * page made (resource timing entries, so neither a proxy nor a logging capability is needed). Everything but the URL
+ * is stored as a {@link RunArtifacts} blob; {@link #capture} returns the blob paths by kind.
+ *
+ * <p>The reads run one after another on the calling thread. A driver session answers one command at a time
+ * (chromedriver queues the rest), so reads from several threads would not overlap, and a read in flight cannot be
+ * cancelled. {@link RunArtifacts} hashes each blob on the calling thread, since the event refers to it by hash, and
+ * leaves the write to its writer, so the test thread never waits on the disk. The capture finishes before the retry
+ * that follows navigates away from the failed page; reads not started within {@code timeout} are skipped.
+ */
+public class FailureCapture {
+    static final String NETWORK_SCRIPT = resource("/triage/network-log.js");
+    /** Resource timing entries kept; the oldest are dropped first. */
+    static final int NETWORK_ENTRIES = 300;
+
+    private final RunArtifacts artifacts;
+    private final Duration timeout;
+
+    public FailureCapture(RunArtifacts artifacts, Duration timeout) {
+        this.artifacts = artifacts;
+        this.timeout = timeout;
+    }
+
+    /** -Dcapture.timeoutSeconds: how long a failure keeps starting browser reads (default 10). */
+    public static FailureCapture fromSystemProperties(RunArtifacts artifacts) {
+        return new FailureCapture(artifacts, Duration.ofSeconds(Long.getLong("capture.timeoutSeconds", 10)));
+    }
+
+    /** Disabled with -Dcapture=false (or -Dartifacts=false, which leaves nowhere to store it). */
+    public static boolean enabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("capture", "true"));
+    }
+
+    /**
+     * Reads and stores the current page of {@code driver}. Kinds the driver cannot produce (no screenshots, no
+     * browser log) or that the timeout left out are missing; capturing never throws.
+     */
+    public Map<String, String> capture(WebDriver driver) {
+        WebDriver raw = unwrap(driver);
+        Map<String, Supplier<String>> reads = new LinkedHashMap<>();
+        reads.put("url", driver::getCurrentUrl);
+        reads.put("dom", () -> store(driver.getPageSource(), "html"));
+        if (raw instanceof TakesScreenshot) {
+            reads.put("screenshot", () -> artifacts.store(((TakesScreenshot) raw).getScreenshotAs(OutputType.BYTES), "png"));
+        }
+        reads.put("console", () -> store(console(driver), "log"));
+        if (driver instanceof JavascriptExecutor) {
+            reads.put("network", () -> store((String) ((JavascriptExecutor) driver).executeScript(NETWORK_SCRIPT, NETWORK_ENTRIES), "json"));
+        }
+
+        Map<String, String> captured = new LinkedHashMap<>();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Map.Entry<String, Supplier<String>> read : reads.entrySet()) {
+            if (System.nanoTime() - deadline > 0) {
+                System.err.println("Failure capture: no " + read.getKey() + " within " + timeout);
+                continue;
+            }
+            try {
+                String value = read.getValue().get();
+                if (value != null) captured.put(read.getKey(), value);
+            } catch (RuntimeException e) {
+                // this driver cannot produce it (HtmlUnit: no log endpoint), or the browser is gone
+            }
+        }
+        return captured;
+    }
+
+    private String store(String text, String extension) {
+        return text == null || text.isEmpty() ? null : artifacts.store(text.getBytes(StandardCharsets.UTF_8), extension);
+    }
+
+    /** The browser log since it was last read, one entry per line; Chrome keeps it when goog:loggingPrefs asks for it. */
+    private static String console(WebDriver driver) {
+        LogEntries entries = driver.manage().logs().get(LogType.BROWSER);
+        StringBuilder text = new StringBuilder();
+        for (LogEntry entry : entries) {
+            text.append(Instant.ofEpochMilli(entry.getTimestamp())).append(' ').append(entry.getLevel())
+                    .append(' ').append(entry.getMessage()).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static WebDriver unwrap(WebDriver driver) {
+        while (driver instanceof WrapsDriver && !(driver instanceof RemoteWebDriver)) {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        return driver;
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = FailureCapture.class.getResourceAsStream(name)) {
+            if (in == null) throw new IllegalStateException("Missing resource " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
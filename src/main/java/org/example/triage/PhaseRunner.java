@@ -0,0 +1,154 @@
+package org.example.triage;
+
+import org.example.artifact.RunArtifacts;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs one journey as named phases separated by checkpoints. When a phase fails, the page is captured for triage
+ * ({@link FailureCapture}); if the failure is the browser's (a wait timing out, a stale element, a page that did not
+ * load) and the {@link RetryBudget} allows, the browser is put back to the last checkpoint and only that phase runs
+ * again. A failed assertion is a verdict and is not retried, and neither is a phase after a checkpoint with no way
+ * back (once the app has committed something the phase cannot redo).
+ *
+ * <p>Each attempt becomes a {@code phase} event in the run log. Not thread-safe: one runner per test thread.
+ */
+public class PhaseRunner {
+    private final String journey;
+    private final RetryBudget budget;
+    private final List<Attempt> attempts = new ArrayList<>();
+    private Checkpoint checkpoint;
+    private FailureCapture capture;
+    private WebDriver driver;
+    private RunArtifacts artifacts;
+
+    /** A state the journey can return to; {@code restore} brings the browser back to it, null if nothing can. */
+    public record Checkpoint(String name, Runnable restore) {
+        public boolean restorable() {
+            return restore != null;
+        }
+    }
+
+    /** One run of a phase: {@code status} is PASS, RETRY (failed, ran again) or FAIL; {@code capture} by kind. */
+    public record Attempt(String phase, int attempt, String from, long millis, String status, String error,
+                          Map<String, String> capture) {
+    }
+
+    public PhaseRunner(String journey, RetryBudget budget, Checkpoint start) {
+        this.journey = journey;
+        this.budget = budget;
+        this.checkpoint = start;
+    }
+
+    /** Captures {@code driver}'s page on every failed attempt; null turns capturing off. */
+    public PhaseRunner withCapture(FailureCapture capture, WebDriver driver) {
+        this.capture = capture;
+        this.driver = driver;
+        return this;
+    }
+
+    /** Logs every attempt as a {@code phase} event; null turns logging off. */
+    public PhaseRunner withArtifacts(RunArtifacts artifacts) {
+        this.artifacts = artifacts;
+        return this;
+    }
+
+    public void run(String phase, Runnable body) {
+        call(phase, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /** Runs {@code body}, again from the last checkpoint while its failures are retryable and the budget lasts. */
+    public <T> T call(String phase, Supplier<T> body) {
+        for (int attempt = 1; ; attempt++) {
+            String from = checkpoint.name();
+            long start = System.nanoTime();
+            try {
+                T value = body.get();
+                record(new Attempt(phase, attempt, from, millisSince(start), "PASS", null, Map.of()));
+                return value;
+            } catch (RuntimeException | AssertionError e) {
+                long millis = millisSince(start);
+                Map<String, String> captured = capture == null ? Map.of() : capture.capture(driver);
+                boolean retry = retryable(e) && checkpoint.restorable() && budget.tryAcquire(attempt - 1);
+                record(new Attempt(phase, attempt, from, millis, retry ? "RETRY" : "FAIL", String.valueOf(e.getMessage()), captured));
+                if (!retry) throw e;
+                System.out.println("Phase '" + phase + "' of " + journey + " failed (" + e.getClass().getSimpleName()
+                        + "); retrying from checkpoint '" + from + "' (retries: " + budget + ")");
+                try {
+                    checkpoint.restore().run();
+                } catch (RuntimeException | AssertionError restoreFailed) {
+                    e.addSuppressed(restoreFailed);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /** Marks the state reached so far; later phases retry from here. {@code restore} null: no way back. */
+    public void checkpoint(String name, Runnable restore) {
+        checkpoint = new Checkpoint(name, restore);
+    }
+
+    public Checkpoint lastCheckpoint() {
+        return checkpoint;
+    }
+
+    public List<Attempt> attempts() {
+        return List.copyOf(attempts);
+    }
+
+    /** Attempts that failed and were run again. */
+    public int retries() {
+        return (int) attempts.stream().filter(a -> a.status().equals("RETRY")).count();
+    }
+
+    /** The capture of the attempt that failed the journey, if the journey failed in a phase. */
+    public Optional<Map<String, String>> finalFailure() {
+        if (attempts.isEmpty()) return Optional.empty();
+        Attempt last = attempts.get(attempts.size() - 1);
+        return last.status().equals("FAIL") ? Optional.of(last.capture()) : Optional.empty();
+    }
+
+    /**
+     * Browser-side failures: anything a fresh page load may cure. A browser that went away is not, nor is an
+     * assertion about what the app answered.
+     */
+    static boolean retryable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof NoSuchSessionException || t instanceof UnreachableBrowserException) return false;
+            if (t instanceof WebDriverException) return true;
+        }
+        return false;
+    }
+
+    private void record(Attempt attempt) {
+        attempts.add(attempt);
+        if (artifacts == null) return;
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("journey", journey);
+        fields.put("phase", attempt.phase());
+        fields.put("attempt", attempt.attempt());
+        fields.put("from", attempt.from());
+        fields.put("status", attempt.status());
+        fields.put("millis", attempt.millis());
+        if (attempt.error() != null) fields.put("error", attempt.error());
+        fields.putAll(attempt.capture());
+        artifacts.event("phase", fields);
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
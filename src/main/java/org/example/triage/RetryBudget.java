@@ -0,0 +1,57 @@
+package org.example.triage;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * How often failed phases may run again: at most {@code perPhase} times each, and {@code total} times across the run.
+ * Shared by every test thread, so a broken environment turns the suite red after a few quick retries instead of
+ * multiplying its run time.
+ */
+public final class RetryBudget {
+    private final int perPhase;
+    private final int total;
+    private final AtomicInteger spent = new AtomicInteger();
+
+    public RetryBudget(int perPhase, int total) {
+        this.perPhase = Math.max(0, perPhase);
+        this.total = Math.max(0, total);
+    }
+
+    /** -Dretry.phase (retries per phase, default 1) and -Dretry.budget (retries per run, default 3); none with -Dretry=false. */
+    public static RetryBudget fromSystemProperties() {
+        if (!enabled()) return none();
+        return new RetryBudget(Integer.getInteger("retry.phase", 1), Integer.getInteger("retry.budget", 3));
+    }
+
+    public static boolean enabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("retry", "true"));
+    }
+
+    /** Failures are still captured, but every phase runs once. */
+    public static RetryBudget none() {
+        return new RetryBudget(0, 0);
+    }
+
+    /** Takes a retry for a phase that has been retried {@code retries} times already; false when either limit is reached. */
+    public boolean tryAcquire(int retries) {
+        if (retries >= perPhase) return false;
+        while (true) {
+            int used = spent.get();
+            if (used >= total) return false;
+            if (spent.compareAndSet(used, used + 1)) return true;
+        }
+    }
+
+    public int spent() {
+        return spent.get();
+    }
+
+    public int remaining() {
+        return total - spent.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d per phase, %d of %d used", perPhase, spent.get(), total);
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.wait;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Learns per-step wait timeouts from observed latencies.
+ *
+ * <p>Once a step has {@code minSamples} successful waits, its timeout becomes {@code p99 × factor}, clamped to
+ * [{@code floor}, hand-picked fallback]. Until then the hand-picked fallback applies. Samples persist between runs,
+ * one file per target host ({@link #defaultFile(String)}): the stand-in answers in milliseconds, and its samples would
+ * pull the live app's timeouts down to the floor.
+ */
+public class StepLatencyModel {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int MAX_SAMPLES = 200;
+
+    private final Map<String, List<Long>> samples = new ConcurrentHashMap<>();
+    private final int minSamples;
+    private final double factor;
+    private final Duration floor;
+
+    public StepLatencyModel(int minSamples, double factor, Duration floor) {
+        this.minSamples = minSamples;
+        this.factor = factor;
+        this.floor = floor;
+    }
+
+    /** Model with -Dwait.minSamples (default 5), -Dwait.factor (default 3.0) and -Dwait.floorMillis (default 5000). */
+    public static StepLatencyModel fromSystemProperties() {
+        return new StepLatencyModel(Integer.getInteger("wait.minSamples", 5),
+                Double.parseDouble(System.getProperty("wait.factor", "3.0")),
+                Duration.ofMillis(Long.getLong("wait.floorMillis", 5000)));
+    }
+
+    /**
+     * File the model for {@code appHost} is kept in between runs: -Dwait.model.file if set, otherwise
+     * {@code wait-latencies-<appHost>.json}.
+     */
+    public static Path defaultFile(String appHost) {
+        String file = System.getProperty("wait.model.file");
+        if (file != null && !file.isBlank()) return Paths.get(file);
+        return Paths.get("wait-latencies-" + appHost.replaceAll("[^A-Za-z0-9.-]", "_") + ".json");
+    }
+
+    public void record(String step, long millis) {
+        List<Long> list = samples.computeIfAbsent(step, k -> Collections.synchronizedList(new ArrayList<>()));
+        synchronized (list) {
+            list.add(millis);
+            if (list.size() > MAX_SAMPLES) list.remove(0);
+        }
+    }
+
+    /** Learned timeout for {@code step}, or {@code fallback} while there is not enough history. */
+    public Duration timeoutFor(String step, Duration fallback) {
+        List<Long> list = samples.get(step);
+        if (list == null) return fallback;
+        long p99;
+        synchronized (list) {
+            if (list.size() < minSamples) return fallback;
+            p99 = percentile(list, 99);
+        }
+        long learned = Math.max(floor.toMillis(), (long) (p99 * factor));
+        return Duration.ofMillis(Math.min(learned, fallback.toMillis()));
+    }
+
+    public int sampleCount(String step) {
+        List<Long> list = samples.get(step);
+        return list == null ? 0 : list.size();
+    }
+
+    /** Nearest-rank percentile of {@code values} (unsorted; must not be empty). */
+    public static long percentile(List<Long> values, int pct) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(pct / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    /** Adds samples from a previous run; a missing or unreadable file just means no history. */
+    public void load(Path file) {
+        if (!Files.exists(file)) return;
+        try {
+            Map<String, List<Long>> stored = JSON.readValue(file.toFile(), new TypeReference<Map<String, List<Long>>>() { });
+            stored.forEach((step, values) -> values.forEach(v -> record(step, v)));
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable wait model " + file + ": " + e.getMessage());
+        }
+    }
+
+    /** Writes a temp file and moves it into place, so a concurrent reader (another shard) never sees half a file. */
+    public void save(Path file) {
+        Map<String, List<Long>> snapshot = new TreeMap<>();
+        samples.forEach((step, list) -> {
+            synchronized (list) {
+                snapshot.put(step, new ArrayList<>(list));
+            }
+        });
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                JSON.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), snapshot);
+                try {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not save wait model to " + file + ": " + e.getMessage());
+        }
+    }
+}
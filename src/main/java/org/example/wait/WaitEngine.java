@@ -0,0 +1,180 @@
+package org.example.wait;
+
+import org.example.timing.StepTimer;
+import org.example.transport.PageEvents;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Central wait API for the journeys: waits on readiness signals instead of fixed sleeps,
+ * and on per-step timeouts learned by {@link StepLatencyModel} instead of hand-picked ones.
+ *
+ * <p>Readiness comes from an in-page probe ({@code wait/readiness.js}) that tracks in-flight fetch/XHR,
+ * DOM mutations and SPA route changes. On Chromium the probe is registered through CDP
+ * ({@code Page.addScriptToEvaluateOnNewDocument}) so it sees requests from the first script onwards.
+ */
+public class WaitEngine {
+    static final String READINESS_SCRIPT = resource("/wait/readiness.js");
+    private static final String SNAPSHOT =
+            "var s = window.__sita9Ready; if (!s) return null;" +
+            "var n = Date.now();" +
+            "return [document.readyState, s.inflight, n - s.lastMutation, n - s.lastNetwork, s.routeChanges, String(location.href)];";
+    private static final Set<WebDriver> PROBE_REGISTERED = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final WebDriver driver;
+    private final StepLatencyModel model;
+    private final Duration quietWindow;
+    private final Duration settleCap;
+    private StepTimer timer;
+    private PageEvents events;
+    private Duration eventPollCap = Duration.ofMillis(Long.getLong("transport.maxPollMillis", 1000));
+
+    /** Engine with -Dwait.quietMillis (default 300) and -Dwait.settleCapMillis (default 5000, the longest former sleep). */
+    public WaitEngine(WebDriver driver, StepLatencyModel model) {
+        this(driver, model, Duration.ofMillis(Long.getLong("wait.quietMillis", 300)),
+                Duration.ofMillis(Long.getLong("wait.settleCapMillis", 5000)));
+    }
+
+    public WaitEngine(WebDriver driver, StepLatencyModel model, Duration quietWindow, Duration settleCap) {
+        this.driver = driver;
+        this.model = model;
+        this.quietWindow = quietWindow;
+        this.settleCap = settleCap;
+        registerProbe(driver);
+    }
+
+    public WebDriver driver() {
+        return driver;
+    }
+
+    /**
+     * Re-checks conditions when {@code events} reports a page change instead of every 500 ms; without an event a
+     * condition is still re-checked after -Dtransport.maxPollMillis (default 1000). Null keeps polling.
+     */
+    public WaitEngine withEvents(PageEvents events) {
+        this.events = events;
+        return this;
+    }
+
+    /** Reports the time spent in every wait to {@code timer} as wait time of its current step. */
+    public WaitEngine timedBy(StepTimer timer) {
+        this.timer = timer;
+        return this;
+    }
+
+    /**
+     * Waits until {@code condition} returns a non-null, non-false value, with the learned timeout for {@code step}
+     * ({@code fallback} until there is enough history). The observed latency feeds the model.
+     */
+    public <T> T until(String step, Duration fallback, Function<? super WebDriver, T> condition) {
+        Duration timeout = model.timeoutFor(step, fallback);
+        long start = System.nanoTime();
+        try {
+            WebDriverWait wait = events == null ? new WebDriverWait(driver, timeout)
+                    : new WebDriverWait(driver, timeout, eventPollCap, Clock.systemDefaultZone(), events);
+            T result = wait.until(condition);
+            model.record(step, (System.nanoTime() - start) / 1_000_000);
+            return result;
+        } catch (TimeoutException e) {
+            throw new TimeoutException("Step '" + step + "' not ready after " + timeout.toMillis() + "ms"
+                    + (timeout.equals(fallback) ? "" : " (learned timeout; fallback " + fallback.toMillis() + "ms)"), e);
+        } finally {
+            if (timer != null) timer.recordWait(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Document complete, then no fetch/XHR in flight and no DOM mutation for the quiet window. Replaces post-action sleeps.
+     * The quiet part is best-effort: a page that never goes quiet (polling, animations) costs at most the settle cap.
+     */
+    public void settle(String step, Duration fallback) {
+        until(step, fallback, d -> {
+            Object[] s = snapshot();
+            return s != null && "complete".equals(s[0]);
+        });
+        bestEffort(step + ".quiet", s -> ((Number) s[1]).intValue() == 0
+                && ((Number) s[2]).longValue() >= quietWindow.toMillis()
+                && ((Number) s[3]).longValue() >= quietWindow.toMillis());
+    }
+
+    /** No DOM mutation for the quiet window (e.g. after a click that re-renders a component); best-effort like {@link #settle}. */
+    public void domQuiet(String step) {
+        bestEffort(step, s -> ((Number) s[2]).longValue() >= quietWindow.toMillis());
+    }
+
+    private void bestEffort(String step, Predicate<Object[]> quiet) {
+        try {
+            until(step, settleCap, d -> {
+                Object[] s = snapshot();
+                return s != null && quiet.test(s);
+            });
+        } catch (TimeoutException e) {
+            System.out.println("Step '" + step + "': page still busy after " + settleCap.toMillis() + "ms, continuing.");
+        }
+    }
+
+    /** The SPA route (history API, hash or full navigation) moved away from {@code fromUrl}; returns the new URL. */
+    public String routeChange(String step, Duration fallback, String fromUrl) {
+        return until(step, fallback, d -> {
+            Object[] s = snapshot();
+            String url = s != null ? (String) s[5] : d.getCurrentUrl();
+            return url.equals(fromUrl) ? null : url;
+        });
+    }
+
+    /** Probe state of the current document, installing the probe first if this document predates it. */
+    private Object[] snapshot() {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        try {
+            Object raw = js.executeScript(SNAPSHOT);
+            if (raw == null) {
+                js.executeScript(READINESS_SCRIPT);
+                raw = js.executeScript(SNAPSHOT);
+            }
+            return raw == null ? null : ((List<?>) raw).toArray();
+        } catch (JavascriptException e) {
+            // document is being replaced mid-navigation; poll again
+            return null;
+        }
+    }
+
+    private static void registerProbe(WebDriver driver) {
+        // decorated drivers (step timing, locator cache) are new per test; register once per underlying browser
+        while (driver instanceof WrapsDriver) driver = ((WrapsDriver) driver).getWrappedDriver();
+        if (!(driver instanceof HasCdp) || !PROBE_REGISTERED.add(driver)) return;
+        try {
+            ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", READINESS_SCRIPT));
+        } catch (RuntimeException e) {
+            PROBE_REGISTERED.remove(driver);
+            System.err.println("Could not register readiness probe via CDP, installing on demand: " + e.getMessage());
+        }
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = WaitEngine.class.getResourceAsStream(name)) {
+            if (in == null) throw new IllegalStateException("Missing resource " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+// Runs a list of fill/click operations in one executeAsyncScript call. Each operation waits (polling every 25 ms,
+// up to arguments[1] ms) for its element to be rendered, visible and enabled, then acts like a user would as far
+// as the page can tell: value through the native setter plus bubbling input/change events (so React-style state
+// sees it), clicks through element.click(). Stops at the first failure; returns one result per attempted operation.
+(function (ops, timeout, done) {
+  var results = [];
+
+  function normalize(t) {
+    return t.replace(/[ \t\r\n]+/g, ' ').replace(/^ | $/g, '');
+  }
+
+  function find(op) {
+    if (op.kind === 'xpath') {
+      return document.evaluate(op.selector, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+    }
+    var nodes = document.querySelectorAll(op.selector);
+    if (op.kind === 'css') return nodes[0] || null;
+    for (var i = 0; i < nodes.length; i++) {
+      var t = op.mode === 'CONTAINS' ? nodes[i].textContent : normalize(nodes[i].textContent);
+      for (var j = 0; j < op.texts.length; j++) {
+        if (op.mode === 'EXACT_NORMALIZED' ? t === op.texts[j] : t.indexOf(op.texts[j]) >= 0) return nodes[i];
+      }
+    }
+    return null;
+  }
+
+  function ready(el) {
+    return el && el.getClientRects().length > 0 && !el.disabled;
+  }
+
+  function act(op, el) {
+    if (el.scrollIntoView) el.scrollIntoView({block: 'center'});
+    if (op.op !== 'fill') {
+      el.click();
+      return;
+    }
+    el.focus();
+    var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;
+    Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, op.value);
+    el.dispatchEvent(new Event('input', {bubbles: true}));
+    el.dispatchEvent(new Event('change', {bubbles: true}));
+  }
+
+  function run(i) {
+    if (i >= ops.length) return done(results);
+    var op = ops[i], start = Date.now();
+    (function attempt() {
+      var el;
+      try {
+        el = find(op);
+        if (ready(el)) {
+          act(op, el);
+          results.push({name: op.name, op: op.op, ok: true, ms: Date.now() - start});
+          return setTimeout(function () { run(i + 1); }, 0);
+        }
+      } catch (e) {
+        results.push({name: op.name, op: op.op, ok: false, ms: Date.now() - start, error: String(e)});
+        return done(results);
+      }
+      if (Date.now() - start >= timeout) {
+        results.push({name: op.name, op: op.op, ok: false, ms: Date.now() - start,
+          error: el ? 'not visible/enabled' : 'not found'});
+        return done(results);
+      }
+      setTimeout(attempt, 25);
+    })();
+  }
+
+  run(0);
+})(arguments[0], arguments[1], arguments[arguments.length - 1]);
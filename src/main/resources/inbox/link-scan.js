@@ -0,0 +1,25 @@
+// Finds a link in the page without serialising it: walks attribute values, text and comments in document order and
+// returns, for the first arguments[3] occurrences of the literal arguments[0], the text around each (arguments[1]
+// characters before, arguments[2] after). The caller runs the exact pattern over these windows.
+return (function (hint, before, after, limit) {
+  var windows = [];
+
+  function scan(text) {
+    var at = text.indexOf(hint);
+    while (at >= 0 && windows.length < limit) {
+      windows.push(text.substring(Math.max(0, at - before), Math.min(text.length, at + hint.length + after)));
+      at = text.indexOf(hint, at + hint.length);
+    }
+  }
+
+  var walker = document.createTreeWalker(document.documentElement || document,
+      NodeFilter.SHOW_ELEMENT | NodeFilter.SHOW_TEXT | NodeFilter.SHOW_COMMENT, null, false);
+  for (var node = walker.currentNode; node && windows.length < limit; node = walker.nextNode()) {
+    if (node.nodeType === 1) {
+      for (var i = 0; i < node.attributes.length && windows.length < limit; i++) scan(node.attributes[i].value);
+    } else {
+      scan(node.nodeValue);
+    }
+  }
+  return windows;
+})(arguments[0], arguments[1], arguments[2], arguments[3]);
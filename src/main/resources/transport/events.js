@@ -0,0 +1,20 @@
+// Pushes DOM changes to the test over CDP: a MutationObserver calls the Runtime binding window.__sita9Notify,
+// at most once per __GAP__ ms (leading and trailing edge), so waits re-check when the page changed instead of
+// polling on a timer. Idempotent; installed on every new document.
+(function () {
+  if (window.__sita9Events || !window.MutationObserver) return;
+  window.__sita9Events = true;
+  var gap = __GAP__, last = 0, timer = null;
+
+  function notify() {
+    timer = null;
+    last = Date.now();
+    try { window.__sita9Notify('dom'); } catch (e) { /* binding not installed in this context */ }
+  }
+
+  new MutationObserver(function () {
+    if (timer) return;
+    var wait = Math.max(0, last + gap - Date.now());
+    timer = setTimeout(notify, wait);
+  }).observe(document, { childList: true, subtree: true, attributes: true, characterData: true });
+})();
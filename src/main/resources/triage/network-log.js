@@ -0,0 +1,23 @@
+// Requests the page made, from the browser's resource timing buffer: enough to see which call was slow, failed or
+// never answered when a wait timed out, without a proxy or a logging capability. Keeps the last arguments[0]
+// entries (the navigation first when it fits) and returns them as JSON.
+return (function (limit) {
+  var perf = window.performance;
+  if (!perf || !perf.getEntriesByType) return null;
+  var entries = perf.getEntriesByType('navigation').concat(perf.getEntriesByType('resource'));
+  entries = entries.slice(Math.max(0, entries.length - limit));
+  return JSON.stringify({
+    url: location.href,
+    timeOrigin: Math.round(perf.timeOrigin || 0),
+    entries: entries.map(function (e) {
+      return {
+        name: e.name,
+        type: e.initiatorType || e.entryType,
+        start: Math.round(e.startTime),
+        ms: Math.round(e.duration),
+        bytes: e.transferSize === undefined ? null : e.transferSize,
+        status: e.responseStatus === undefined ? null : e.responseStatus
+      };
+    })
+  });
+})(arguments[0]);
@@ -0,0 +1,58 @@
+// Installs window.__sita9Ready: in-flight fetch/XHR count, last DOM mutation, last network activity and
+// SPA route changes. Idempotent; installed on every new document via CDP when available, otherwise on demand.
+(function () {
+  if (window.__sita9Ready) return;
+  var now = function () { return Date.now(); };
+  var state = window.__sita9Ready = {
+    inflight: 0,
+    lastMutation: now(),
+    lastNetwork: now(),
+    routeChanges: 0,
+    route: String(location.href)
+  };
+
+  function started() { state.inflight++; state.lastNetwork = now(); }
+  function finished() { state.inflight = Math.max(0, state.inflight - 1); state.lastNetwork = now(); }
+
+  if (window.fetch) {
+    var originalFetch = window.fetch;
+    window.fetch = function () {
+      started();
+      return originalFetch.apply(this, arguments).then(
+        function (response) { finished(); return response; },
+        function (error) { finished(); throw error; });
+    };
+  }
+
+  if (window.XMLHttpRequest) {
+    var originalSend = XMLHttpRequest.prototype.send;
+    XMLHttpRequest.prototype.send = function () {
+      var xhr = this, done = false;
+      started();
+      xhr.addEventListener('loadend', function () { if (!done) { done = true; finished(); } });
+      return originalSend.apply(xhr, arguments);
+    };
+  }
+
+  function routeChanged() {
+    if (String(location.href) !== state.route) {
+      state.route = String(location.href);
+      state.routeChanges++;
+    }
+  }
+  ['pushState', 'replaceState'].forEach(function (name) {
+    var original = history[name];
+    history[name] = function () {
+      var result = original.apply(this, arguments);
+      routeChanged();
+      return result;
+    };
+  });
+  window.addEventListener('popstate', routeChanged);
+  window.addEventListener('hashchange', routeChanged);
+
+  if (window.MutationObserver) {
+    new MutationObserver(function () { state.lastMutation = now(); })
+      .observe(document, { childList: true, subtree: true, attributes: true, characterData: true });
+  }
+})();
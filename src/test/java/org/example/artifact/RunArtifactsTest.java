@@ -0,0 +1,86 @@
+package org.example.artifact;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.sita9.SignupEmailLog;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class RunArtifactsTest {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test
+    public void concurrentEventsLandWholeAndFsyncsAreCoalesced() throws Exception {
+        Path dir = Files.createTempDirectory("run-artifacts");
+        try (RunArtifacts artifacts = new RunArtifacts(dir, "t1")) {
+            SignupEmailLog emails = new SignupEmailLog(dir.resolve("signup-emails.txt")).withSink(artifacts);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int id = t;
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < 250; i++) artifacts.event("step", Map.of("worker", id, "i", i));
+                    emails.append("sita9_test" + id + "@mailinator.com");
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) thread.join();
+            artifacts.flush().get(10, TimeUnit.SECONDS);
+
+            List<String> lines = Files.readAllLines(artifacts.log());
+            Assert.assertEquals(lines.size(), 8 * 250 + 8);
+            for (String line : lines) {
+                JsonNode event = JSON.readTree(line);
+                Assert.assertTrue(event.has("ts") && event.has("thread") && event.has("type"), line);
+            }
+            Assert.assertEquals(Files.readAllLines(emails.file()).size(), 8);
+            Assert.assertTrue(artifacts.batches() < artifacts.written(), artifacts.toString());
+            Assert.assertTrue(artifacts.syncs() <= artifacts.batches() * 2, artifacts.toString());
+        }
+    }
+
+    @Test
+    public void blobsAreStoredOncePerContent() throws Exception {
+        Path dir = Files.createTempDirectory("run-artifacts");
+        byte[] png = "not really a png".getBytes(StandardCharsets.UTF_8);
+        try (RunArtifacts artifacts = new RunArtifacts(dir, "t2")) {
+            String first = artifacts.store(png, "png");
+            String again = artifacts.store(png.clone(), "png");
+            Assert.assertEquals(again, first);
+            Assert.assertEquals(first, "blobs/" + RunArtifacts.sha256(png).substring(0, 2) + "/" + RunArtifacts.sha256(png) + ".png");
+            artifacts.flush().get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(Files.readAllBytes(dir.resolve(first)), png);
+        }
+        // a later run finds the blob already there and leaves it alone
+        try (RunArtifacts next = new RunArtifacts(dir, "t3")) {
+            next.store(png, "png");
+            next.flush().get(10, TimeUnit.SECONDS);
+            try (Stream<Path> files = Files.walk(dir.resolve("blobs"))) {
+                Assert.assertEquals(files.filter(Files::isRegularFile).count(), 1);
+            }
+        }
+    }
+
+    @Test
+    public void closeDrainsTheQueueAndLateWritesStillLand() throws Exception {
+        Path dir = Files.createTempDirectory("run-artifacts");
+        Path trace = dir.resolve("timings/trace.csv");
+        RunArtifacts artifacts = new RunArtifacts(dir, "t4");
+        for (int i = 0; i < 5000; i++) artifacts.append(trace, "row" + i + "\n");
+        artifacts.close();
+        Assert.assertEquals(Files.readAllLines(trace).size(), 5000);
+
+        artifacts.event("late", Map.of());
+        Assert.assertEquals(Files.readAllLines(artifacts.log()).size(), 1);
+        // every queued operation but the close's own flush is a write
+        Assert.assertEquals(artifacts.written(), artifacts.queued() - 1);
+    }
+}
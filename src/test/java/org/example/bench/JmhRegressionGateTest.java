@@ -0,0 +1,74 @@
+package org.example.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class JmhRegressionGateTest {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test
+    public void slowerBeyondNoiseAndThresholdIsARegression() {
+        JsonNode baseline = runs(run("Regex.find", "avgt", 100, 2, null));
+        List<JmhRegressionGate.Finding> findings = JmhRegressionGate.compare(baseline,
+                runs(run("Regex.find", "avgt", 120, 2, null)), 10);
+        Assert.assertEquals(findings.size(), 1);
+        Assert.assertEquals(findings.get(0).slowerPercent(), 20.0, 1e-9);
+        Assert.assertTrue(findings.get(0).regression());
+
+        // within the threshold, or inside the error bars: not a regression
+        Assert.assertFalse(JmhRegressionGate.compare(baseline, runs(run("Regex.find", "avgt", 105, 2, null)), 10).get(0).regression());
+        Assert.assertFalse(JmhRegressionGate.compare(baseline, runs(run("Regex.find", "avgt", 120, 25, null)), 10).get(0).regression());
+    }
+
+    @Test
+    public void throughputRegressesWhenItDrops() {
+        JsonNode baseline = runs(run("Log.append", "thrpt", 1000, 10, null));
+        Assert.assertTrue(JmhRegressionGate.compare(baseline, runs(run("Log.append", "thrpt", 800, 10, null)), 10).get(0).regression());
+        JmhRegressionGate.Finding faster = JmhRegressionGate.compare(baseline, runs(run("Log.append", "thrpt", 1500, 10, null)), 10).get(0);
+        Assert.assertFalse(faster.regression());
+        Assert.assertTrue(faster.slowerPercent() < 0);
+    }
+
+    @Test
+    public void allocationGrowthIsJudgedSeparatelyAndParamsKeepRunsApart() {
+        ObjectNode hitBefore = run("Regex.find", "avgt", 100, 1, 48.0);
+        hitBefore.putObject("params").put("fixture", "hit");
+        ObjectNode missBefore = run("Regex.find", "avgt", 300, 1, 48.0);
+        missBefore.putObject("params").put("fixture", "miss");
+        ObjectNode hitAfter = run("Regex.find", "avgt", 100, 1, 4096.0);
+        hitAfter.putObject("params").put("fixture", "hit");
+        ObjectNode missAfter = run("Regex.find", "avgt", 300, 1, 72.0);
+        missAfter.putObject("params").put("fixture", "miss");
+
+        List<JmhRegressionGate.Finding> findings = JmhRegressionGate.compare(runs(hitBefore, missBefore), runs(hitAfter, missAfter), 10);
+        Assert.assertEquals(findings.size(), 4);
+        Assert.assertEquals(findings.get(0).benchmark(), "Regex.find{fixture=hit}");
+        Assert.assertFalse(findings.get(0).regression());
+        Assert.assertEquals(findings.get(1).metric(), "alloc");
+        Assert.assertTrue(findings.get(1).regression());
+        // +50% but only 24 bytes per operation: below the floor
+        Assert.assertFalse(findings.get(3).regression());
+    }
+
+    private static JsonNode runs(ObjectNode... runs) {
+        ArrayNode array = JSON.createArrayNode();
+        for (ObjectNode run : runs) array.add(run);
+        return array;
+    }
+
+    private static ObjectNode run(String benchmark, String mode, double score, double error, Double allocated) {
+        ObjectNode run = JSON.createObjectNode().put("benchmark", benchmark).put("mode", mode);
+        run.putObject("primaryMetric").put("score", score).put("scoreError", error).put("scoreUnit", "us/op");
+        ObjectNode secondary = run.putObject("secondaryMetrics");
+        if (allocated != null) {
+            secondary.putObject("gc.alloc.rate.norm").put("score", allocated).put("scoreError", 0.0).put("scoreUnit", "B/op");
+        }
+        return run;
+    }
+}
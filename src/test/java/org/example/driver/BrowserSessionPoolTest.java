@@ -0,0 +1,144 @@
+package org.example.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class BrowserSessionPoolTest {
+
+    private final List<StubDriver> launched = new ArrayList<>();
+
+    private synchronized WebDriver launch() {
+        StubDriver stub = new StubDriver();
+        launched.add(stub);
+        return stub.driver;
+    }
+
+    @Test
+    public void reusesReleasedSessionAndCountsHits() {
+        try (BrowserSessionPool pool = new BrowserSessionPool(this::launch, 1, 10)) {
+            PooledSession first = pool.acquire();
+            pool.release(first);
+            PooledSession second = pool.acquire();
+
+            Assert.assertSame(second, first);
+            Assert.assertEquals(second.uses(), 2);
+            Assert.assertEquals(pool.stats().misses(), 1);
+            Assert.assertEquals(pool.stats().hits(), 1);
+            pool.release(second);
+        }
+    }
+
+    @Test
+    public void releaseWipesCookiesAndExtraWindows() {
+        try (BrowserSessionPool pool = new BrowserSessionPool(this::launch, 1, 10)) {
+            PooledSession session = pool.acquire();
+            StubDriver stub = stubOf(session);
+            stub.windows.add("mailinator");
+
+            pool.release(session);
+
+            Assert.assertEquals(stub.windows, Set.of("main"));
+            Assert.assertEquals(stub.cookieClears, 1);
+            Assert.assertFalse(stub.quit.get());
+        }
+    }
+
+    @Test
+    public void checksHealthOfASessionHandedOverWhileWaiting() {
+        AtomicInteger launches = new AtomicInteger();
+        Supplier<WebDriver> firstLaunchDies = () -> {
+            if (launches.incrementAndGet() > 1) return launch();
+            try {
+                // still launching when acquire() finds no free slot and starts waiting
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StubDriver dead = new StubDriver();
+            dead.alive.set(false);
+            return dead.driver;
+        };
+        try (BrowserSessionPool pool = new BrowserSessionPool(firstLaunchDies, 1, 10)) {
+            pool.prewarm();
+            PooledSession session = pool.acquire();
+
+            Assert.assertTrue(BrowserSessionPool.isHealthy(session));
+            Assert.assertEquals(launches.get(), 2);
+            Assert.assertEquals(pool.stats().evicted(), 1);
+            pool.release(session);
+        }
+    }
+
+    @Test
+    public void evictsBrokenAndWornOutSessions() {
+        try (BrowserSessionPool pool = new BrowserSessionPool(this::launch, 1, 2)) {
+            PooledSession session = pool.acquire();
+            pool.release(session);
+            session = pool.acquire();
+            pool.release(session);
+            Assert.assertTrue(stubOf(session).quit.get(), "session at maxUses should be quit");
+
+            PooledSession next = pool.acquire();
+            Assert.assertNotSame(next, session);
+            stubOf(next).alive.set(false);
+            pool.release(next);
+            Assert.assertTrue(pool.stats().evicted() >= 2);
+        }
+    }
+
+    @Test
+    public void neverRunsMoreThanSizeBrowsersWhileLaunchesAreInFlight() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        Supplier<WebDriver> slowLaunch = () -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StubDriver stub = new StubDriver().onQuit(running::decrementAndGet);
+            return stub.driver;
+        };
+        ExecutorService tests = Executors.newFixedThreadPool(6);
+        try (BrowserSessionPool pool = new BrowserSessionPool(slowLaunch, 2, 3)) {
+            pool.prewarm();
+            List<Future<?>> journeys = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                journeys.add(tests.submit(() -> pool.release(pool.acquire())));
+            }
+            for (Future<?> journey : journeys) journey.get(10, TimeUnit.SECONDS);
+            Assert.assertTrue(peak.get() <= 2, "peak browsers " + peak.get());
+        } finally {
+            tests.shutdownNow();
+        }
+    }
+
+    @Test
+    public void replacesSessionsPastTheirMaxAge() {
+        try (BrowserSessionPool pool = new BrowserSessionPool(this::launch, 1, 10).withMaxAge(Duration.ZERO)) {
+            PooledSession session = pool.acquire();
+            pool.release(session);
+
+            Assert.assertTrue(stubOf(session).quit.get(), "session past maxAge should be quit");
+            Assert.assertEquals(pool.stats().evicted(), 1);
+        }
+    }
+
+    private synchronized StubDriver stubOf(PooledSession session) {
+        return launched.stream().filter(stub -> stub.driver == session.driver()).findFirst()
+                .orElseThrow(() -> new AssertionError("unknown session"));
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.driver;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public class ProfileTemplateTest {
+
+    @Test
+    public void buildHashFollowsReferencedAssetsOnly() {
+        String v1 = "<html><script type=\"module\" src=\"/assets/index-3f2a.js\"></script><link href='/assets/index-9c1d.css' rel=stylesheet>";
+        String v1Reordered = "<html><link href=\"/assets/index-9c1d.css\" rel=stylesheet><title>x</title><script src=\"/assets/index-3f2a.js\"></script>";
+        String v2 = "<html><script type=\"module\" src=\"/assets/index-7b44.js\"></script><link href='/assets/index-9c1d.css' rel=stylesheet>";
+
+        Assert.assertEquals(ProfileTemplate.buildHash(v1Reordered), ProfileTemplate.buildHash(v1));
+        Assert.assertNotEquals(ProfileTemplate.buildHash(v2), ProfileTemplate.buildHash(v1));
+    }
+
+    @Test
+    public void rebuildsOnNewBuildAndClonesWithoutLocksOrCookies() throws Exception {
+        AtomicReference<String> html = new AtomicReference<>("<script src=\"/assets/app-1.js\"></script>");
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = html.get().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String appUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+            List<String> visited = new ArrayList<>();
+            Function<Path, WebDriver> launcher = dir -> {
+                writeProfile(dir);
+                return new StubDriver(visited).driver;
+            };
+            ProfileTemplate profile = new ProfileTemplate(Files.createTempDirectory("profile"), 2, Duration.ZERO);
+            List<String> warm = List.of(appUrl, appUrl + "inbox");
+
+            Assert.assertTrue(profile.refreshIfStale(warm, launcher));
+            Assert.assertEquals(visited, List.of(appUrl, appUrl + "inbox", appUrl, appUrl + "inbox"));
+            Assert.assertFalse(profile.refreshIfStale(warm, launcher), "same build: template is current");
+            String firstBuild = profile.builtFor().orElseThrow();
+
+            Path template = profile.template();
+            Assert.assertTrue(Files.exists(template.resolve("Default/Cache/Cache_Data/data_1")));
+            Assert.assertTrue(Files.exists(template.resolve("Default/Code Cache/js/index")));
+            Assert.assertFalse(Files.exists(template.resolve("SingletonLock")));
+            Assert.assertFalse(Files.exists(template.resolve("Default/Cookies")));
+            Assert.assertFalse(Files.exists(template.resolve("Default/Local Storage")));
+
+            Path clone = profile.cloneForSession();
+            Assert.assertEquals(Files.readString(clone.resolve("Default/Cache/Cache_Data/data_1")), "cached bundle");
+            Assert.assertTrue(clone.getFileName().toString().startsWith(ProcessHandle.current().pid() + "-"));
+            Assert.assertNotEquals(profile.cloneForSession(), clone);
+
+            html.set("<script src=\"/assets/app-2.js\"></script>");
+            Assert.assertTrue(profile.refreshIfStale(warm, launcher));
+            Assert.assertNotEquals(profile.builtFor().orElseThrow(), firstBuild);
+            Assert.assertTrue(Files.exists(clone.resolve("Default/Cache/Cache_Data/data_1")), "clones outlive a template swap");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void sweepRemovesClonesOfDeadProcesses() throws Exception {
+        Path root = Files.createTempDirectory("profile");
+        Path dead = Files.createDirectories(root.resolve("sessions/999999999-1/Default"));
+        Path live = Files.createDirectories(root.resolve("sessions/" + ProcessHandle.current().pid() + "-1"));
+
+        new ProfileTemplate(root, 1, Duration.ZERO).sweep();
+
+        Assert.assertFalse(Files.exists(dead.getParent()));
+        Assert.assertTrue(Files.exists(live));
+    }
+
+    /** What Chrome leaves in a user-data-dir after a few page loads. */
+    private static void writeProfile(Path dir) {
+        try {
+            Files.createDirectories(dir.resolve("Default/Cache/Cache_Data"));
+            Files.createDirectories(dir.resolve("Default/Code Cache/js"));
+            Files.createDirectories(dir.resolve("Default/Local Storage/leveldb"));
+            Files.writeString(dir.resolve("Default/Cache/Cache_Data/data_1"), "cached bundle");
+            Files.writeString(dir.resolve("Default/Code Cache/js/index"), "compiled");
+            Files.writeString(dir.resolve("Default/Local Storage/leveldb/000003.log"), "token");
+            Files.writeString(dir.resolve("Default/Cookies"), "sid");
+            Files.writeString(dir.resolve("SingletonLock"), "host-4242");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.driver;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory WebDriver double shared by the unit tests: windows with a current one, a current URL, a cookie jar and a script
+ * timeout; answers scripts with {@code 1}, can be killed. Any method can be answered differently with
+ * {@link #on(String, Answer)}: {@code "findElements"} for the driver, {@code "Options.getCookies"} or
+ * {@code "Timeouts.scriptTimeout"} for what {@code manage()} and {@code switchTo()} return.
+ */
+public class StubDriver {
+    public final AtomicBoolean alive = new AtomicBoolean(true);
+    public final AtomicBoolean quit = new AtomicBoolean();
+    public final Set<String> windows = new LinkedHashSet<>(Set.of("main"));
+    /** Pages opened with {@code get}, {@code about:} pages (pool wipes) excluded; may be shared by several stubs. */
+    public final List<String> visited;
+    public final List<Cookie> cookies = new CopyOnWriteArrayList<>();
+    /** Every script timeout set through {@code manage().timeouts()}. */
+    public final List<Duration> scriptTimeouts = new CopyOnWriteArrayList<>();
+    public volatile int cookieClears;
+    private final AtomicReference<String> currentUrl = new AtomicReference<>("about:blank");
+    private final AtomicReference<String> currentWindow = new AtomicReference<>("main");
+    private volatile Duration scriptTimeout = Duration.ofSeconds(30);
+    private final Map<String, Answer> answers = new ConcurrentHashMap<>();
+    private volatile Answer onNavigate = args -> null;
+    private volatile Runnable onQuit = () -> { };
+    public final WebDriver driver = proxy();
+
+    /** Answer to one stubbed call; may throw, like the browser would. */
+    public interface Answer {
+        Object answer(Object[] args) throws Exception;
+    }
+
+    public StubDriver() {
+        this(new CopyOnWriteArrayList<>());
+    }
+
+    public StubDriver(List<String> visited) {
+        this.visited = visited;
+    }
+
+    /** Answers {@code method} with {@code answer} instead of the default. */
+    public StubDriver on(String method, Answer answer) {
+        answers.put(method, answer);
+        return this;
+    }
+
+    /** Runs {@code hook} with the URL after each recorded {@code get}, e.g. to hold navigations at a latch. */
+    public StubDriver onNavigate(Answer hook) {
+        this.onNavigate = hook;
+        return this;
+    }
+
+    /** Runs {@code hook} on the first quit, e.g. to count the browsers still running. */
+    public StubDriver onQuit(Runnable hook) {
+        this.onQuit = hook;
+        return this;
+    }
+
+    private WebDriver proxy() {
+        return (WebDriver) Proxy.newProxyInstance(StubDriver.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class},
+                (p, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("quit")) {
+                        if (quit.compareAndSet(false, true)) onQuit.run();
+                        return null;
+                    }
+                    if (name.equals("hashCode")) return System.identityHashCode(p);
+                    if (name.equals("equals")) return p == args[0];
+                    if (name.equals("toString")) return "StubDriver";
+                    if (!alive.get() || quit.get()) throw new WebDriverException("session deleted");
+                    Answer answer = answers.get(name);
+                    if (answer != null) return answer.answer(args);
+                    switch (name) {
+                        case "get":
+                            currentUrl.set((String) args[0]);
+                            if (((String) args[0]).startsWith("about:")) return null;
+                            visited.add((String) args[0]);
+                            return onNavigate.answer(args);
+                        case "getCurrentUrl":
+                            return currentUrl.get();
+                        case "getWindowHandles":
+                            return new LinkedHashSet<>(windows);
+                        case "getWindowHandle":
+                            return currentWindow.get();
+                        case "executeScript":
+                            return 1L;
+                        case "close":
+                            windows.remove(currentWindow.get());
+                            return null;
+                        case "manage":
+                        case "switchTo":
+                            return nested(method.getReturnType());
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private Object nested(Class<?> type) {
+        return Proxy.newProxyInstance(StubDriver.class.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+            Answer answer = answers.get(type.getSimpleName() + "." + method.getName());
+            if (answer != null) return answer.answer(args);
+            return answerNested(p, method, args);
+        });
+    }
+
+    private Object answerNested(Object self, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "deleteAllCookies":
+                cookieClears++;
+                cookies.clear();
+                return null;
+            case "addCookie":
+                cookies.add((Cookie) args[0]);
+                return null;
+            case "getCookies":
+                return new LinkedHashSet<>(cookies);
+            case "timeouts":
+                return nested(WebDriver.Timeouts.class);
+            case "getScriptTimeout":
+                return scriptTimeout;
+            case "scriptTimeout":
+                scriptTimeout = (Duration) args[0];
+                scriptTimeouts.add(scriptTimeout);
+                return self;
+            case "window":
+                if (method.getReturnType() != WebDriver.class) return null;
+                if (!windows.contains((String) args[0])) throw new NoSuchWindowException("no such window: " + args[0]);
+                currentWindow.set((String) args[0]);
+                return driver;
+            case "defaultContent":
+                return method.getReturnType() == WebDriver.class ? driver : null;
+            default:
+                return null;
+        }
+    }
+}
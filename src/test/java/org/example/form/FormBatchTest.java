@@ -0,0 +1,61 @@
+package org.example.form;
+
+import org.example.driver.StubDriver;
+import org.example.sita9.Sita9Locators;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class FormBatchTest {
+
+    @Test
+    public void translatesLocatorsToScriptOperations() {
+        Map<String, Object> css = FormBatch.op("fill", Sita9Locators.PROJECT_NAME);
+        Assert.assertEquals(css.get("kind"), "css");
+        Assert.assertEquals(css.get("selector"), "input[name=\"name\"][placeholder=\"e.g., DeFi Exchange Pro\"]");
+
+        Map<String, Object> text = FormBatch.op("click", Sita9Locators.ETHEREUM);
+        Assert.assertEquals(text.get("kind"), "text");
+        Assert.assertEquals(text.get("selector"), "span");
+        Assert.assertEquals(text.get("texts"), List.of("Ethereum"));
+
+        Map<String, Object> xpath = FormBatch.op("click", Sita9Locators.PROJECT_TYPE);
+        Assert.assertEquals(xpath.get("kind"), "xpath");
+        Assert.assertEquals(xpath.get("selector"), "//button[@role='combobox' and .//span[normalize-space()='Select project type']]");
+    }
+
+    @Test
+    public void sendsAllOperationsInOneCallAndReportsEach() {
+        List<Object[]> calls = new ArrayList<>();
+        // page filled the name, then could not find the URL field
+        StubDriver stub = new StubDriver().on("executeAsyncScript", args -> {
+            Assert.assertEquals(args[0], FormBatch.SCRIPT);
+            calls.add((Object[]) args[1]);
+            return List.of(
+                    Map.of("name", "projectName", "op", "fill", "ok", true, "ms", 12L),
+                    Map.of("name", "projectUrl", "op", "fill", "ok", false, "ms", 25_000L, "error", "not found"));
+        });
+        WebDriver driver = stub.driver;
+
+        BatchResult result = new FormBatch()
+                .fill(Sita9Locators.PROJECT_NAME, "DeFi")
+                .fill(Sita9Locators.PROJECT_URL, "https://www.google.com/")
+                .select(Sita9Locators.PROJECT_TYPE, Sita9Locators.DEFI_PROTOCOL)
+                .run(driver, Duration.ofSeconds(25));
+
+        Assert.assertEquals(calls.size(), 1, "one round-trip for the whole batch");
+        Assert.assertEquals(((List<?>) calls.get(0)[0]).size(), 4);
+        Assert.assertEquals(calls.get(0)[1], 25_000L);
+        Assert.assertFalse(result.ok());
+        Assert.assertEquals(result.results().size(), 4);
+        Assert.assertTrue(result.results().get(0).ok());
+        Assert.assertEquals(result.firstFailure().orElseThrow().name(), "projectUrl");
+        Assert.assertEquals(result.results().get(3).error(), "not run");
+        Assert.assertEquals(stub.scriptTimeouts, List.of(Duration.ofSeconds(105), Duration.ofSeconds(30)), "script timeout restored");
+    }
+}
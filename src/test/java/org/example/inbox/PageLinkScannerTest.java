@@ -0,0 +1,78 @@
+package org.example.inbox;
+
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+public class PageLinkScannerTest {
+    private static final Pattern LINK = Pattern.compile("http://app\\.test/verify-email\\?token=[a-zA-Z0-9]+");
+
+    @Test
+    public void findsTheLinkInTextAndAttributesWithoutThePageSource() throws Exception {
+        AtomicInteger pageSources = new AtomicInteger();
+        HtmlUnitDriver driver = driver(pageSources);
+        try {
+            driver.get(page("<a href=\"http://other.test/verify-email?token=elsewhere\">old</a>"
+                    + "<pre>Open http://app.test/verify-email?token=text1 to verify</pre>"));
+            Assert.assertEquals(PageLinkScanner.walk(driver, LINK, "verify-email"), "http://app.test/verify-email?token=text1");
+
+            driver.get(page("<a href=\"http://app.test/verify-email?token=attr2&amp;utm=mail\">Verify</a>"));
+            Assert.assertEquals(PageLinkScanner.walk(driver, LINK, "verify-email"), "http://app.test/verify-email?token=attr2");
+
+            driver.get(page("<p>Still loading</p>"));
+            Assert.assertNull(PageLinkScanner.walk(driver, LINK, "verify-email"));
+            Assert.assertEquals(pageSources.get(), 0);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    @Test
+    public void fallsBackToThePageSourceWhenOccurrencesOverflowOneCall() throws Exception {
+        AtomicInteger pageSources = new AtomicInteger();
+        HtmlUnitDriver driver = driver(pageSources);
+        try {
+            StringBuilder decoys = new StringBuilder();
+            for (int i = 0; i < PageLinkScanner.LIMIT; i++) decoys.append("<p>see /verify-email for help</p>");
+            driver.get(page(decoys + "<p>http://app.test/verify-email?token=late3</p>"));
+            Assert.assertEquals(PageLinkScanner.walk(driver, LINK, "verify-email"), "http://app.test/verify-email?token=late3");
+            Assert.assertEquals(pageSources.get(), 1);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    @Test
+    public void inJvmDriversMatchThePageSource() throws Exception {
+        AtomicInteger pageSources = new AtomicInteger();
+        HtmlUnitDriver driver = driver(pageSources);
+        try {
+            driver.get(page("<p>http://app.test/verify-email?token=local4</p>"));
+            Assert.assertEquals(PageLinkScanner.firstMatch(driver, LINK, "verify-email"), "http://app.test/verify-email?token=local4");
+            Assert.assertEquals(pageSources.get(), 1);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private static HtmlUnitDriver driver(AtomicInteger pageSources) {
+        return new HtmlUnitDriver(true) {
+            @Override
+            public String getPageSource() {
+                pageSources.incrementAndGet();
+                return super.getPageSource();
+            }
+        };
+    }
+
+    private static String page(String body) throws Exception {
+        Path file = Files.createTempFile("link-scan", ".html");
+        Files.writeString(file, "<html><body><h2>Inbox</h2>" + body + "</body></html>");
+        return file.toUri().toString();
+    }
+}
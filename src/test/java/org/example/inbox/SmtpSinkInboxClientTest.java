@@ -0,0 +1,113 @@
+package org.example.inbox;
+
+import org.example.sita9.Sita9Endpoints;
+import org.example.standin.Sita9StandIn;
+import org.example.standin.StandInMailer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+public class SmtpSinkInboxClientTest {
+    private static final Pattern LINK = Pattern.compile("http://app\\.test/verify-email\\?token=[a-zA-Z0-9]+");
+
+    @Test
+    public void completesWaiterWhenMatchingMailArrives() throws Exception {
+        try (SmtpSinkInboxClient sink = SmtpSinkInboxClient.start(0)) {
+            CompletableFuture<String> link = sink.awaitLink("alice@mailinator.com", "support@glyph.network", LINK);
+            Assert.assertFalse(link.isDone());
+
+            StandInMailer.send(sink.address(), "other@example.com", "alice@mailinator.com", "Spam",
+                    "<a href=\"http://app.test/verify-email?token=wrongsender\">x</a>");
+            StandInMailer.send(sink.address(), "support@glyph.network", "alice@mailinator.com", "Verify",
+                    "<a href=\"http://app.test/verify-email?token=abc123\">Verify</a>");
+
+            Assert.assertEquals(link.get(5, TimeUnit.SECONDS), "http://app.test/verify-email?token=abc123");
+        }
+    }
+
+    @Test
+    public void matchesMailThatArrivedBeforeTheWaiter() throws Exception {
+        try (SmtpSinkInboxClient sink = SmtpSinkInboxClient.start(0)) {
+            StandInMailer.send(sink.address(), "support@glyph.network", "bob@mailinator.com", "Verify",
+                    "<a href=\"http://app.test/verify-email?token=early1\">Verify</a>");
+
+            String link = sink.awaitLink("bob@mailinator.com", "support@glyph.network", LINK).get(5, TimeUnit.SECONDS);
+            Assert.assertEquals(link, "http://app.test/verify-email?token=early1");
+        }
+    }
+
+    @Test
+    public void decodesQuotedPrintableBodies() {
+        String raw = "Content-Transfer-Encoding: quoted-printable\r\n\r\n<a href=3D\"http://app.test/verify-=\r\nemail?token=3Dqp42\">";
+        Assert.assertTrue(LINK.matcher(SmtpSinkInboxClient.decode(raw)).find());
+        Assert.assertEquals(SmtpSinkInboxClient.decode("token=12ab"), "token=12ab");
+
+        String utf8 = "Content-Type: text/plain; charset=UTF-8\r\nContent-Transfer-Encoding: quoted-printable\r\n\r\nBest=C3=A4tigen =E2=9C=93";
+        Assert.assertTrue(SmtpSinkInboxClient.decode(utf8).endsWith("Bestätigen ✓"), SmtpSinkInboxClient.decode(utf8));
+        String latin1 = "Content-Type: text/plain; charset=\"ISO-8859-1\"\r\nContent-Transfer-Encoding: quoted-printable\r\n\r\nBest=E4tigen";
+        Assert.assertTrue(SmtpSinkInboxClient.decode(latin1).endsWith("Bestätigen"), SmtpSinkInboxClient.decode(latin1));
+        String lowercase = "Content-Transfer-Encoding: quoted-printable\r\n\r\nverify-email?token=3dab12";
+        Assert.assertTrue(SmtpSinkInboxClient.decode(lowercase).endsWith("verify-email?token=ab12"), SmtpSinkInboxClient.decode(lowercase));
+    }
+
+    @Test
+    public void matchesRecipientsExactlyAndHandsEachMailOutOnce() throws Exception {
+        try (SmtpSinkInboxClient sink = SmtpSinkInboxClient.start(0)) {
+            StandInMailer.send(sink.address(), "support@glyph.network", "aa@mailinator.com", "Verify",
+                    "<a href=\"http://app.test/verify-email?token=aa1\">Verify</a>");
+            StandInMailer.send(sink.address(), "support@glyph.network", "a@mailinator.com", "Verify",
+                    "<a href=\"http://app.test/verify-email?token=a1\">Verify</a>");
+
+            Assert.assertEquals(sink.awaitLink("A@Mailinator.com", "support@glyph.network", LINK).get(5, TimeUnit.SECONDS),
+                    "http://app.test/verify-email?token=a1");
+            // a retry waits for a new mail instead of getting the spent token again
+            CompletableFuture<String> again = sink.awaitLink("a@mailinator.com", "support@glyph.network", LINK);
+            Assert.assertFalse(again.isDone());
+            StandInMailer.send(sink.address(), "support@glyph.network", "a@mailinator.com", "Verify",
+                    "<a href=\"http://app.test/verify-email?token=a2\">Verify</a>");
+            Assert.assertEquals(again.get(5, TimeUnit.SECONDS), "http://app.test/verify-email?token=a2");
+        }
+    }
+
+    @Test
+    public void timedOutWaitsAreDropped() throws Exception {
+        try (SmtpSinkInboxClient sink = SmtpSinkInboxClient.start(0)) {
+            CompletableFuture<String> link = sink.awaitLink("dave@mailinator.com", "support@glyph.network", LINK, Duration.ofMillis(50));
+            ExecutionException e = Assert.expectThrows(ExecutionException.class, link::get);
+            Assert.assertTrue(e.getCause() instanceof TimeoutException, e.toString());
+            Assert.assertEquals(sink.waiting(), 0);
+
+            // the mail that arrives later is still there for the next wait
+            StandInMailer.send(sink.address(), "support@glyph.network", "dave@mailinator.com", "Verify",
+                    "<a href=\"http://app.test/verify-email?token=late1\">Verify</a>");
+            Assert.assertEquals(sink.awaitLink("dave@mailinator.com", "support@glyph.network", LINK).get(5, TimeUnit.SECONDS),
+                    "http://app.test/verify-email?token=late1");
+        }
+    }
+
+    @Test
+    public void standInRelaysVerificationMailToSink() throws Exception {
+        try (Sita9StandIn standIn = Sita9StandIn.start(); SmtpSinkInboxClient sink = SmtpSinkInboxClient.start(0)) {
+            standIn.relayMailTo(sink.address());
+            Sita9Endpoints endpoints = standIn.endpoints();
+            CompletableFuture<String> link = sink.awaitLink("carol@mailinator.com", Sita9Endpoints.VERIFICATION_SENDER, endpoints.verifyEmailLink());
+
+            HttpRequest signup = HttpRequest.newBuilder(URI.create(standIn.baseUrl() + "api/signup"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"carol@mailinator.com\",\"password\":\"Test@123\"}"))
+                    .build();
+            Assert.assertEquals(HttpClient.newHttpClient().send(signup, HttpResponse.BodyHandlers.discarding()).statusCode(), 201);
+
+            Assert.assertTrue(endpoints.verifyEmailLink().matcher(link.get(5, TimeUnit.SECONDS)).matches());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.inbox;
+
+import org.example.driver.LiteSessionFactory;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+public class VerifyLinkFinderTest {
+    private static final Pattern LINK = Pattern.compile("http://app\\.test/verify-email\\?token=[a-zA-Z0-9]+");
+    private static final String MAIL = "<html><body><p>Welcome</p>"
+            + "<a href=\"http://app.test/verify-email?token=inframe1\">Verify email</a></body></html>";
+
+    @Test
+    public void findsTheLinkInTheMessageFrame() throws Exception {
+        assertFound(page("<iframe id=\"msg_body\" src=\"body.html\"></iframe>", MAIL), "http://app.test/verify-email?token=inframe1");
+    }
+
+    @Test
+    public void fallsBackToThePageSource() throws Exception {
+        // the text view: the link is only text, no anchor
+        assertFound(page("<pre>Open http://app.test/verify-email?token=text2 to verify</pre>", null),
+                "http://app.test/verify-email?token=text2");
+    }
+
+    @Test
+    public void keepsPollingWhileTheBodyIsLoading() throws Exception {
+        assertFound(page("<iframe id=\"msg_body\" src=\"body.html\"></iframe>", "<html><body></body></html>"), null);
+        Assert.assertNull(VerifyLinkFinder.firstMatch("<a href=\"http://other.test/verify-email?token=x\">", LINK));
+    }
+
+    private static void assertFound(Path page, String expected) {
+        WebDriver driver = new LiteSessionFactory(false).get();
+        try {
+            driver.get(page.toUri().toString());
+            Assert.assertEquals(new VerifyLinkFinder(LINK).apply(driver), expected);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private static Path page(String content, String frameBody) throws Exception {
+        Path dir = Files.createTempDirectory("verify-link");
+        Files.writeString(dir.resolve("message.html"), "<html><body><h2>Inbox</h2>" + content + "</body></html>");
+        if (frameBody != null) Files.writeString(dir.resolve("body.html"), frameBody);
+        return dir.resolve("message.html");
+    }
+}
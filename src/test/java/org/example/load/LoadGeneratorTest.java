@@ -0,0 +1,86 @@
+package org.example.load;
+
+import org.example.scenario.Scenario;
+import org.example.scenario.ScenarioLoader;
+import org.example.standin.Sita9StandIn;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+public class LoadGeneratorTest {
+
+    @Test
+    public void guardRefusesPublicAndProductionHosts() {
+        TargetGuard guard = new TargetGuard(List.of("staging.sita9.internal", "app-sita9.glyph.network"));
+
+        guard.check(URI.create("http://127.0.0.1:8080/api/signup"));
+        guard.check(URI.create("http://10.1.2.3/"));
+        guard.check(URI.create("http://192.168.0.7/"));
+        guard.check(URI.create("http://[::1]:9000/"));
+        guard.check(URI.create("http://[fd12:3456::1]/"));
+        guard.check(URI.create("https://staging.sita9.internal/api/projects"));
+
+        assertRefused(guard, "http://8.8.8.8/");
+        assertRefused(guard, "http://[2001:4860:4860::8888]/");
+        // allow-listing does not unlock production
+        assertRefused(guard, "https://app-sita9.glyph.network/api/signup");
+        assertRefused(guard, "https://www.mailinator.com/v4/public/inboxes.jsp?to=x");
+    }
+
+    @Test
+    public void flowFollowsPrerequisitesInPlanOrder() {
+        List<Scenario> library = ScenarioLoader.bundled();
+        Scenario analytics = library.stream().filter(s -> s.name().equals("analytics-project")).findFirst().orElseThrow();
+
+        HttpFlow flow = HttpFlow.compile(analytics, library);
+
+        List<String> keys = flow.steps().stream().map(HttpFlow.HttpStep::key).toList();
+        Assert.assertEquals(keys.get(0), "registration.open");
+        Assert.assertTrue(keys.indexOf("registration.verificationLink") < keys.indexOf("registration.openLink"));
+        Assert.assertTrue(keys.indexOf("registration.openLink") < keys.indexOf("login.signIn"));
+        Assert.assertTrue(keys.indexOf("login.signIn") < keys.indexOf("analytics-project.completeSetup"));
+        Assert.assertEquals(flow.vars().get("projectName"), "DeFi");
+        Assert.assertEquals(flow.vars().get("password"), "Test@123");
+    }
+
+    @Test
+    public void replaysSignUpToProjectCreationAgainstStandIn() {
+        List<Scenario> library = ScenarioLoader.bundled();
+        Scenario analytics = library.stream().filter(s -> s.name().equals("analytics-project")).findFirst().orElseThrow();
+        HttpFlow flow = HttpFlow.compile(analytics, library);
+        try (Sita9StandIn standIn = Sita9StandIn.start()) {
+            LoadGenerator generator = new LoadGenerator(flow, standIn.baseUrl(), new TargetGuard(List.of()), 50, Duration.ofSeconds(10));
+
+            LoadStats stats = generator.run(20, Duration.ofSeconds(1), LoadGenerator.Arrivals.CONSTANT);
+
+            Assert.assertEquals(stats.started(), 20, stats.toText());
+            Assert.assertEquals(stats.count(LoadStats.JOURNEY), 20, stats.toText());
+            Assert.assertEquals(stats.errors(LoadStats.JOURNEY), 0, stats.toText());
+            Assert.assertEquals(stats.count("analytics-project.completeSetup"), 20);
+            Assert.assertTrue(stats.percentileMillis("registration.createAccount", 99) > 0);
+        }
+    }
+
+    @Test
+    public void failedStepEndsTheJourneyAndIsCounted() {
+        Scenario broken = ScenarioLoader.bundled().stream().filter(s -> s.name().equals("login")).findFirst().orElseThrow();
+        // login without its verifiedAccount provider: the account does not exist
+        HttpFlow flow = HttpFlow.compile(new Scenario("login-only", null, null, broken.vars(), null, null, broken.steps()), List.of());
+        try (Sita9StandIn standIn = Sita9StandIn.start()) {
+            LoadStats stats = new LoadGenerator(flow, standIn.baseUrl(), new TargetGuard(List.of()), 10, Duration.ofSeconds(10))
+                    .run(10, Duration.ofMillis(300), LoadGenerator.Arrivals.CONSTANT);
+
+            Assert.assertEquals(stats.count("login-only.open"), 3);
+            Assert.assertEquals(stats.errors("login-only.signIn"), 3);
+            Assert.assertEquals(stats.count("login-only.dashboard") + stats.errors("login-only.dashboard"), 0);
+            Assert.assertTrue(stats.toText().contains("POST api/login -> 401 x3"), stats.toText());
+        }
+    }
+
+    private static void assertRefused(TargetGuard guard, String url) {
+        Assert.assertThrows(IllegalArgumentException.class, () -> guard.check(URI.create(url)));
+    }
+}
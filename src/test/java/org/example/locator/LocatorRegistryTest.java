@@ -0,0 +1,162 @@
+package org.example.locator;
+
+import org.example.driver.StubDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LocatorRegistryTest {
+    private static final Locator BUTTON = Locator.css("button", "button");
+
+    /** Page with one element per render; {@link #rerender} detaches the current one. */
+    private static final class StubPage {
+        final AtomicInteger lookups = new AtomicInteger();
+        final List<AtomicBoolean> detached = new ArrayList<>();
+        final WebDriver driver = new StubDriver()
+                .on("findElements", args -> {
+                    lookups.incrementAndGet();
+                    return new ArrayList<>(List.of(element(detached.get(detached.size() - 1))));
+                })
+                .on("findElement", args -> {
+                    lookups.incrementAndGet();
+                    return element(detached.get(detached.size() - 1));
+                })
+                .driver;
+
+        StubPage() {
+            rerender();
+        }
+
+        void rerender() {
+            if (!detached.isEmpty()) detached.get(detached.size() - 1).set(true);
+            detached.add(new AtomicBoolean());
+        }
+
+        private WebElement element(AtomicBoolean gone) {
+            return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+                    (p, method, args) -> {
+                        switch (method.getName()) {
+                            case "hashCode":
+                                return System.identityHashCode(p);
+                            case "equals":
+                                return p == args[0];
+                            case "toString":
+                                return "stub element";
+                            default:
+                                if (gone.get()) throw new StaleElementReferenceException("detached");
+                                return method.getReturnType() == boolean.class ? true : null;
+                        }
+                    });
+        }
+    }
+
+    @Test
+    public void repeatedWaitsReuseTheResolvedElement() {
+        StubPage page = new StubPage();
+        LocatorRegistry registry = new LocatorRegistry(page.driver, true);
+
+        Assert.assertNotNull(registry.visible(BUTTON).apply(registry.driver()));
+        Assert.assertNotNull(registry.clickable(BUTTON).apply(registry.driver()));
+        registry.find(BUTTON);
+
+        Assert.assertEquals(page.lookups.get(), 1);
+        Assert.assertEquals(registry.hits(), 2);
+    }
+
+    @Test
+    public void hiddenMatchIsNotPinnedAcrossPolls() {
+        List<WebElement> matches = new ArrayList<>(List.of(element(false)));
+        WebDriver driver = new StubDriver().on("findElements", args -> new ArrayList<>(matches)).driver;
+        LocatorRegistry registry = new LocatorRegistry(driver, true);
+
+        Assert.assertNull(registry.visible(BUTTON).apply(registry.driver()), "only a hidden template so far");
+        matches.add(0, element(true));
+        WebElement rendered = registry.visible(BUTTON).apply(registry.driver());
+        Assert.assertTrue(rendered != null && rendered.isDisplayed(), "the visible match rendered ahead of it");
+        Assert.assertSame(registry.visible(BUTTON).apply(registry.driver()), rendered, "cached once visible");
+        Assert.assertEquals(registry.misses(), 2);
+        Assert.assertEquals(registry.hits(), 1);
+    }
+
+    private static WebElement element(boolean displayed) {
+        return (WebElement) Proxy.newProxyInstance(LocatorRegistryTest.class.getClassLoader(), new Class<?>[]{WebElement.class},
+                (p, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(p);
+                        case "equals":
+                            return p == args[0];
+                        case "isDisplayed":
+                            return displayed;
+                        default:
+                            return method.getReturnType() == boolean.class ? true : null;
+                    }
+                });
+    }
+
+    @Test
+    public void clickAndNavigationStartANewPageState() {
+        StubPage page = new StubPage();
+        LocatorRegistry registry = new LocatorRegistry(page.driver, true);
+
+        registry.click(BUTTON);
+        registry.find(BUTTON);
+        Assert.assertEquals(page.lookups.get(), 2, "click drops the cache");
+
+        registry.driver().get("http://127.0.0.1/next");
+        registry.find(BUTTON);
+        Assert.assertEquals(page.lookups.get(), 3, "navigation drops the cache");
+    }
+
+    @Test
+    public void staleElementIsResolvedAgain() {
+        StubPage page = new StubPage();
+        LocatorRegistry registry = new LocatorRegistry(page.driver, true);
+        registry.find(BUTTON);
+
+        page.rerender();
+        Assert.assertNotNull(registry.visible(BUTTON).apply(registry.driver()), "same poll re-resolves");
+        Assert.assertEquals(registry.staleEvictions(), 1);
+
+        page.rerender();
+        registry.type(BUTTON, "x");
+        Assert.assertEquals(registry.staleEvictions(), 2);
+        Assert.assertEquals(page.lookups.get(), 3);
+    }
+
+    @Test
+    public void cachingCanBeSwitchedOff() {
+        StubPage page = new StubPage();
+        LocatorRegistry registry = new LocatorRegistry(page.driver, false);
+        registry.find(BUTTON);
+        registry.find(BUTTON);
+        Assert.assertEquals(page.lookups.get(), 2);
+        Assert.assertSame(registry.driver(), page.driver);
+    }
+
+    @Test
+    public void textSelectorRunsOneScriptAgainstTheContext() {
+        List<Object[]> calls = new ArrayList<>();
+        SearchContext context = new StubDriver().on("executeScript", args -> {
+            calls.add((Object[]) args[1]);
+            return List.of();
+        }).driver;
+        By signIn = XPathRewriter.rewrite("//button[normalize-space()='Sign In' or normalize-space()='Sign in']").orElseThrow();
+
+        Assert.assertTrue(signIn.findElements(context).isEmpty());
+        Assert.assertEquals(calls.size(), 1);
+        Assert.assertEquals(calls.get(0)[0], "button");
+        Assert.assertEquals(calls.get(0)[1], List.of("Sign In", "Sign in"));
+        Assert.assertEquals(calls.get(0)[2], "EXACT_NORMALIZED");
+    }
+}
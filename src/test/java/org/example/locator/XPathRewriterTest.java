@@ -0,0 +1,60 @@
+package org.example.locator;
+
+import org.example.sita9.Sita9Locators;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class XPathRewriterTest {
+
+    @Test
+    public void attributePredicatesBecomeCss() {
+        Assert.assertEquals(XPathRewriter.rewrite("//input[@type='email']").orElseThrow(), By.cssSelector("input[type=\"email\"]"));
+        Assert.assertEquals(XPathRewriter.rewrite("//input[@name='url' and @placeholder='https://yourproject.com']").orElseThrow(),
+                By.cssSelector("input[name=\"url\"][placeholder=\"https://yourproject.com\"]"));
+        Assert.assertEquals(XPathRewriter.rewrite("//a[contains(@href, 'verify-email')]").orElseThrow(),
+                By.cssSelector("a[href*=\"verify-email\"]"));
+    }
+
+    @Test
+    public void textPredicatesBecomeTextSelectors() {
+        ByText signIn = (ByText) XPathRewriter.rewrite("//button[normalize-space()='Sign In' or normalize-space()='Sign in']").orElseThrow();
+        Assert.assertEquals(signIn.css(), "button");
+        Assert.assertEquals(signIn.texts(), List.of("Sign In", "Sign in"));
+        Assert.assertEquals(signIn.mode(), ByText.Mode.EXACT_NORMALIZED);
+
+        ByText welcomeBack = (ByText) XPathRewriter.rewrite(
+                "//span[contains(@class,'text-muted-foreground') and normalize-space()='Welcome back']").orElseThrow();
+        Assert.assertEquals(welcomeBack.css(), "span[class*=\"text-muted-foreground\"]");
+        Assert.assertEquals(welcomeBack.texts(), List.of("Welcome back"));
+
+        ByText setupComplete = (ByText) XPathRewriter.rewrite("//h1[contains(normalize-space(),'Setup Complete')]").orElseThrow();
+        Assert.assertEquals(setupComplete.mode(), ByText.Mode.CONTAINS_NORMALIZED);
+
+        ByText checkEmail = (ByText) XPathRewriter.rewrite("//*[contains(., 'Please check your email')]").orElseThrow();
+        Assert.assertEquals(checkEmail.css(), "*");
+        Assert.assertEquals(checkEmail.mode(), ByText.Mode.CONTAINS);
+    }
+
+    @Test
+    public void leavesShapesItCannotExpressAsXPath() {
+        Assert.assertTrue(XPathRewriter.rewrite("//button[@role='combobox' and .//span[normalize-space()='Select project type']]").isEmpty());
+        Assert.assertTrue(XPathRewriter.rewrite("//td[contains(., 'a')] | //td[contains(., 'b')]").isEmpty());
+        Assert.assertTrue(XPathRewriter.rewrite("//h2[contains(.,'Welcome') and contains(.,'SITA9')]").isEmpty(), "one text predicate only");
+        Assert.assertTrue(XPathRewriter.rewrite("//div[text()='x']").isEmpty());
+        Assert.assertTrue(XPathRewriter.rewrite("(//button)[2]").isEmpty());
+
+        Assert.assertFalse(Sita9Locators.PROJECT_TYPE.rewritten());
+        Assert.assertEquals(Sita9Locators.PROJECT_TYPE.by(), Sita9Locators.PROJECT_TYPE.declared());
+    }
+
+    @Test
+    public void keywordsInsideLiteralsAreNotOperators() {
+        ByText terms = (ByText) XPathRewriter.rewrite("//label[normalize-space()='Terms and Conditions']").orElseThrow();
+        Assert.assertEquals(terms.texts(), List.of("Terms and Conditions"));
+        ByText review = (ByText) XPathRewriter.rewrite("//button[normalize-space()='Review or Submit']").orElseThrow();
+        Assert.assertEquals(review.texts(), List.of("Review or Submit"));
+    }
+}
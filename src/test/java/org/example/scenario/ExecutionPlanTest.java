@@ -0,0 +1,89 @@
+package org.example.scenario;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class ExecutionPlanTest {
+
+    private static List<List<String>> stages(ExecutionPlan plan) {
+        return plan.stages().stream().map(s -> s.steps().stream().map(Step::id).toList()).toList();
+    }
+
+    @Test
+    public void groupsStepsBetweenBarriersWithExtractionsFirst() {
+        ExecutionPlan plan = ExecutionPlan.compile(Scenario.of("form", List.of(
+                Step.of("open", Step.Action.CLICK).withLocator("createFirstProject"),
+                Step.of("ready", Step.Action.WAIT_FOR).withLocator("projectType"),
+                Step.of("name", Step.Action.FILL).withLocator("projectName").withValue("DeFi"),
+                Step.of("type", Step.Action.EXTRACT).withLocator("projectType").withInto("type"),
+                Step.of("url", Step.Action.FILL).withLocator("projectUrl").withValue("https://example.org/"),
+                Step.of("next", Step.Action.CLICK).withLocator("nextAddContracts"))));
+
+        Assert.assertEquals(stages(plan),
+                List.of(List.of("open"), List.of("ready"), List.of("type", "name", "url"), List.of("next")));
+        Assert.assertEquals(plan.stages().get(2).fills().size(), 2);
+    }
+
+    @Test
+    public void waitsStayWhereTheyWereDeclared() {
+        ExecutionPlan plan = ExecutionPlan.compile(Scenario.of("barrier", List.of(
+                Step.of("open", Step.Action.CLICK).withLocator("createFirstProject"),
+                Step.of("name", Step.Action.FILL).withLocator("projectName").withValue("DeFi"),
+                Step.of("ready", Step.Action.WAIT_FOR).withLocator("projectType"))));
+        Assert.assertEquals(stages(plan), List.of(List.of("open"), List.of("name"), List.of("ready")));
+
+        plan = ExecutionPlan.compile(Scenario.of("settle", List.of(
+                Step.of("open", Step.Action.CLICK).withLocator("createFirstProject"),
+                Step.of("name", Step.Action.FILL).withLocator("projectName").withValue("DeFi"),
+                Step.of("quiet", Step.Action.SETTLE),
+                Step.of("url", Step.Action.FILL).withLocator("projectUrl").withValue("https://example.org/"),
+                Step.of("next", Step.Action.CLICK).withLocator("nextAddContracts"))));
+        Assert.assertEquals(stages(plan),
+                List.of(List.of("open"), List.of("name"), List.of("quiet"), List.of("url"), List.of("next")));
+    }
+
+    @Test
+    public void orderExtractedVariablesAndExplicitAfter() {
+        ExecutionPlan plan = ExecutionPlan.compile(Scenario.of("extract", List.of(
+                Step.of(null, Step.Action.NAVIGATE),
+                Step.of("read", Step.Action.EXTRACT).withLocator("abiVerified").withInto("token"),
+                Step.of("use", Step.Action.FILL).withLocator("tokenName").withValue("${token}"),
+                Step.of("name", Step.Action.FILL).withLocator("projectName").withValue("DeFi").withAfter("use"))));
+
+        Assert.assertEquals(stages(plan), List.of(List.of("1.navigate"), List.of("read"), List.of("use"), List.of("name")));
+    }
+
+    @Test
+    public void rejectsReadsOfAVariableExtractedLater() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ExecutionPlan.compile(Scenario.of("later", List.of(
+                Step.of(null, Step.Action.NAVIGATE),
+                Step.of("use", Step.Action.FILL).withLocator("tokenName").withValue("${token}"),
+                Step.of("read", Step.Action.EXTRACT).withLocator("abiVerified").withInto("token")))));
+    }
+
+    @Test
+    public void rejectsCyclesUnknownAndDuplicateSteps() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ExecutionPlan.compile(Scenario.of("cycle", List.of(
+                Step.of("a", Step.Action.WAIT_FOR).withAfter("b"),
+                Step.of("b", Step.Action.WAIT_FOR).withAfter("a")))));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ExecutionPlan.compile(Scenario.of("unknown", List.of(
+                Step.of("a", Step.Action.WAIT_FOR).withAfter("missing")))));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ExecutionPlan.compile(Scenario.of("duplicate", List.of(
+                Step.of("a", Step.Action.WAIT_FOR), Step.of("a", Step.Action.SETTLE)))));
+    }
+
+    @Test
+    public void bundledScenariosLoadAndCompile() {
+        List<Scenario> bundled = ScenarioLoader.bundled();
+        Assert.assertEquals(bundled.stream().map(Scenario::name).toList(), List.of("registration", "login", "analytics-project"));
+        for (Scenario scenario : bundled) ExecutionPlan.compile(scenario);
+
+        Scenario login = ScenarioLoader.resource("login.yaml");
+        Assert.assertEquals(login.requires(), List.of("verifiedAccount"));
+        Assert.assertEquals(login.provides(), "loggedIn");
+        Assert.assertEquals(stages(ExecutionPlan.compile(login)).get(1), List.of("email", "password"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ScenarioLoader.parse("{\"name\": \"x\", \"stepz\": []}", false));
+    }
+}
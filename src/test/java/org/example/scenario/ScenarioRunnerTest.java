@@ -0,0 +1,153 @@
+package org.example.scenario;
+
+import org.example.driver.BrowserSessionPool;
+import org.example.driver.LiteSessionFactory;
+import org.example.driver.StubDriver;
+import org.example.sita9.Sita9Endpoints;
+import org.example.standin.Sita9StandIn;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ScenarioRunnerTest {
+    private static final Sita9Endpoints ENDPOINTS = Sita9Endpoints.of("http://stand-in.test/", "http://stand-in.test/inbox?to=");
+    private static final Scenario PROVIDER = new Scenario("provider", "ready", null, null, null, null,
+            List.of(navigate("${appUrl}provide")));
+    private static final Scenario CONSUMER = new Scenario("consumer", null, List.of("ready"), null, null, null,
+            List.of(navigate("${appUrl}consume")));
+
+    private static Step navigate(String url) {
+        return new Step("go", Step.Action.NAVIGATE, null, null, url, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    /** Browsers that record the pages they open (wipes to about:blank excluded), optionally held at a latch. */
+    private static BrowserSessionPool pool(List<String> visited, CountDownLatch meet) {
+        return new BrowserSessionPool(() -> browser(visited, meet), 2, 20);
+    }
+
+    /** Browser that records opened pages into {@code visited}, holds a session cookie, and waits at {@code meet}. */
+    private static WebDriver browser(List<String> visited, CountDownLatch meet) {
+        StubDriver stub = new StubDriver(visited).onNavigate(args -> {
+            meet.countDown();
+            if (!meet.await(5, TimeUnit.SECONDS)) throw new WebDriverException("scenarios did not overlap");
+            return null;
+        });
+        stub.cookies.add(new Cookie("sid", "abc", "/"));
+        return stub.driver;
+    }
+
+    @Test
+    public void runsTheProviderOfAMissingPrerequisiteFirst() {
+        List<String> visited = new CopyOnWriteArrayList<>();
+        AtomicInteger provided = new AtomicInteger();
+        try (BrowserSessionPool pool = pool(visited, new CountDownLatch(0));
+             ScenarioRunner runner = new ScenarioRunner(pool, ENDPOINTS, 1)) {
+            runner.library(List.of(PROVIDER)).withPrerequisites(Map.of("ready", new Prerequisite() {
+                @Override
+                public boolean satisfied(ScenarioContext context) {
+                    return false;
+                }
+
+                @Override
+                public void provided(ScenarioContext context) {
+                    provided.incrementAndGet();
+                }
+            }));
+            ScenarioResult result = runner.run(CONSUMER);
+
+            Assert.assertTrue(result.passed(), result.toString());
+            Assert.assertEquals(result.ran(), List.of("provider", "consumer"));
+            Assert.assertEquals(visited, List.of("http://stand-in.test/provide", "http://stand-in.test/consume"));
+            Assert.assertEquals(provided.get(), 1);
+        }
+    }
+
+    @Test
+    public void skipsAPrerequisiteThatAlreadyHolds() {
+        List<String> visited = new CopyOnWriteArrayList<>();
+        try (BrowserSessionPool pool = pool(visited, new CountDownLatch(0));
+             ScenarioRunner runner = new ScenarioRunner(pool, ENDPOINTS, 1)) {
+            runner.library(List.of(PROVIDER)).withPrerequisites(Map.of("ready", context -> true));
+            ScenarioResult result = runner.run(CONSUMER);
+
+            Assert.assertTrue(result.passed(), result.toString());
+            Assert.assertEquals(result.ran(), List.of("consumer"));
+            Assert.assertEquals(result.skipped(), List.of("ready"));
+            Assert.assertEquals(visited, List.of("http://stand-in.test/consume"));
+        }
+    }
+
+    @Test
+    public void runsScenariosConcurrentlyAndReportsFailuresInOrder() {
+        List<String> visited = new CopyOnWriteArrayList<>();
+        Scenario orphan = new Scenario("orphan", null, List.of("unknownFact"), null, null, null, List.of());
+        Scenario other = Scenario.of("other", List.of(navigate("${appUrl}other")));
+        // both navigations must be in flight at once for either to return
+        try (BrowserSessionPool pool = pool(visited, new CountDownLatch(2));
+             ScenarioRunner runner = new ScenarioRunner(pool, ENDPOINTS, 3)) {
+            List<ScenarioResult> results = runner.runAll(List.of(PROVIDER, orphan, other));
+
+            Assert.assertEquals(results.stream().map(ScenarioResult::name).toList(), List.of("provider", "orphan", "other"));
+            Assert.assertTrue(results.get(0).passed(), results.get(0).toString());
+            Assert.assertFalse(results.get(1).passed());
+            Assert.assertTrue(results.get(1).error().contains("unknownFact"), results.get(1).error());
+            Assert.assertTrue(results.get(2).passed(), results.get(2).toString());
+        }
+    }
+
+    @Test
+    public void handsCookiesAndPageOverToTheLiteTier() {
+        List<String> visited = new CopyOnWriteArrayList<>();
+        List<String> liteVisited = new CopyOnWriteArrayList<>();
+        List<StubDriver> lite = new CopyOnWriteArrayList<>();
+        Scenario mixed = Scenario.of("mixed", List.of(
+                navigate("${appUrl}dashboard"),
+                Step.of("where", Step.Action.EXTRACT).withInto("page").nonVisual()));
+        try (BrowserSessionPool pool = pool(visited, new CountDownLatch(0));
+             ScenarioRunner runner = new ScenarioRunner(pool, ENDPOINTS, 1)) {
+            runner.withLiteTier(() -> {
+                StubDriver stub = new StubDriver(liteVisited);
+                lite.add(stub);
+                return stub.driver;
+            });
+            ScenarioResult result = runner.run(mixed);
+
+            Assert.assertTrue(result.passed(), result.toString());
+            Assert.assertEquals(result.steps(), Map.of(Tier.BROWSER, 1, Tier.LITE, 1));
+            Assert.assertEquals(liteVisited, List.of("http://stand-in.test/", "http://stand-in.test/dashboard"));
+            Assert.assertEquals(lite.get(0).cookies.stream().map(Cookie::getName).toList(), List.of("sid"));
+        }
+    }
+
+    @Test
+    public void nonVisualScenarioNeverStartsChrome() {
+        Scenario check = new Scenario("verify-link", null, null, null,
+                Map.of("status", new Scenario.LocatorSpec("#verify-status", null)), null, List.of(
+                navigate("${appUrl}verify-email?token=unknown").nonVisual(),
+                Step.of("invalid", Step.Action.WAIT_FOR).withLocator("status").nonVisual(),
+                Step.of("message", Step.Action.EXTRACT).withLocator("status").withInto("message").nonVisual()));
+        AtomicInteger launches = new AtomicInteger();
+        try (Sita9StandIn standIn = Sita9StandIn.start();
+             BrowserSessionPool pool = new BrowserSessionPool(() -> {
+                 launches.incrementAndGet();
+                 throw new WebDriverException("no Chrome for non-visual steps");
+             }, 1, 20);
+             ScenarioRunner runner = new ScenarioRunner(pool, standIn.endpoints(), 1)) {
+            runner.withLiteTier(new LiteSessionFactory(false));
+            ScenarioResult result = runner.run(check);
+
+            Assert.assertTrue(result.passed(), result.toString());
+            Assert.assertEquals(result.steps(), Map.of(Tier.LITE, 3));
+            Assert.assertEquals(launches.get(), 0);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.schedule;
+
+import org.example.driver.BrowserSessionPool;
+import org.example.driver.PooledSession;
+import org.example.driver.StubDriver;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+public class ResourceSchedulerTest {
+    private static final long MB = 1 << 20;
+
+    private static ResourceScheduler.Limits limits(int max) {
+        return new ResourceScheduler.Limits(1, max, 0.8, 100 * MB, 200 * MB, Duration.ZERO);
+    }
+
+    @Test
+    public void admitsQueuedExecutionsInArrivalOrder() throws Exception {
+        HostSample idleHost = new HostSample(0.1, 0, 0, 4000 * MB, 8000 * MB);
+        try (ResourceScheduler scheduler = new ResourceScheduler(() -> idleHost, limits(1), Duration.ofMillis(20), null)) {
+            ResourceScheduler.Permit first = scheduler.acquire();
+            List<String> order = Collections.synchronizedList(new ArrayList<>());
+            List<ResourceScheduler.Permit> permits = Collections.synchronizedList(new ArrayList<>());
+            List<Thread> threads = new ArrayList<>();
+            for (String name : List.of("a", "b", "c")) {
+                Thread t = new Thread(() -> {
+                    permits.add(scheduler.acquire());
+                    order.add(name);
+                });
+                t.start();
+                threads.add(t);
+                int queued = threads.size();
+                await(() -> scheduler.stats().queued() == queued);
+            }
+            Assert.assertEquals(scheduler.stats().running(), 1);
+
+            first.close();
+            for (int i = 1; i <= 3; i++) {
+                int admitted = i;
+                await(() -> order.size() == admitted);
+                Assert.assertEquals(scheduler.stats().running(), 1, "max 1 must hold while the queue drains");
+                permits.get(i - 1).close();
+            }
+            for (Thread t : threads) t.join(5_000);
+
+            Assert.assertEquals(order, List.of("a", "b", "c"));
+            Assert.assertEquals(scheduler.stats().admitted(), 4);
+            Assert.assertEquals(scheduler.stats().queued(), 0);
+            Assert.assertEquals(scheduler.stats().running(), 0);
+        }
+    }
+
+    @Test
+    public void holdsBackWhileCpuOrMemoryIsShortAndExportsMetrics() throws Exception {
+        AtomicReference<HostSample> host = new AtomicReference<>(new HostSample(0.95, 500 * MB, 4, 4000 * MB, 8000 * MB));
+        Path metrics = Files.createTempDirectory("scheduler").resolve("scheduler.prom");
+        ResourceScheduler scheduler = new ResourceScheduler(host::get, limits(10), Duration.ofMillis(20), metrics);
+        try {
+            // the minimum is admitted whatever the host looks like
+            ResourceScheduler.Permit first = scheduler.acquire();
+            Thread second = new Thread(() -> scheduler.acquire());
+            second.start();
+            await(() -> "cpu".equals(scheduler.stats().blockedBy()));
+
+            // one more 500 MB browser would leave less than the 100 MB reserve
+            host.set(new HostSample(0.2, 500 * MB, 1, 550 * MB, 8000 * MB));
+            await(() -> "memory".equals(scheduler.stats().blockedBy()));
+            Assert.assertEquals(scheduler.stats().queued(), 1);
+
+            host.set(new HostSample(0.2, 500 * MB, 4, 3000 * MB, 8000 * MB));
+            second.join(5_000);
+            SchedulerStats stats = scheduler.stats();
+            Assert.assertEquals(stats.running(), 2);
+            Assert.assertEquals(stats.queued(), 0);
+            Assert.assertEquals(stats.maxRunning(), 2);
+            Assert.assertNull(stats.blockedBy());
+            first.close();
+            first.close();
+            Assert.assertEquals(scheduler.stats().running(), 1, "closing a permit twice releases once");
+        } finally {
+            scheduler.close();
+        }
+        String text = Files.readString(metrics);
+        Assert.assertTrue(text.contains("sita9_scheduler_running 1\n"), text);
+        Assert.assertTrue(text.contains("sita9_scheduler_running_max 2\n"), text);
+        Assert.assertTrue(text.contains("sita9_browser_rss_bytes " + 500 * MB + "\n"), text);
+    }
+
+    @Test
+    public void sizesABrowserByTheBrowsersOnTheHostNotByPermits() throws Exception {
+        // four 250 MB browsers, e.g. idle pooled ones or another shard's, behind a single permit
+        HostSample host = new HostSample(0.2, 1000 * MB, 4, 400 * MB, 8000 * MB);
+        try (ResourceScheduler scheduler = new ResourceScheduler(() -> host, limits(10), Duration.ofMillis(20), null)) {
+            scheduler.acquire();
+            Thread second = new Thread(() -> scheduler.acquire());
+            second.start();
+            await(() -> scheduler.stats().running() == 2);
+            Assert.assertNull(scheduler.stats().blockedBy());
+        }
+    }
+
+    @Test
+    public void poolPrewarmWaitsForMemoryHeadroom() throws Exception {
+        // 150 MB available: one more 200 MB browser would eat into the 100 MB reserve
+        AtomicReference<HostSample> host = new AtomicReference<>(new HostSample(0.1, -1, 0, 150 * MB, 8000 * MB));
+        AtomicInteger launches = new AtomicInteger();
+        Supplier<WebDriver> launch = () -> {
+            launches.incrementAndGet();
+            return new StubDriver().driver;
+        };
+        try (ResourceScheduler scheduler = new ResourceScheduler(host::get, limits(10), Duration.ofMillis(20), null);
+             BrowserSessionPool pool = new BrowserSessionPool(launch, 3, 10).withAdmission(scheduler::admitsLaunch)) {
+            pool.prewarm();
+            Thread.sleep(100);
+            Assert.assertEquals(launches.get(), 0, "no pre-launch without headroom");
+
+            // an admitted execution still gets its browser
+            ResourceScheduler.Permit permit = scheduler.acquire();
+            PooledSession session = pool.acquire();
+            Assert.assertEquals(launches.get(), 1);
+
+            host.set(new HostSample(0.1, -1, 0, 4000 * MB, 8000 * MB));
+            Thread.sleep(50);
+            pool.prewarm();
+            await(() -> launches.get() == 3);
+            pool.release(session);
+            permit.close();
+        }
+    }
+
+    @Test
+    public void procProbeSumsBrowserRssAndMeasuresCpuBetweenSamples() throws Exception {
+        Path proc = Files.createTempDirectory("proc");
+        Files.writeString(proc.resolve("loadavg"), "0.00 0.00 0.00 1/100 4242\n");
+        Files.writeString(proc.resolve("stat"), "cpu  100 0 100 700 100 0 0 0 0 0\ncpu0 100 0 100 700 100 0 0 0 0 0\n");
+        Files.writeString(proc.resolve("meminfo"), "MemTotal:        8000000 kB\nMemFree:  1000 kB\nMemAvailable:    2000000 kB\n");
+        process(proc, 100, 1, "chrome", 300_000);
+        process(proc, 101, 1, "chrome_crashpad", 10_000);
+        process(proc, 102, 1, "java", 900_000);
+        // a second browser under this JVM: chromedriver, its Chrome and a renderer
+        process(proc, 200, 102, "chromedriver", 20_000);
+        process(proc, 201, 200, "chrome", 150_000);
+        process(proc, 202, 201, "chrome", 100_000);
+        Files.createDirectories(proc.resolve("self"));
+        ProcHostProbe probe = new ProcHostProbe(proc, ProcHostProbe.BROWSER_NAMES);
+
+        HostSample first = probe.sample();
+        Assert.assertEquals(first.browserProcesses(), 2);
+        Assert.assertEquals(first.browserRssBytes(), 580_000L * 1024);
+        Assert.assertEquals(first.availableBytes(), 2_000_000L * 1024);
+        Assert.assertEquals(first.totalBytes(), 8_000_000L * 1024);
+
+        // +300 busy, +100 idle jiffies
+        Files.writeString(proc.resolve("stat"), "cpu  300 0 200 800 100 0 0 0 0 0\n");
+        Assert.assertEquals(probe.sample().cpu(), 0.75, 1e-9);
+    }
+
+    private static void process(Path proc, int pid, int ppid, String name, long rssKb) throws Exception {
+        Path dir = Files.createDirectories(proc.resolve(Integer.toString(pid)));
+        Files.writeString(dir.resolve("status"),
+                "Name:\t" + name + "\nState:\tS (sleeping)\nPPid:\t" + ppid + "\nVmRSS:\t  " + rssKb + " kB\n");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) Assert.fail("condition not reached within 5s");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.session;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+@Test(singleThreaded = true)
+public class SessionStateCacheTest {
+    private static final String ORIGIN = "https://app.test/";
+
+    private Path dir;
+    private MutableClock clock;
+    private SessionStateCache cache;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("session-cache");
+        clock = new MutableClock();
+        cache = new SessionStateCache(dir, Duration.ofMinutes(30), clock);
+    }
+
+    @Test
+    public void roundTripsSnapshotThroughDisk() {
+        cache.store(state("default", clock.millis()));
+
+        SessionState loaded = new SessionStateCache(dir, Duration.ofMinutes(30), clock).load("default", ORIGIN).orElseThrow();
+        Assert.assertEquals(loaded.email(), "user@mailinator.com");
+        Assert.assertEquals(loaded.cookies().get(0).name(), "sita9_sid");
+        Assert.assertNull(loaded.cookies().get(0).expiryMillis());
+        Assert.assertEquals(loaded.localStorage(), Map.of("token", "abc"));
+    }
+
+    @Test
+    public void evictsEntriesOlderThanTtl() {
+        cache.store(state("default", clock.millis()));
+        clock.advance(Duration.ofMinutes(31));
+
+        Assert.assertTrue(cache.load("default", ORIGIN).isEmpty());
+        Assert.assertFalse(Files.exists(cache.fileFor("default", ORIGIN)), "expired snapshot should be deleted");
+    }
+
+    @Test
+    public void keysByIdentityAndOrigin() {
+        cache.store(state("default", clock.millis()));
+
+        Assert.assertTrue(cache.load("other", ORIGIN).isEmpty());
+        Assert.assertTrue(cache.load("default", "http://127.0.0.1:5555/").isEmpty());
+    }
+
+    @Test
+    public void treatsCorruptFileAsMiss() throws IOException {
+        Files.write(cache.fileFor("default", ORIGIN), new byte[]{1, 2, 3});
+
+        Assert.assertTrue(cache.load("default", ORIGIN).isEmpty());
+    }
+
+    private static SessionState state(String identity, long capturedAt) {
+        return new SessionState(identity, "user@mailinator.com", ORIGIN,
+                List.of(new SessionState.StoredCookie("sita9_sid", "s1", "app.test", "/", null, true, true, "Lax")),
+                Map.of("token", "abc"), Map.of(), capturedAt);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
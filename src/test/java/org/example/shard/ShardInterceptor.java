@@ -0,0 +1,66 @@
+package org.example.shard;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the test methods of this shard ({@code -Dshard=i/N}) and drops the rest; registered as a TestNG listener in
+ * the surefire configuration. Without {@code -Dshard} every method runs.
+ *
+ * <p>A method is looked up in the shard history by its name, which is the journey name of its timing trace. A method
+ * with no history (unit tests, new journeys) is placed by the hash of {@code Class#method}.
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+    private static volatile ShardPlan plan;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Optional<ShardPlan.Shard> shard = ShardPlan.fromSystemProperties();
+        if (shard.isEmpty()) return methods;
+        List<IMethodInstance> kept = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            Method m = method.getMethod().getConstructorOrMethod().getMethod();
+            if (runs(shard.get(), m)) kept.add(method);
+        }
+        System.out.println("Shard " + shard.get() + ": " + kept.size() + " of " + methods.size() + " test methods ("
+                + plan(shard.get()) + ")");
+        return kept;
+    }
+
+    /**
+     * True when the suite is sharded and this shard runs none of {@code testClass}'s tests, so its suite setup
+     * (browsers, stand-in, inbox) can be skipped: TestNG runs {@code @BeforeSuite} before it asks the interceptor.
+     */
+    public static boolean skipsAll(Class<?> testClass) {
+        Optional<ShardPlan.Shard> shard = ShardPlan.fromSystemProperties();
+        if (shard.isEmpty()) return false;
+        for (Method m : testClass.getMethods()) {
+            if (m.isAnnotationPresent(Test.class) && runs(shard.get(), m)) return false;
+        }
+        return true;
+    }
+
+    private static boolean runs(ShardPlan.Shard shard, Method method) {
+        ShardPlan plan = plan(shard);
+        String journey = method.getName();
+        return plan.runs(shard, plan.knows(journey) ? journey : method.getDeclaringClass().getName() + "#" + journey);
+    }
+
+    private static ShardPlan plan(ShardPlan.Shard shard) {
+        ShardPlan p = plan;
+        if (p == null) {
+            synchronized (ShardInterceptor.class) {
+                if (plan == null) plan = ShardPlan.balance(ShardHistory.fromSystemProperties(), shard.total());
+                p = plan;
+            }
+        }
+        return p;
+    }
+}
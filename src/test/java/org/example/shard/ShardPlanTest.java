@@ -0,0 +1,113 @@
+package org.example.shard;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ShardPlanTest {
+
+    @Test
+    public void balancesLongestJourneysFirstOntoTheLightestShard() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        durations.put("testSita9Registration", 90_000L);
+        durations.put("testAnalyticsWizard", 80_000L);
+        durations.put("testLoginAfterVerify", 40_000L);
+        durations.put("testResumeSession", 30_000L);
+        durations.put("testProfileUpdate", 30_000L);
+        durations.put("testLogout", 10_000L);
+
+        ShardPlan plan = ShardPlan.balance(durations, 2);
+        // 90+30+30 against 80+40+10: the tied 30s go to the lower shard
+        Assert.assertEquals(plan.load(1), 150_000L);
+        Assert.assertEquals(plan.load(2), 130_000L);
+        Assert.assertEquals(plan.shardOf("testSita9Registration"), 1);
+        Assert.assertEquals(plan.shardOf("testAnalyticsWizard"), 2);
+
+        // same plan whatever order the history was read in, and each journey on exactly one shard
+        ShardPlan again = ShardPlan.balance(new TreeMap<>(durations), 2);
+        List<String> journeys = new ArrayList<>(durations.keySet());
+        ShardPlan.Shard first = new ShardPlan.Shard(1, 2);
+        ShardPlan.Shard second = new ShardPlan.Shard(2, 2);
+        List<String> all = new ArrayList<>(plan.select(first, journeys, j -> j));
+        all.addAll(plan.select(second, journeys, j -> j));
+        Assert.assertEquals(all.size(), journeys.size());
+        Assert.assertTrue(all.containsAll(journeys));
+        for (String journey : journeys) {
+            Assert.assertEquals(again.shardOf(journey), plan.shardOf(journey), journey);
+        }
+    }
+
+    @Test
+    public void unknownJourneysAreHashedAndShardSpecsValidated() {
+        ShardPlan plan = ShardPlan.balance(Map.of("testSita9Registration", 60_000L), 3);
+        Assert.assertFalse(plan.knows("org.example.NewTest#testSomething"));
+        int shard = plan.shardOf("org.example.NewTest#testSomething");
+        Assert.assertTrue(shard >= 1 && shard <= 3);
+        Assert.assertEquals(ShardPlan.balance(Map.of(), 3).shardOf("org.example.NewTest#testSomething"), shard);
+
+        Assert.assertEquals(ShardPlan.Shard.parse(" 2/4 "), new ShardPlan.Shard(2, 4));
+        Assert.expectThrows(IllegalArgumentException.class, () -> ShardPlan.Shard.parse("0/4"));
+        Assert.expectThrows(IllegalArgumentException.class, () -> ShardPlan.Shard.parse("5/4"));
+        Assert.expectThrows(IllegalArgumentException.class, () -> ShardPlan.Shard.parse("two/4"));
+        Assert.expectThrows(IllegalArgumentException.class, () -> ShardPlan.Shard.parse("2"));
+    }
+
+    @Test
+    public void mergesShardReportsTracesAndHistory() throws Exception {
+        Path root = Files.createTempDirectory("shard-merge");
+        Path one = Files.createDirectories(root.resolve("1"));
+        Path two = Files.createDirectories(root.resolve("2"));
+        Files.writeString(one.resolve("TEST-org.Sita9RegistrationTest.xml"), suite(1, 0, "12.5", "testSita9Registration"));
+        Files.writeString(two.resolve("TEST-org.Sita9RegistrationTest.xml"), suite(1, 1, "20.0", "testAnalyticsWizard"));
+        Files.createDirectories(one.resolve("step-timings"));
+        Files.writeString(one.resolve("step-timings/trace-r1.csv"),
+                "runId,worker,journey,step,startMillis,wallMillis,waitMillis,actMillis,roundTrips,outcome\n"
+                        + "r1,w1,testSita9Registration,register,0,7000,5000,2000,3,ok\n"
+                        + "r1,w1,testSita9Registration,verify,7000,5000,4000,1000,2,ok\n");
+
+        String previous = System.getProperty("shard.history");
+        Path history = root.resolve("shard-durations.json");
+        ShardHistory.save(Map.of("testLogout", 10_000L, "testSita9Registration", 1_000L), history);
+        System.setProperty("shard.history", history.toString());
+        try {
+            Path out = root.resolve("merged");
+            ShardMerge.Result result = ShardMerge.merge(out, List.of(one, two));
+            Assert.assertEquals(result.tests(), 2);
+            Assert.assertEquals(result.failures(), 1);
+            Assert.assertFalse(result.passed());
+            Assert.assertEquals(result.seconds(), 20.0, 0.001);
+
+            String merged = Files.readString(out.resolve("TEST-org.Sita9RegistrationTest.xml"));
+            Assert.assertTrue(merged.contains("tests=\"2\""), merged);
+            Assert.assertTrue(merged.contains("failures=\"1\""), merged);
+            Assert.assertTrue(merged.contains("testSita9Registration") && merged.contains("testAnalyticsWizard"), merged);
+            Assert.assertTrue(Files.exists(out.resolve("step-timings/trace-shard1-r1.csv")));
+            Assert.assertTrue(Files.exists(out.resolve("summary.txt")));
+            Assert.assertEquals(ShardHistory.load(history), Map.of("testLogout", 10_000L, "testSita9Registration", 12_000L));
+
+            // a shard that left no report fails the merged run even when every reported test passed
+            Files.writeString(two.resolve("TEST-org.Sita9RegistrationTest.xml"), suite(1, 0, "20.0", "testAnalyticsWizard"));
+            Assert.assertTrue(ShardMerge.merge(root.resolve("merged2"), List.of(one, two)).passed());
+            Assert.assertFalse(ShardMerge.merge(root.resolve("merged3"), List.of(one, two, root.resolve("3"))).passed());
+        } finally {
+            if (previous == null) System.clearProperty("shard.history");
+            else System.setProperty("shard.history", previous);
+        }
+    }
+
+    private static String suite(int tests, int failures, String time, String method) {
+        String failure = failures > 0 ? "<failure message=\"Success message not found\"/>" : "";
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<testsuite name=\"org.Sita9RegistrationTest\" time=\"" + time + "\" tests=\"" + tests
+                + "\" errors=\"0\" skipped=\"0\" failures=\"" + failures + "\">\n"
+                + "  <testcase name=\"" + method + "\" classname=\"org.Sita9RegistrationTest\" time=\"" + time + "\">"
+                + failure + "</testcase>\n</testsuite>\n";
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.standin;
+
+import org.example.sita9.Sita9Endpoints;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.regex.Matcher;
+
+public class Sita9StandInTest {
+    private Sita9StandIn standIn;
+    private HttpClient http;
+
+    @BeforeClass
+    public void start() {
+        standIn = Sita9StandIn.start();
+        http = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stop() {
+        standIn.close();
+    }
+
+    @Test
+    public void servesAppShellForEveryRoute() throws Exception {
+        HttpResponse<String> page = get("login");
+        Assert.assertEquals(page.statusCode(), 200);
+        Assert.assertTrue(page.body().contains("flow-logo-y absolute inset-0"));
+        Assert.assertTrue(page.body().contains("Create Your First Project"));
+    }
+
+    @Test
+    public void signUpVerifyAndLoginWithoutNetwork() throws Exception {
+        Sita9Endpoints endpoints = standIn.endpoints();
+        String email = "standin_user@mailinator.com";
+
+        Assert.assertEquals(post("api/signup", "{\"email\":\"" + email + "\",\"password\":\"Test@123\"}").statusCode(), 201);
+        Assert.assertEquals(post("api/login", "{\"email\":\"" + email + "\",\"password\":\"Test@123\"}").statusCode(), 403,
+                "unverified accounts must not sign in");
+
+        HttpResponse<String> inbox = get("api/inbox?to=standin_user");
+        Assert.assertTrue(inbox.body().contains(Sita9Endpoints.VERIFICATION_SENDER));
+        String messageId = inbox.body().replaceAll("(?s).*\"id\":\"(m\\d+)\".*", "$1");
+        Matcher link = endpoints.verifyEmailLink().matcher(get("inbox/message?id=" + messageId).body());
+        Assert.assertTrue(link.find(), "verify link should match the endpoints' VERIFY_EMAIL_LINK pattern");
+
+        HttpResponse<String> verified = http.send(HttpRequest.newBuilder(URI.create(link.group())).build(), HttpResponse.BodyHandlers.ofString());
+        Assert.assertTrue(verified.body().contains("verified"));
+
+        Assert.assertEquals(post("api/login", "{\"email\":\"" + email + "\",\"password\":\"Test@123\"}").statusCode(), 200);
+        Assert.assertEquals(get("api/session").statusCode(), 200);
+        Assert.assertEquals(post("api/projects", "{\"name\":\"DeFi\",\"network\":\"Ethereum\"}").statusCode(), 201);
+        Assert.assertTrue(get("api/session").body().contains("DeFi"));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(standIn.baseUrl() + path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(standIn.baseUrl() + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
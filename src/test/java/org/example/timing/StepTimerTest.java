@@ -0,0 +1,66 @@
+package org.example.timing;
+
+import org.example.driver.StubDriver;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class StepTimerTest {
+
+    @Test
+    public void countsRoundTripsAndWaitTimePerStep() {
+        StepTimer timer = new StepTimer("run", "worker-1", "testLoginToSita9");
+        WebDriver driver = timer.instrument(new StubDriver().driver);
+        Assert.assertTrue(driver instanceof WrapsDriver, "wait engine unwraps decorated drivers");
+
+        driver.getCurrentUrl();
+        ((JavascriptExecutor) driver).executeScript("return 1");
+        timer.recordWait(40_000_000);
+        timer.lap("login.16");
+        driver.getTitle();
+        List<StepRecord> records = timer.finish(false);
+
+        Assert.assertEquals(records.size(), 2);
+        StepRecord first = records.get(0);
+        Assert.assertEquals(first.step(), "login.16");
+        Assert.assertEquals(first.roundTrips(), 2);
+        Assert.assertEquals(first.waitMillis(), 40);
+        Assert.assertTrue(first.passed());
+        StepRecord unfinished = records.get(1);
+        Assert.assertEquals(unfinished.step(), "login.16.next", "failed journeys record where they stopped");
+        Assert.assertEquals(unfinished.roundTrips(), 1);
+        Assert.assertFalse(unfinished.passed());
+    }
+
+    @Test
+    public void reportMergesTracesFromSeveralRunsAndWorkers() throws Exception {
+        Path dir = Files.createTempDirectory("step-timings");
+        for (int run = 0; run < 2; run++) {
+            TimingTrace trace = new TimingTrace(dir.resolve("shard-" + run), "run" + run);
+            for (int i = 1; i <= 50; i++) {
+                trace.append(List.of(new StepRecord("run" + run, "w" + (i % 3), "j", "reg.1", i, (run * 50L + i) * 10, 5, 4, i != 7)));
+            }
+        }
+
+        TimingReport report = TimingReport.fromTraces(List.of(dir));
+        TimingReport.StepStats stats = report.steps().get(0);
+        Assert.assertEquals(stats.step(), "reg.1");
+        Assert.assertEquals(stats.runs(), 100);
+        Assert.assertEquals(stats.failures(), 2);
+        Assert.assertEquals(stats.p50Millis(), 500);
+        Assert.assertEquals(stats.p95Millis(), 950);
+        Assert.assertEquals(stats.p99Millis(), 990);
+        Assert.assertEquals(stats.waitP50Millis(), 5);
+        Assert.assertEquals(stats.meanRoundTrips(), 4.0);
+
+        report.write(dir);
+        Assert.assertTrue(Files.readString(dir.resolve("report.txt")).contains("reg.1"));
+        Assert.assertTrue(Files.exists(dir.resolve("report.json")));
+    }
+}
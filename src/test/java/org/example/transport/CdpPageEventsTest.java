@@ -0,0 +1,43 @@
+package org.example.transport;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class CdpPageEventsTest {
+
+    @Test
+    public void wakesUpOnChangeInsteadOfSleepingTheInterval() throws Exception {
+        CdpPageEvents events = new CdpPageEvents(null);
+        CompletableFuture.runAsync(events::changed, CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+
+        long start = System.nanoTime();
+        events.awaitChange(Duration.ofSeconds(5));
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        Assert.assertTrue(waitedMillis < 2_000, "woke after " + waitedMillis + "ms");
+        Assert.assertEquals(events.changes(), 1);
+    }
+
+    @Test
+    public void changeDuringACheckIsNotLost() throws Exception {
+        CdpPageEvents events = new CdpPageEvents(null);
+        events.changed();
+
+        long start = System.nanoTime();
+        events.awaitChange(Duration.ofSeconds(5));
+        Assert.assertTrue((System.nanoTime() - start) / 1_000_000 < 1_000, "returns at once for an unseen change");
+
+        start = System.nanoTime();
+        events.awaitChange(Duration.ofMillis(100));
+        Assert.assertTrue((System.nanoTime() - start) / 1_000_000 >= 90, "no new change: waits the full interval");
+    }
+
+    @Test
+    public void classicIsTheDefaultTransport() {
+        Assert.assertEquals(Transport.fromSystemProperties(), Transport.CLASSIC);
+    }
+}
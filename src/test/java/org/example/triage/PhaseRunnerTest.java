@@ -0,0 +1,117 @@
+package org.example.triage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.artifact.RunArtifacts;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class PhaseRunnerTest {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test
+    public void retriesOnlyTheFailedPhaseFromTheLastCheckpoint() {
+        RetryBudget budget = new RetryBudget(1, 3);
+        AtomicInteger restarts = new AtomicInteger();
+        AtomicInteger restores = new AtomicInteger();
+        AtomicInteger registrations = new AtomicInteger();
+        AtomicInteger logins = new AtomicInteger();
+        PhaseRunner phases = new PhaseRunner("journey", budget, new PhaseRunner.Checkpoint("start", restarts::incrementAndGet));
+
+        phases.run("register", registrations::incrementAndGet);
+        phases.checkpoint("registered", restores::incrementAndGet);
+        String landing = phases.call("login", () -> {
+            if (logins.incrementAndGet() == 1) throw new TimeoutException("Expected condition failed: login.outcome");
+            return "dashboard";
+        });
+
+        Assert.assertEquals(landing, "dashboard");
+        Assert.assertEquals(registrations.get(), 1);
+        Assert.assertEquals(logins.get(), 2);
+        Assert.assertEquals(restores.get(), 1);
+        Assert.assertEquals(restarts.get(), 0);
+        Assert.assertEquals(phases.retries(), 1);
+        Assert.assertEquals(budget.spent(), 1);
+        Assert.assertEquals(phases.attempts().stream().map(a -> a.phase() + ":" + a.status() + "@" + a.from()).collect(Collectors.toList()),
+                List.of("register:PASS@start", "login:RETRY@registered", "login:PASS@registered"));
+        Assert.assertTrue(phases.finalFailure().isEmpty());
+    }
+
+    @Test
+    public void verdictsIrreversibleCheckpointsAndSpentBudgetsFailAtOnce() {
+        RetryBudget budget = new RetryBudget(1, 1);
+        PhaseRunner first = new PhaseRunner("a", budget, new PhaseRunner.Checkpoint("start", () -> { }));
+        // an assertion about the app's answer is a verdict
+        Assert.expectThrows(AssertionError.class, () -> first.run("register", () -> Assert.fail("Success message not found")));
+        Assert.assertEquals(budget.spent(), 0);
+
+        // one retry per phase, then the failure stands
+        AtomicInteger runs = new AtomicInteger();
+        Assert.expectThrows(TimeoutException.class, () -> first.run("verify", () -> {
+            runs.incrementAndGet();
+            throw new TimeoutException("mailinator.emailRow");
+        }));
+        Assert.assertEquals(runs.get(), 2);
+        Assert.assertEquals(first.finalFailure(), Optional.of(Map.of()));
+
+        // the run's budget is spent: another journey fails on its first timeout
+        PhaseRunner second = new PhaseRunner("b", budget, new PhaseRunner.Checkpoint("start", () -> { }));
+        Assert.expectThrows(NoSuchElementException.class, () -> second.run("login", () -> {
+            throw new NoSuchElementException("login.email");
+        }));
+        Assert.assertEquals(second.attempts().size(), 1);
+
+        // nothing to go back to after the app committed the step
+        PhaseRunner third = new PhaseRunner("c", new RetryBudget(1, 3), new PhaseRunner.Checkpoint("start", () -> { }));
+        third.checkpoint("project-submitted", null);
+        Assert.expectThrows(TimeoutException.class, () -> third.run("analytics.confirm", () -> {
+            throw new TimeoutException("analytics.step17");
+        }));
+        Assert.assertEquals(third.retries(), 0);
+    }
+
+    @Test
+    public void failedAttemptsAreCapturedAndLogged() throws Exception {
+        Path dir = Files.createTempDirectory("phase-runner");
+        Path page = Files.createTempFile("failed-phase", ".html");
+        Files.writeString(page, "<html><body><h1>Create account</h1><p id=\"spinner\">Loading...</p></body></html>");
+        HtmlUnitDriver driver = new HtmlUnitDriver(true);
+        try (RunArtifacts artifacts = new RunArtifacts(dir, "p1")) {
+            FailureCapture capture = new FailureCapture(artifacts, Duration.ofSeconds(10));
+            driver.get(page.toUri().toString());
+            PhaseRunner phases = new PhaseRunner("testSita9Registration", RetryBudget.none(),
+                    new PhaseRunner.Checkpoint("start", () -> { })).withCapture(capture, driver).withArtifacts(artifacts);
+            Assert.expectThrows(TimeoutException.class, () -> phases.run("register", () -> {
+                throw new TimeoutException("Expected condition failed: registration.success");
+            }));
+
+            Map<String, String> captured = phases.finalFailure().orElseThrow();
+            Assert.assertTrue(captured.get("url").endsWith(page.getFileName().toString()), captured.toString());
+            artifacts.flush().get(10, TimeUnit.SECONDS);
+            Assert.assertTrue(Files.readString(dir.resolve(captured.get("dom"))).contains("Loading..."));
+
+            List<String> lines = Files.readAllLines(artifacts.log());
+            Assert.assertEquals(lines.size(), 1);
+            JsonNode event = JSON.readTree(lines.get(0));
+            Assert.assertEquals(event.path("type").asText(), "phase");
+            Assert.assertEquals(event.path("status").asText(), "FAIL");
+            Assert.assertEquals(event.path("from").asText(), "start");
+            Assert.assertEquals(event.path("dom").asText(), captured.get("dom"));
+        } finally {
+            driver.quit();
+        }
+    }
+}
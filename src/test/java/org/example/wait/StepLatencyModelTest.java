@@ -0,0 +1,58 @@
+package org.example.wait;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+public class StepLatencyModelTest {
+    private static final Duration FALLBACK = Duration.ofSeconds(90);
+
+    @Test
+    public void usesFallbackUntilEnoughSamples() {
+        StepLatencyModel model = new StepLatencyModel(5, 3.0, Duration.ofSeconds(1));
+        for (int i = 0; i < 4; i++) model.record("analytics.step2", 2000);
+
+        Assert.assertEquals(model.timeoutFor("analytics.step2", FALLBACK), FALLBACK);
+        Assert.assertEquals(model.timeoutFor("unknown", FALLBACK), FALLBACK);
+    }
+
+    @Test
+    public void learnsP99TimesFactorWithinFloorAndFallback() {
+        StepLatencyModel model = new StepLatencyModel(5, 3.0, Duration.ofSeconds(5));
+        for (int i = 1; i <= 100; i++) model.record("login.outcome", i * 100L);
+        Assert.assertEquals(model.timeoutFor("login.outcome", FALLBACK), Duration.ofMillis(9900 * 3));
+
+        for (int i = 0; i < 10; i++) model.record("registration.logo", 50);
+        Assert.assertEquals(model.timeoutFor("registration.logo", FALLBACK), Duration.ofSeconds(5), "floor applies");
+
+        for (int i = 0; i < 10; i++) model.record("slow", 60_000);
+        Assert.assertEquals(model.timeoutFor("slow", FALLBACK), FALLBACK, "never exceeds the hand-picked timeout");
+    }
+
+    @Test
+    public void persistsSamplesBetweenRuns() throws Exception {
+        Path file = Files.createTempDirectory("wait-model").resolve("wait-latencies.json");
+        StepLatencyModel first = new StepLatencyModel(1, 2.0, Duration.ZERO);
+        first.record("verify.done", 1500);
+        first.save(file);
+
+        StepLatencyModel second = new StepLatencyModel(1, 2.0, Duration.ZERO);
+        second.load(file);
+        Assert.assertEquals(second.sampleCount("verify.done"), 1);
+        Assert.assertEquals(second.timeoutFor("verify.done", FALLBACK), Duration.ofMillis(3000));
+        try (Stream<Path> left = Files.list(file.getParent())) {
+            Assert.assertEquals(left.count(), 1L, "no temp file left behind");
+        }
+    }
+
+    @Test
+    public void keepsOneModelPerTargetHost() {
+        Assert.assertEquals(StepLatencyModel.defaultFile("127.0.0.1"), Path.of("wait-latencies-127.0.0.1.json"));
+        Assert.assertEquals(StepLatencyModel.defaultFile("app.sita9.xyz"), Path.of("wait-latencies-app.sita9.xyz.json"));
+        Assert.assertEquals(StepLatencyModel.defaultFile("[::1]"), Path.of("wait-latencies-___1_.json"));
+    }
+}